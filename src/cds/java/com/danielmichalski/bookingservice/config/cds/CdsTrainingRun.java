@@ -0,0 +1,146 @@
+package com.danielmichalski.bookingservice.config.cds;
+
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyItem;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.BlockPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.dto.UpdateBookingRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the booking, block, calendar, availability and export requests to the started application
+ * and then closes it. Run with {@code -XX:DumpLoadedClassList}, the AppCDS archive dumped from that
+ * list holds the classes needed to serve requests, not only those loaded during startup. Any
+ * unexpected response fails the run.
+ */
+@Slf4j
+@Component
+@Profile(CdsTrainingRun.PROFILE)
+@RequiredArgsConstructor
+public class CdsTrainingRun {
+
+  public static final String PROFILE = "cds-training";
+
+  private static final int ITERATIONS = 20;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  @EventListener
+  public void onApplicationReady(ApplicationReadyEvent event) throws IOException, InterruptedException {
+    ConfigurableApplicationContext context = event.getApplicationContext();
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    UUID propertyId = UUID.randomUUID();
+    jdbcTemplate.update("INSERT INTO properties (id, name, city) VALUES (?, 'CDS training', 'CDS training')",
+        propertyId);
+
+    try (HttpClient httpClient = HttpClient.newHttpClient()) {
+      Requests requests = new Requests(httpClient, "http://localhost:" + port);
+      for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+        train(requests, propertyId, OffsetDateTime.now(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.DAYS)
+            .plusDays(30 + iteration * 10L));
+      }
+    }
+    log.info("CDS training run sent {} iterations of requests, closing the application", ITERATIONS);
+    context.close();
+  }
+
+  private void train(Requests requests, UUID propertyId, OffsetDateTime startDate)
+      throws IOException, InterruptedException {
+    String bookingsUrl = "/api/properties/" + propertyId + "/bookings";
+    BookPropertyRequest booking = new BookPropertyRequest("John", "Doe", startDate, startDate.plusDays(2));
+
+    HttpResponse<String> created = requests.post(bookingsUrl, json(booking), HttpStatus.CREATED);
+    PropertyBookingDto bookingDto = objectMapper.readValue(created.body(), PropertyBookingDto.class);
+    requests.post(bookingsUrl, json(booking), HttpStatus.CONFLICT);
+    requests.post(bookingsUrl, json(new BookPropertyRequest("John", "Doe", startDate, startDate.minusDays(1))),
+        HttpStatus.BAD_REQUEST);
+    requests.post("/api/properties/" + UUID.randomUUID() + "/bookings", json(booking), HttpStatus.NOT_FOUND);
+    requests.send(HttpRequest.newBuilder(requests.uri(bookingsUrl + "/" + bookingDto.id()))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .header(HttpHeaders.IF_MATCH, created.headers().firstValue(HttpHeaders.ETAG).orElse("*"))
+        .PUT(json(new UpdateBookingRequest("Jane", "Doe", startDate.plusDays(8), startDate.plusDays(9)))),
+        HttpStatus.NO_CONTENT);
+
+    requests.post("/api/properties/bookings/batch", json(new BatchBookPropertyRequest(List.of(
+        new BatchBookPropertyItem(propertyId, new BookPropertyRequest(
+            "John", "Doe", startDate.plusDays(4), startDate.plusDays(5))),
+        new BatchBookPropertyItem(propertyId, new BookPropertyRequest(
+            "John", "Doe", startDate.plusDays(4), startDate.plusDays(5)))
+    ))), HttpStatus.OK);
+    requests.post("/api/properties/" + propertyId + "/blocks",
+        json(new BlockPropertyRequest(startDate.plusDays(6), startDate.plusDays(7))), HttpStatus.CREATED);
+    requests.post("/api/properties/availability",
+        json(new PropertyAvailabilityRequest(List.of(propertyId), startDate, startDate.plusDays(1))), HttpStatus.OK);
+
+    String from = startDate.toLocalDate().toString();
+    String to = startDate.plusDays(10).toLocalDate().toString();
+    requests.get("/api/properties/" + propertyId + "/calendar?from=" + from + "&to=" + to);
+    requests.get("/api/properties/" + propertyId + "/calendar/days?from=" + from + "&days=10");
+    requests.get("/api/bookings/export?format=ndjson&propertyId=" + propertyId);
+    requests.get("/api/bookings/export?format=csv&propertyId=" + propertyId);
+
+    requests.send(HttpRequest.newBuilder(requests.uri(bookingsUrl + "/" + bookingDto.id())).DELETE(),
+        HttpStatus.NO_CONTENT);
+  }
+
+  private HttpRequest.BodyPublisher json(Object body) throws JsonProcessingException {
+    return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+  }
+
+  private record Requests(HttpClient httpClient, String baseUrl) {
+
+    URI uri(String path) {
+      return URI.create(baseUrl + path);
+    }
+
+    HttpResponse<String> get(String path) throws IOException, InterruptedException {
+      return send(HttpRequest.newBuilder(uri(path)).GET(), HttpStatus.OK);
+    }
+
+    HttpResponse<String> post(String path, HttpRequest.BodyPublisher body, HttpStatus expectedStatus)
+        throws IOException, InterruptedException {
+      return send(HttpRequest.newBuilder(uri(path))
+          .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+          .POST(body), expectedStatus);
+    }
+
+    HttpResponse<String> send(HttpRequest.Builder request, HttpStatus expectedStatus)
+        throws IOException, InterruptedException {
+      HttpRequest httpRequest = request.build();
+      HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != expectedStatus.value()) {
+        throw new IllegalStateException(String.format("%s %s returned %d instead of %d: %s",
+            httpRequest.method(), httpRequest.uri(), response.statusCode(), expectedStatus.value(), response.body()));
+      }
+      return response;
+    }
+  }
+
+}
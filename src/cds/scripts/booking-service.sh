@@ -0,0 +1,9 @@
+#!/bin/sh
+# Starts the application from the unpacked jar with the AppCDS archive created from the training
+# run of `./mvnw -Pcds package`. JAVA_OPTS are passed to the JVM, arguments to the application.
+# The archive is only used with the JDK that created it and it refers to the jar relative to this
+# directory, so the application runs with this directory as its working directory.
+cd "$(dirname "$0")" || exit 1
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+exec "$JAVA" -XX:SharedArchiveFile=@cds.archive@ $JAVA_OPTS -jar @cds.jar@ "$@"
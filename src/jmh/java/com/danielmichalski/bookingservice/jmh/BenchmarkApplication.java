@@ -0,0 +1,102 @@
+package com.danielmichalski.bookingservice.jmh;
+
+import com.danielmichalski.bookingservice.BookingServiceApplication;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application without the web layer on an embedded H2 and fills it with a dataset of
+ * {@value #PROPERTIES} properties, each booked every fourth day for two days.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BenchmarkApplication {
+
+  static final int PROPERTIES = 100;
+
+  private static final int BATCH_SIZE = 10_000;
+  private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+
+  static ConfigurableApplicationContext start(boolean availabilityIndex) {
+    return new SpringApplicationBuilder(BookingServiceApplication.class)
+        .web(WebApplicationType.NONE)
+        .bannerMode(Banner.Mode.OFF)
+        .logStartupInfo(false)
+        .run(
+            "--booking.availability-index.enabled=" + availabilityIndex,
+            "--logging.level.root=WARN"
+        );
+  }
+
+  static List<UUID> insertDataset(ConfigurableApplicationContext context, int bookingsPerProperty) {
+    JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+    List<UUID> propertyIds = new ArrayList<>(PROPERTIES);
+    for (int i = 0; i < PROPERTIES; i++) {
+      propertyIds.add(UUID.randomUUID());
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO properties (id, name, city) VALUES (?, ?, ?)",
+        propertyIds,
+        BATCH_SIZE,
+        (ps, propertyId) -> {
+          ps.setObject(1, propertyId);
+          ps.setString(2, "Benchmark");
+          ps.setString(3, "Benchmark");
+        }
+    );
+
+    List<Integer> rows = new ArrayList<>(PROPERTIES * bookingsPerProperty);
+    for (int row = 0; row < PROPERTIES * bookingsPerProperty; row++) {
+      rows.add(row);
+    }
+    Timestamp dateCreated = Timestamp.valueOf(FIRST_DAY.atStartOfDay());
+    jdbcTemplate.batchUpdate(
+        """
+            INSERT INTO property_bookings
+                (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id)
+            VALUES (?, 'John', 'Doe', ?, ?, ?, ?)
+        """,
+        rows,
+        BATCH_SIZE,
+        (ps, row) -> {
+          LocalDate startDate = FIRST_DAY.plusDays((row % bookingsPerProperty) * 4L);
+          ps.setObject(1, UUID.randomUUID());
+          ps.setTimestamp(2, dateCreated);
+          ps.setDate(3, Date.valueOf(startDate));
+          ps.setDate(4, Date.valueOf(startDate.plusDays(2)));
+          ps.setObject(5, propertyIds.get(row / bookingsPerProperty));
+        }
+    );
+
+    PropertyAvailabilityIndex propertyAvailabilityIndex = context.getBean(PropertyAvailabilityIndex.class);
+    if (propertyAvailabilityIndex.isEnabled()) {
+      propertyAvailabilityIndex.rebuild();
+    }
+    return propertyIds;
+  }
+
+  /**
+   * Returns the noon that starts a one-day stay between two bookings of the dataset, slots past
+   * the number of bookings per property are after the last booking.
+   */
+  static OffsetDateTime freeSlotStart(long slot) {
+    return FIRST_DAY.plusDays(slot * 4 + 2)
+        .atTime(12, 0)
+        .atZone(ZoneId.systemDefault())
+        .toOffsetDateTime();
+  }
+
+}
@@ -0,0 +1,57 @@
+package com.danielmichalski.bookingservice.jmh;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingJsonBenchmark {
+
+  private ObjectMapper objectMapper;
+  private PropertyBookingDto propertyBookingDto;
+  private byte[] bookPropertyRequestJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(1);
+    propertyBookingDto = new PropertyBookingDto(
+        UUID.randomUUID(),
+        "John",
+        "Doe",
+        OffsetDateTime.now(),
+        startDate,
+        startDate.plusDays(3),
+        UUID.randomUUID(),
+        0
+    );
+    bookPropertyRequestJson = objectMapper.writeValueAsBytes(
+        new BookPropertyRequest("John", "Doe", startDate, startDate.plusDays(3))
+    );
+  }
+
+  @Benchmark
+  public byte[] serializePropertyBookingDto() throws IOException {
+    return objectMapper.writeValueAsBytes(propertyBookingDto);
+  }
+
+  @Benchmark
+  public BookPropertyRequest deserializeBookPropertyRequest() throws IOException {
+    return objectMapper.readValue(bookPropertyRequestJson, BookPropertyRequest.class);
+  }
+
+}
@@ -0,0 +1,37 @@
+package com.danielmichalski.bookingservice.jmh;
+
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.property.validator.DateValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateValidatorBenchmark {
+
+  private final DateValidator dateValidator = new DateValidator(new ValidationMetrics(new SimpleMeterRegistry()));
+
+  private OffsetDateTime startDate;
+  private OffsetDateTime endDate;
+
+  @Setup
+  public void setUp() {
+    startDate = OffsetDateTime.now().plusDays(1);
+    endDate = startDate.plusDays(3);
+  }
+
+  @Benchmark
+  public void validateStartDateBeforeEndDate() {
+    dateValidator.validateStartDateBeforeEndDate(startDate, endDate);
+  }
+
+}
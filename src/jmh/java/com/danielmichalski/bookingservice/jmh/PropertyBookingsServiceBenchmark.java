@@ -0,0 +1,65 @@
+package com.danielmichalski.bookingservice.jmh;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.service.PropertyBookingsService;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Books one-day stays after the last booking of a random property, every invocation uses a new
+ * slot, so all bookings succeed and the dataset grows by one row per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertyBookingsServiceBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int bookingsPerProperty;
+
+  @Param({"true", "false"})
+  private boolean availabilityIndex;
+
+  private ConfigurableApplicationContext context;
+  private PropertyBookingsService propertyBookingsService;
+  private List<UUID> propertyIds;
+  private AtomicLong nextSlot;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start(availabilityIndex);
+    propertyIds = BenchmarkApplication.insertDataset(context, bookingsPerProperty);
+    propertyBookingsService = context.getBean(PropertyBookingsService.class);
+    nextSlot = new AtomicLong(bookingsPerProperty);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public PropertyBookingDto bookProperty() {
+    UUID propertyId = propertyIds.get(ThreadLocalRandom.current().nextInt(propertyIds.size()));
+    OffsetDateTime startDate = BenchmarkApplication.freeSlotStart(nextSlot.getAndIncrement());
+    BookPropertyRequest request = new BookPropertyRequest("John", "Doe", startDate, startDate.plusDays(1));
+    return propertyBookingsService.bookProperty(propertyId, request);
+  }
+
+}
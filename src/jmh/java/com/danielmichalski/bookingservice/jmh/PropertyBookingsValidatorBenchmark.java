@@ -0,0 +1,56 @@
+package com.danielmichalski.bookingservice.jmh;
+
+import com.danielmichalski.bookingservice.property.validator.PropertyBookingsValidator;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertyBookingsValidatorBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int bookingsPerProperty;
+
+  @Param({"true", "false"})
+  private boolean availabilityIndex;
+
+  private ConfigurableApplicationContext context;
+  private PropertyBookingsValidator propertyBookingsValidator;
+  private List<UUID> propertyIds;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start(availabilityIndex);
+    propertyIds = BenchmarkApplication.insertDataset(context, bookingsPerProperty);
+    propertyBookingsValidator = context.getBean(PropertyBookingsValidator.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void validateBooking() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    UUID propertyId = propertyIds.get(random.nextInt(propertyIds.size()));
+    OffsetDateTime startDate = BenchmarkApplication.freeSlotStart(random.nextInt(bookingsPerProperty - 1));
+    propertyBookingsValidator.validateBooking(propertyId, startDate, startDate.plusDays(1));
+  }
+
+}
@@ -0,0 +1,86 @@
+package com.danielmichalski.bookingservice.common.csv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 rows, quoting values that contain a separator, a quote or a line break.
+ * Null values are written as empty fields. Text values that a spreadsheet would evaluate as a
+ * formula, starting with {@code =}, {@code +}, {@code -}, {@code @}, a tab or a carriage return,
+ * are prefixed with {@code '} and quoted.
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+  private static final char SEPARATOR = ',';
+  private static final char QUOTE = '"';
+  private static final String LINE_END = "\r\n";
+  private static final char FORMULA_ESCAPE = '\'';
+  private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+  private final Writer writer;
+
+  public CsvWriter(Writer writer) {
+    this.writer = writer;
+  }
+
+  public void writeRow(Object... values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(SEPARATOR);
+      }
+      if (values[i] instanceof CharSequence text && isFormula(text)) {
+        writeQuoted(FORMULA_ESCAPE + text.toString());
+      } else if (values[i] != null) {
+        writeValue(values[i].toString());
+      }
+    }
+    writer.write(LINE_END);
+  }
+
+  private void writeValue(String value) throws IOException {
+    if (needsQuotes(value)) {
+      writeQuoted(value);
+    } else {
+      writer.write(value);
+    }
+  }
+
+  private void writeQuoted(String value) throws IOException {
+    writer.write(QUOTE);
+    for (int i = 0; i < value.length(); i++) {
+      char character = value.charAt(i);
+      if (character == QUOTE) {
+        writer.write(QUOTE);
+      }
+      writer.write(character);
+    }
+    writer.write(QUOTE);
+  }
+
+  private static boolean isFormula(CharSequence value) {
+    return !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+  }
+
+  private static boolean needsQuotes(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char character = value.charAt(i);
+      if (character == SEPARATOR || character == QUOTE || character == '\r' || character == '\n') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+}
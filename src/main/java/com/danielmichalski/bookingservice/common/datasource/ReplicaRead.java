@@ -0,0 +1,19 @@
+package com.danielmichalski.bookingservice.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a mapper method that may read from the replica pool when it is called outside of a
+ * transaction. Inside a read-write transaction it reads from the primary like every other query,
+ * so checks made before a write always see the latest committed data.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+
+}
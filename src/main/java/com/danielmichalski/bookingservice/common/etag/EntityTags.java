@@ -0,0 +1,39 @@
+package com.danielmichalski.bookingservice.common.etag;
+
+import com.danielmichalski.bookingservice.common.exception.PreconditionFailedException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps entity versions to {@code ETag} values and back from {@code If-Match} headers.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EntityTags {
+
+  public static final String ANY = "*";
+
+  private static final Pattern VERSION_TAG = Pattern.compile("(?:W/)?\"(\\d{1,18})\"");
+
+  public static String fromVersion(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Returns the version expected by the {@code If-Match} header or {@code null} when the header is
+   * missing or matches any version. A value that is not a version of this service can never match.
+   */
+  public static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+      return null;
+    }
+
+    Matcher matcher = VERSION_TAG.matcher(ifMatch.trim());
+    if (!matcher.matches()) {
+      throw new PreconditionFailedException("If-Match does not match the current version");
+    }
+    return Long.parseLong(matcher.group(1));
+  }
+
+}
@@ -0,0 +1,9 @@
+package com.danielmichalski.bookingservice.common.exception;
+
+public class BadRequestException extends DomainException {
+
+  public BadRequestException(String message) {
+    super(message);
+  }
+
+}
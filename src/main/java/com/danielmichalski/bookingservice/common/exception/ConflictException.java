@@ -0,0 +1,9 @@
+package com.danielmichalski.bookingservice.common.exception;
+
+public class ConflictException extends DomainException {
+
+  public ConflictException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,14 @@
+package com.danielmichalski.bookingservice.common.exception;
+
+/**
+ * Expected outcome of a request, such as a missing property or an overlapping booking. It is
+ * created without a stack trace, since it is thrown in normal operation and mapped straight to a
+ * client error.
+ */
+public abstract class DomainException extends RuntimeException {
+
+  protected DomainException(String message) {
+    super(message, null, false, false);
+  }
+
+}
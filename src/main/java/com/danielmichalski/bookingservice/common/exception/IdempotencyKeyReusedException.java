@@ -0,0 +1,9 @@
+package com.danielmichalski.bookingservice.common.exception;
+
+public class IdempotencyKeyReusedException extends DomainException {
+
+  public IdempotencyKeyReusedException(String message) {
+    super(message);
+  }
+
+}
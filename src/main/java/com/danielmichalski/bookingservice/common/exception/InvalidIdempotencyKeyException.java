@@ -0,0 +1,9 @@
+package com.danielmichalski.bookingservice.common.exception;
+
+public class InvalidIdempotencyKeyException extends DomainException {
+
+  public InvalidIdempotencyKeyException(String message) {
+    super(message);
+  }
+
+}
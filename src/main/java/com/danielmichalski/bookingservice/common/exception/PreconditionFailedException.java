@@ -0,0 +1,9 @@
+package com.danielmichalski.bookingservice.common.exception;
+
+public class PreconditionFailedException extends DomainException {
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+
+}
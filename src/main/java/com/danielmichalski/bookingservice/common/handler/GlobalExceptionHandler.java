@@ -1,17 +1,28 @@
 package com.danielmichalski.bookingservice.common.handler;
 
+import com.danielmichalski.bookingservice.common.exception.BadRequestException;
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.common.exception.IdempotencyKeyReusedException;
+import com.danielmichalski.bookingservice.common.exception.InvalidIdempotencyKeyException;
 import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import com.danielmichalski.bookingservice.common.exception.PreconditionFailedException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @Slf4j
 @ControllerAdvice
@@ -32,13 +43,118 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(value = NotFoundException.class)
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public ErrorDTO handleException(NotFoundException notFoundException) {
-    log.error(notFoundException.getMessage(), notFoundException);
+    log.warn("Not found: {}", notFoundException.getMessage());
     return ErrorDTO.builder()
         .code(HttpStatus.NOT_FOUND.getReasonPhrase())
         .message(notFoundException.getMessage())
         .build();
   }
 
+  @ResponseBody
+  @ExceptionHandler(value = BadRequestException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorDTO handleException(BadRequestException badRequestException) {
+    log.warn("Bad request: {}", badRequestException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.BAD_REQUEST.getReasonPhrase())
+        .message(badRequestException.getMessage())
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = ConflictException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorDTO handleException(ConflictException conflictException) {
+    log.warn("Conflict: {}", conflictException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.CONFLICT.getReasonPhrase())
+        .message(conflictException.getMessage())
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = InvalidIdempotencyKeyException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorDTO handleException(InvalidIdempotencyKeyException invalidIdempotencyKeyException) {
+    log.warn("Bad request: {}", invalidIdempotencyKeyException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.BAD_REQUEST.getReasonPhrase())
+        .message(invalidIdempotencyKeyException.getMessage())
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = IdempotencyKeyReusedException.class)
+  @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+  public ErrorDTO handleException(IdempotencyKeyReusedException idempotencyKeyReusedException) {
+    log.warn("Unprocessable entity: {}", idempotencyKeyReusedException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.UNPROCESSABLE_ENTITY.getReasonPhrase())
+        .message(idempotencyKeyReusedException.getMessage())
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = PreconditionFailedException.class)
+  @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+  public ErrorDTO handleException(PreconditionFailedException preconditionFailedException) {
+    log.warn("Precondition failed: {}", preconditionFailedException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.PRECONDITION_FAILED.getReasonPhrase())
+        .message(preconditionFailedException.getMessage())
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = MethodArgumentTypeMismatchException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorDTO handleException(MethodArgumentTypeMismatchException typeMismatchException) {
+    log.warn("Bad request: {}", typeMismatchException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.BAD_REQUEST.getReasonPhrase())
+        .message("Invalid value of " + typeMismatchException.getName())
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = MissingServletRequestParameterException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorDTO handleException(MissingServletRequestParameterException missingParameterException) {
+    log.warn("Bad request: {}", missingParameterException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.BAD_REQUEST.getReasonPhrase())
+        .message("Missing request parameter " + missingParameterException.getParameterName())
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = HttpMessageNotReadableException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorDTO handleException(HttpMessageNotReadableException notReadableException) {
+    log.warn("Bad request: {}", notReadableException.getMessage());
+    return ErrorDTO.builder()
+        .code(HttpStatus.BAD_REQUEST.getReasonPhrase())
+        .message("Malformed request body")
+        .build();
+  }
+
+  @ResponseBody
+  @ExceptionHandler(value = HttpRequestMethodNotSupportedException.class)
+  public ResponseEntity<ErrorDTO> handleException(HttpRequestMethodNotSupportedException methodNotSupportedException) {
+    log.warn("Method not allowed: {}", methodNotSupportedException.getMessage());
+    Set<HttpMethod> supportedMethods = methodNotSupportedException.getSupportedHttpMethods();
+    return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED)
+        .headers(headers -> {
+          if (supportedMethods != null) {
+            headers.setAllow(supportedMethods);
+          }
+        })
+        .body(ErrorDTO.builder()
+            .code(HttpStatus.METHOD_NOT_ALLOWED.getReasonPhrase())
+            .message(methodNotSupportedException.getMessage())
+            .build());
+  }
+
   @ResponseBody
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -0,0 +1,9 @@
+package com.danielmichalski.bookingservice.common.id;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+
+  UUID generateId();
+
+}
@@ -0,0 +1,16 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+import java.time.OffsetDateTime;
+
+public record IdempotencyKeyEntity(IdempotentOperation operation,
+                                   String idempotencyKey,
+                                   String requestHash,
+                                   String responseBody,
+                                   OffsetDateTime dateCreated,
+                                   OffsetDateTime dateExpires) {
+
+  public boolean isExpired(OffsetDateTime now) {
+    return !dateExpires.isAfter(now);
+  }
+
+}
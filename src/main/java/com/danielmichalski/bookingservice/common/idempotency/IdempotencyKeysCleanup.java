@@ -0,0 +1,31 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeysCleanup implements SchedulingConfigurer {
+
+  private final IdempotencyKeysRepository idempotencyKeysRepository;
+  private final IdempotencyProperties properties;
+  private final CurrentDateTimeService currentDateTimeService;
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    taskRegistrar.addFixedDelayTask(this::deleteExpiredKeys, properties.cleanupInterval());
+  }
+
+  public void deleteExpiredKeys() {
+    int deleted = idempotencyKeysRepository.deleteExpiredKeys(currentDateTimeService.currentDateTime());
+    if (deleted > 0) {
+      log.info("Deleted {} expired idempotency keys", deleted);
+    }
+  }
+
+}
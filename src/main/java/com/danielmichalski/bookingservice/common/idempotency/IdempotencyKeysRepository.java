@@ -0,0 +1,49 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.springframework.stereotype.Repository;
+
+@Mapper
+@Repository
+public interface IdempotencyKeysRepository {
+
+  @Select("""
+          SELECT operation, idempotency_key, request_hash, response_body, date_created, date_expires
+          FROM idempotency_keys
+          WHERE operation = #{operation}
+              AND idempotency_key = #{idempotencyKey}
+      """)
+  Optional<IdempotencyKeyEntity> findByKey(@Param("operation") IdempotentOperation operation,
+                                           @Param("idempotencyKey") String idempotencyKey);
+
+  @Insert("""
+          INSERT INTO idempotency_keys
+              (operation, idempotency_key, request_hash, response_body, date_created, date_expires)
+          VALUES
+              (#{operation}, #{idempotencyKey}, #{requestHash}, #{responseBody}, #{dateCreated}, #{dateExpires})
+      """)
+  void insertKey(IdempotencyKeyEntity idempotencyKeyEntity);
+
+  @Delete("""
+          DELETE FROM idempotency_keys
+          WHERE operation = #{operation}
+              AND idempotency_key = #{idempotencyKey}
+              AND date_expires <= #{now}
+      """)
+  void deleteExpiredKey(@Param("operation") IdempotentOperation operation,
+                        @Param("idempotencyKey") String idempotencyKey,
+                        @Param("now") OffsetDateTime now);
+
+  @Delete("""
+          DELETE FROM idempotency_keys
+          WHERE date_expires <= #{now}
+      """)
+  int deleteExpiredKeys(@Param("now") OffsetDateTime now);
+
+}
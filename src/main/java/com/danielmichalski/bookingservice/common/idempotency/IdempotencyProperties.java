@@ -0,0 +1,16 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("booking.idempotency")
+public record IdempotencyProperties(@DefaultValue("24h") @NotNull Duration ttl,
+                                    @DefaultValue("10000") @Positive long cacheSize,
+                                    @DefaultValue("10m") @NotNull Duration cleanupInterval) {
+
+}
@@ -0,0 +1,156 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import com.danielmichalski.bookingservice.common.exception.IdempotencyKeyReusedException;
+import com.danielmichalski.bookingservice.common.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+  public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyKeysRepository idempotencyKeysRepository;
+  private final Cache<String, IdempotencyKeyEntity> idempotencyKeysCache;
+  private final IdempotencyProperties properties;
+  private final CurrentDateTimeService currentDateTimeService;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Runs the action at most once per operation and idempotency key. A retry with the same key and
+   * request returns the stored response of the first call without running the action again,
+   * reusing the key for a different request is rejected. Only successful responses are stored, so
+   * a request that failed can be retried with the same key.
+   */
+  public <T> T execute(IdempotentOperation operation,
+                       String idempotencyKey,
+                       Object request,
+                       Class<T> responseType,
+                       Supplier<T> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    validateIdempotencyKey(idempotencyKey);
+
+    String requestHash = hash(request);
+    Optional<IdempotencyKeyEntity> stored = findStored(operation, idempotencyKey);
+    if (stored.isPresent()) {
+      return replay(stored.get(), requestHash, responseType);
+    }
+
+    try {
+      StoredResponse<T> created = transactionTemplate.execute(status -> {
+        T response = action.get();
+        OffsetDateTime now = currentDateTimeService.currentDateTime();
+        IdempotencyKeyEntity idempotencyKeyEntity = new IdempotencyKeyEntity(
+            operation,
+            idempotencyKey,
+            requestHash,
+            serialize(response),
+            now,
+            now.plus(properties.ttl())
+        );
+        idempotencyKeysRepository.insertKey(idempotencyKeyEntity);
+        return new StoredResponse<>(response, idempotencyKeyEntity);
+      });
+      idempotencyKeysCache.put(cacheKey(operation, idempotencyKey), created.idempotencyKey());
+      return created.response();
+    } catch (RuntimeException exception) {
+      // A concurrent request with the same key may have committed first, this one then fails on the
+      // duplicate key or on the overlap with what the other request created.
+      return findStored(operation, idempotencyKey)
+          .map(concurrent -> replay(concurrent, requestHash, responseType))
+          .orElseThrow(() -> exception);
+    }
+  }
+
+  private Optional<IdempotencyKeyEntity> findStored(IdempotentOperation operation, String idempotencyKey) {
+    OffsetDateTime now = currentDateTimeService.currentDateTime();
+    String cacheKey = cacheKey(operation, idempotencyKey);
+    IdempotencyKeyEntity cached = idempotencyKeysCache.getIfPresent(cacheKey);
+    if (cached != null && !cached.isExpired(now)) {
+      return Optional.of(cached);
+    }
+
+    Optional<IdempotencyKeyEntity> stored = idempotencyKeysRepository.findByKey(operation, idempotencyKey);
+    if (stored.isPresent() && stored.get().isExpired(now)) {
+      idempotencyKeysRepository.deleteExpiredKey(operation, idempotencyKey, now);
+      idempotencyKeysCache.invalidate(cacheKey);
+      return Optional.empty();
+    }
+    stored.ifPresent(entity -> idempotencyKeysCache.put(cacheKey, entity));
+    return stored;
+  }
+
+  private <T> T replay(IdempotencyKeyEntity stored, String requestHash, Class<T> responseType) {
+    if (!stored.requestHash().equals(requestHash)) {
+      throw new IdempotencyKeyReusedException("Idempotency key was already used for a different request");
+    }
+    return deserialize(stored.responseBody(), responseType);
+  }
+
+  private static void validateIdempotencyKey(String idempotencyKey) {
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new InvalidIdempotencyKeyException(
+          "Idempotency key must not be blank and must have at most " + MAX_KEY_LENGTH + " characters"
+      );
+    }
+  }
+
+  private static String cacheKey(IdempotentOperation operation, String idempotencyKey) {
+    return operation.name() + ':' + idempotencyKey;
+  }
+
+  private String hash(Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+    } catch (JsonProcessingException exception) {
+      throw new UncheckedIOException(exception);
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private String serialize(Object response) {
+    try {
+      return objectMapper.writeValueAsString(response);
+    } catch (JsonProcessingException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  // Keeps the offsets of the stored response instead of adjusting them to UTC, so a replay
+  // returns the same body as the first response.
+  private <T> T deserialize(String responseBody, Class<T> responseType) {
+    try {
+      return objectMapper.readerFor(responseType)
+          .without(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+          .readValue(responseBody);
+    } catch (JsonProcessingException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private record StoredResponse<T>(T response, IdempotencyKeyEntity idempotencyKey) {
+
+  }
+
+}
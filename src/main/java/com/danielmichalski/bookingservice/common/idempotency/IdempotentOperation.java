@@ -0,0 +1,6 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+public enum IdempotentOperation {
+  BOOK_PROPERTY,
+  BLOCK_PROPERTY
+}
@@ -0,0 +1,14 @@
+package com.danielmichalski.bookingservice.common.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ValidationFailureReason {
+  OVERLAP("overlap"),
+  MISSING_PROPERTY("missing_property"),
+  BAD_DATES("bad_dates");
+
+  private final String tag;
+}
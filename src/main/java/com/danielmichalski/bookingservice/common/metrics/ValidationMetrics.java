@@ -0,0 +1,29 @@
+package com.danielmichalski.bookingservice.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ValidationMetrics {
+
+  public static final String VALIDATION_FAILURES = "booking.validation.failures";
+
+  private final Map<ValidationFailureReason, Counter> failures = new EnumMap<>(ValidationFailureReason.class);
+
+  public ValidationMetrics(MeterRegistry meterRegistry) {
+    for (ValidationFailureReason reason : ValidationFailureReason.values()) {
+      failures.put(reason, Counter.builder(VALIDATION_FAILURES)
+          .description("Rejected booking and block requests")
+          .tag("reason", reason.getTag())
+          .register(meterRegistry));
+    }
+  }
+
+  public void validationFailed(ValidationFailureReason reason) {
+    failures.get(reason).increment();
+  }
+
+}
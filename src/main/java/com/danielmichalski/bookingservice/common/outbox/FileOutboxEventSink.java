@@ -0,0 +1,51 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appends every event as one JSON line to a file.
+ */
+@RequiredArgsConstructor
+public class FileOutboxEventSink implements OutboxEventSink {
+
+  private final Path file;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public void publish(List<OutboxEvent> events) {
+    StringBuilder lines = new StringBuilder();
+    for (OutboxEvent event : events) {
+      lines.append(serialize(event)).append('\n');
+    }
+    try {
+      Files.writeString(
+          file,
+          lines,
+          StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND,
+          StandardOpenOption.SYNC
+      );
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private String serialize(OutboxEvent event) {
+    try {
+      return objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+}
@@ -0,0 +1,21 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes every event as a Spring application event, listeners in this application receive them
+ * with {@code @EventListener(OutboxEvent.class)}.
+ */
+@RequiredArgsConstructor
+public class InProcessOutboxEventSink implements OutboxEventSink {
+
+  private final ApplicationEventPublisher applicationEventPublisher;
+
+  @Override
+  public void publish(List<OutboxEvent> events) {
+    events.forEach(applicationEventPublisher::publishEvent);
+  }
+
+}
@@ -0,0 +1,10 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import java.util.UUID;
+
+public record NewOutboxEvent(UUID propertyId,
+                             OutboxEventType eventType,
+                             UUID aggregateId,
+                             Object payload) {
+
+}
@@ -0,0 +1,31 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Change of a booking or block as handed to an {@link OutboxEventSink}. {@code propertySequence}
+ * grows by one with every event of the property, so consumers can detect gaps and duplicates.
+ */
+public record OutboxEvent(long id,
+                          UUID propertyId,
+                          long propertySequence,
+                          OutboxEventType eventType,
+                          UUID aggregateId,
+                          @JsonRawValue String payload,
+                          OffsetDateTime dateCreated) {
+
+  public static OutboxEvent from(OutboxEventEntity entity) {
+    return new OutboxEvent(
+        entity.id(),
+        entity.propertyId(),
+        entity.propertySequence(),
+        entity.eventType(),
+        entity.aggregateId(),
+        entity.payload(),
+        entity.dateCreated()
+    );
+  }
+
+}
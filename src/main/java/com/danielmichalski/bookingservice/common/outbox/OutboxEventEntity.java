@@ -0,0 +1,14 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OutboxEventEntity(Long id,
+                                UUID propertyId,
+                                long propertySequence,
+                                OutboxEventType eventType,
+                                UUID aggregateId,
+                                String payload,
+                                OffsetDateTime dateCreated) {
+
+}
@@ -0,0 +1,14 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. Events arrive in the order they were written, a sink that
+ * throws leaves the whole batch unpublished and it is delivered again on the next run, so sinks
+ * see every event at least once.
+ */
+public interface OutboxEventSink {
+
+  void publish(List<OutboxEvent> events);
+
+}
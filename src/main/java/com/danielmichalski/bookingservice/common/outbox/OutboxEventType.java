@@ -0,0 +1,10 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+public enum OutboxEventType {
+  BOOKING_CREATED,
+  BOOKING_UPDATED,
+  BOOKING_CANCELLED,
+  BLOCK_CREATED,
+  BLOCK_UPDATED,
+  BLOCK_CANCELLED
+}
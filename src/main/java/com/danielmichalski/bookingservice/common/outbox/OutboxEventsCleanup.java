@@ -0,0 +1,55 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import java.time.OffsetDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes events published more than the retention period ago, one batch per statement, so that
+ * {@code outbox_events} only keeps what consumers may still ask to be replayed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxEventsCleanup implements SchedulingConfigurer {
+
+  private final OutboxEventsRepository outboxEventsRepository;
+  private final OutboxProperties properties;
+  private final CurrentDateTimeService currentDateTimeService;
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    taskRegistrar.addFixedDelayTask(this::deletePublishedEventsScheduled, properties.cleanupInterval());
+  }
+
+  /**
+   * Deletes batches until no expired published events are left and returns the number of deleted
+   * events.
+   */
+  public int deletePublishedEvents() {
+    OffsetDateTime publishedBefore = currentDateTimeService.currentDateTime().minus(properties.retention());
+    int deleted = 0;
+    int batch;
+    do {
+      batch = outboxEventsRepository.deletePublishedBefore(publishedBefore, properties.batchSize());
+      deleted += batch;
+    } while (batch == properties.batchSize());
+    return deleted;
+  }
+
+  private void deletePublishedEventsScheduled() {
+    try {
+      int deleted = deletePublishedEvents();
+      if (deleted > 0) {
+        log.info("Deleted {} published outbox events", deleted);
+      }
+    } catch (RuntimeException exception) {
+      log.error("Deleting published outbox events failed, retrying on the next run", exception);
+    }
+  }
+
+}
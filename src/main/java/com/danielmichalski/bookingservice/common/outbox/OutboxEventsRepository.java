@@ -0,0 +1,94 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.springframework.stereotype.Repository;
+
+@Mapper
+@Repository
+public interface OutboxEventsRepository {
+
+  /**
+   * Appends the event with the next sequence number of its property. Callers hold the property
+   * write lock, the unique constraint on the sequence rejects anything that slips past it.
+   */
+  @Insert("""
+          INSERT INTO outbox_events
+              (property_id, property_sequence, event_type, aggregate_id, payload, date_created)
+          VALUES
+              (#{propertyId},
+               (SELECT COALESCE(MAX(property_sequence), 0) + 1 FROM outbox_events WHERE property_id = #{propertyId}),
+               #{eventType}, #{aggregateId}, #{payload}, #{dateCreated})
+      """)
+  void appendEvent(OutboxEventEntity outboxEventEntity);
+
+  @Select("""
+          SELECT COALESCE(MAX(property_sequence), 0)
+          FROM outbox_events
+          WHERE property_id = #{propertyId}
+      """)
+  long findLastSequence(@Param("propertyId") UUID propertyId);
+
+  @Insert("""
+          <script>
+          INSERT INTO outbox_events
+              (property_id, property_sequence, event_type, aggregate_id, payload, date_created)
+          VALUES
+          <foreach collection="events" item="event" separator=",">
+              (#{event.propertyId}, #{event.propertySequence}, #{event.eventType}, #{event.aggregateId},
+               #{event.payload}, #{event.dateCreated})
+          </foreach>
+          </script>
+      """)
+  void appendEvents(@Param("events") List<OutboxEventEntity> outboxEventEntities);
+
+  @Select("""
+          SELECT id, property_id, property_sequence, event_type, aggregate_id, payload, date_created
+          FROM outbox_events
+          WHERE date_published IS NULL
+          ORDER BY id
+          LIMIT #{limit}
+      """)
+  List<OutboxEventEntity> findUnpublished(@Param("limit") int limit);
+
+  @Update("""
+          <script>
+          UPDATE outbox_events
+          SET date_published = #{datePublished}
+          WHERE id IN
+          <foreach collection="ids" item="id" open="(" separator="," close=")">
+              #{id}
+          </foreach>
+          </script>
+      """)
+  int markPublished(@Param("ids") List<Long> ids, @Param("datePublished") OffsetDateTime datePublished);
+
+  /**
+   * Deletes up to {@code limit} events published before the given date. The last event of every
+   * property is kept, as the next sequence number of the property is derived from it.
+   */
+  @Delete("""
+          DELETE FROM outbox_events
+          WHERE id IN (
+              SELECT published.id
+              FROM outbox_events published
+              WHERE published.date_published < #{publishedBefore}
+                  AND published.property_sequence < (
+                      SELECT MAX(latest.property_sequence)
+                      FROM outbox_events latest
+                      WHERE latest.property_id = published.property_id
+                  )
+              ORDER BY published.id
+              LIMIT #{limit}
+          )
+      """)
+  int deletePublishedBefore(@Param("publishedBefore") OffsetDateTime publishedBefore, @Param("limit") int limit);
+
+}
@@ -0,0 +1,20 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("booking.outbox")
+public record OutboxProperties(@DefaultValue("1s") @NotNull Duration relayInterval,
+                               @DefaultValue("500") @Positive int batchSize,
+                               @DefaultValue("in-process") @NotNull OutboxSinkType sink,
+                               @DefaultValue("outbox-events.ndjson") @NotNull Path file,
+                               @DefaultValue("7d") @NotNull Duration retention,
+                               @DefaultValue("10m") @NotNull Duration cleanupInterval) {
+
+}
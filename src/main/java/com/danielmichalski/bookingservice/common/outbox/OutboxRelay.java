@@ -0,0 +1,70 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes unpublished outbox events to the {@link OutboxEventSink} in batches, oldest first.
+ * Writes of one property are serialized by its write lock, so its events are committed and relayed
+ * in the order of their sequence numbers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay implements SchedulingConfigurer {
+
+  private final OutboxEventsRepository outboxEventsRepository;
+  private final OutboxEventSink outboxEventSink;
+  private final OutboxProperties properties;
+  private final CurrentDateTimeService currentDateTimeService;
+  private final ReentrantLock relayLock = new ReentrantLock();
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    taskRegistrar.addFixedDelayTask(this::relayScheduled, properties.relayInterval());
+  }
+
+  /**
+   * Relays batches until no unpublished events are left and returns the number of published
+   * events.
+   */
+  public int relay() {
+    relayLock.lock();
+    try {
+      int published = 0;
+      List<OutboxEventEntity> batch;
+      do {
+        batch = outboxEventsRepository.findUnpublished(properties.batchSize());
+        if (!batch.isEmpty()) {
+          outboxEventSink.publish(batch.stream().map(OutboxEvent::from).toList());
+          outboxEventsRepository.markPublished(
+              batch.stream().map(OutboxEventEntity::id).toList(),
+              currentDateTimeService.currentDateTime()
+          );
+          published += batch.size();
+        }
+      } while (batch.size() == properties.batchSize());
+      return published;
+    } finally {
+      relayLock.unlock();
+    }
+  }
+
+  private void relayScheduled() {
+    try {
+      int published = relay();
+      if (published > 0) {
+        log.debug("Relayed {} outbox events", published);
+      }
+    } catch (RuntimeException exception) {
+      log.error("Relaying outbox events failed, retrying on the next run", exception);
+    }
+  }
+
+}
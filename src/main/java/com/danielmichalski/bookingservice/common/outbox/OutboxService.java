@@ -0,0 +1,80 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+  private final OutboxEventsRepository outboxEventsRepository;
+  private final CurrentDateTimeService currentDateTimeService;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Appends the event in the caller's transaction, so it is stored if and only if the change it
+   * describes is committed.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void append(UUID propertyId, OutboxEventType eventType, UUID aggregateId, Object payload) {
+    outboxEventsRepository.appendEvent(new OutboxEventEntity(
+        null,
+        propertyId,
+        0,
+        eventType,
+        aggregateId,
+        serialize(payload),
+        currentDateTimeService.currentDateTime()
+    ));
+  }
+
+  /**
+   * Appends all events in the caller's transaction with a single insert. The last sequence number
+   * is read once per property, the caller has to hold the write locks of all the properties.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void appendAll(List<NewOutboxEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    OffsetDateTime dateCreated = currentDateTimeService.currentDateTime();
+    Map<UUID, Long> lastSequences = new HashMap<>();
+    List<OutboxEventEntity> entities = new ArrayList<>(events.size());
+    for (NewOutboxEvent event : events) {
+      long sequence = lastSequences.compute(event.propertyId(), (propertyId, lastSequence) ->
+          (lastSequence == null ? outboxEventsRepository.findLastSequence(propertyId) : lastSequence) + 1);
+      entities.add(new OutboxEventEntity(
+          null,
+          event.propertyId(),
+          sequence,
+          event.eventType(),
+          event.aggregateId(),
+          serialize(event.payload()),
+          dateCreated
+      ));
+    }
+    outboxEventsRepository.appendEvents(entities);
+  }
+
+  private String serialize(Object payload) {
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+}
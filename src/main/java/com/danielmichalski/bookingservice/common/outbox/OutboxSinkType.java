@@ -0,0 +1,6 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+public enum OutboxSinkType {
+  IN_PROCESS,
+  FILE
+}
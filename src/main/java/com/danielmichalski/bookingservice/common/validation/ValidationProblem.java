@@ -0,0 +1,21 @@
+package com.danielmichalski.bookingservice.common.validation;
+
+import com.danielmichalski.bookingservice.common.exception.BadRequestException;
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.common.exception.DomainException;
+import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public enum ValidationProblem {
+  BAD_REQUEST(BadRequestException::new),
+  NOT_FOUND(NotFoundException::new),
+  CONFLICT(ConflictException::new);
+
+  private final Function<String, DomainException> exceptionFactory;
+
+  public DomainException toException(String message) {
+    return exceptionFactory.apply(message);
+  }
+}
@@ -0,0 +1,47 @@
+package com.danielmichalski.bookingservice.common.validation;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of a validation, so callers that only need the reason, like the batch booking, do not
+ * have to throw and catch an exception for every rejected item.
+ */
+public record ValidationResult(ValidationProblem problem, String message) {
+
+  private static final ValidationResult VALID = new ValidationResult(null, null);
+
+  public static ValidationResult valid() {
+    return VALID;
+  }
+
+  public static ValidationResult badRequest(String message) {
+    return new ValidationResult(ValidationProblem.BAD_REQUEST, message);
+  }
+
+  public static ValidationResult notFound(String message) {
+    return new ValidationResult(ValidationProblem.NOT_FOUND, message);
+  }
+
+  public static ValidationResult conflict(String message) {
+    return new ValidationResult(ValidationProblem.CONFLICT, message);
+  }
+
+  public boolean isValid() {
+    return Objects.isNull(problem);
+  }
+
+  /**
+   * Returns this result if it is invalid, otherwise runs the next validation.
+   */
+  public ValidationResult and(Supplier<ValidationResult> next) {
+    return isValid() ? next.get() : this;
+  }
+
+  public void throwIfInvalid() {
+    if (!isValid()) {
+      throw problem.toException(message);
+    }
+  }
+
+}
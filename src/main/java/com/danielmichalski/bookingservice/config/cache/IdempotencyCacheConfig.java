@@ -0,0 +1,34 @@
+package com.danielmichalski.bookingservice.config.cache;
+
+import com.danielmichalski.bookingservice.common.idempotency.IdempotencyKeyEntity;
+import com.danielmichalski.bookingservice.common.idempotency.IdempotencyProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyCacheConfig {
+
+  public static final String IDEMPOTENCY_KEYS_CACHE = "idempotencyKeys";
+
+  /**
+   * Bounded LRU front of the {@code idempotency_keys} table, so replays of recent requests do not
+   * hit the database.
+   */
+  @Bean
+  public Cache<String, IdempotencyKeyEntity> idempotencyKeysCache(IdempotencyProperties properties,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+    Cache<String, IdempotencyKeyEntity> cache = Caffeine.newBuilder()
+        .maximumSize(properties.cacheSize())
+        .expireAfterWrite(properties.ttl())
+        .recordStats()
+        .build();
+    meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, IDEMPOTENCY_KEYS_CACHE));
+    return cache;
+  }
+
+}
@@ -0,0 +1,53 @@
+package com.danielmichalski.bookingservice.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PropertyCacheConfig {
+
+  public static final String PROPERTY_EXISTS_CACHE = "propertyExists";
+
+  /**
+   * Caches the result of the property existence check. Missing properties are cached as well, but
+   * for a shorter time, so a property created by another instance becomes visible quickly.
+   */
+  @Bean
+  public Cache<UUID, Boolean> propertyExistsCache(PropertyCacheProperties properties,
+                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+    Cache<UUID, Boolean> cache = Caffeine.newBuilder()
+        .maximumSize(properties.maximumSize())
+        .expireAfter(new PropertyExistsExpiry(properties.ttl(), properties.negativeTtl()))
+        .recordStats()
+        .build();
+    meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, PROPERTY_EXISTS_CACHE));
+    return cache;
+  }
+
+  private record PropertyExistsExpiry(Duration ttl, Duration negativeTtl) implements Expiry<UUID, Boolean> {
+
+    @Override
+    public long expireAfterCreate(UUID propertyId, Boolean exists, long currentTime) {
+      return (exists ? ttl : negativeTtl).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(UUID propertyId, Boolean exists, long currentTime, long currentDuration) {
+      return expireAfterCreate(propertyId, exists, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(UUID propertyId, Boolean exists, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+}
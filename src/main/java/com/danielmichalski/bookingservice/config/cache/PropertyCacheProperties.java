@@ -0,0 +1,16 @@
+package com.danielmichalski.bookingservice.config.cache;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("booking.property-cache")
+public record PropertyCacheProperties(@DefaultValue("10m") @NotNull Duration ttl,
+                                      @DefaultValue("30s") @NotNull Duration negativeTtl,
+                                      @DefaultValue("100000") @Positive long maximumSize) {
+
+}
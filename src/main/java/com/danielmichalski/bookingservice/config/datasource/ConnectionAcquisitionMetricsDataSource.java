@@ -0,0 +1,80 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times how long callers wait for a pooled connection, tagged with the endpoint of the request
+ * that asked for it. Connections taken outside of a request, by scheduled jobs or while streaming
+ * a response body, are tagged with {@code none}.
+ */
+public class ConnectionAcquisitionMetricsDataSource extends DelegatingDataSource {
+
+  public static final String ACQUIRE_TIMER = "booking.datasource.acquire";
+
+  private static final String NONE = "none";
+  private static final Tags NO_REQUEST_TAGS = Tags.of("method", NONE, "uri", NONE);
+
+  private final Supplier<MeterRegistry> meterRegistry;
+
+  public ConnectionAcquisitionMetricsDataSource(DataSource targetDataSource, Supplier<MeterRegistry> meterRegistry) {
+    super(targetDataSource);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return timed(() -> obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return timed(() -> obtainTargetDataSource().getConnection(username, password));
+  }
+
+  private Connection timed(ConnectionSupplier connectionSupplier) throws SQLException {
+    MeterRegistry registry = meterRegistry.get();
+    Timer.Sample sample = Timer.start(registry);
+    String outcome = "error";
+    try {
+      Connection connection = connectionSupplier.get();
+      outcome = "success";
+      return connection;
+    } finally {
+      sample.stop(Timer.builder(ACQUIRE_TIMER)
+          .description("Time spent waiting for a pooled database connection")
+          .tags(requestTags())
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(registry));
+    }
+  }
+
+  private static Tags requestTags() {
+    if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+      HttpServletRequest request = attributes.getRequest();
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      if (pattern != null) {
+        return Tags.of("method", request.getMethod(), "uri", pattern.toString());
+      }
+    }
+    return NO_REQUEST_TAGS;
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+
+    Connection get() throws SQLException;
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.function.SingletonSupplier;
+
+@Configuration
+public class DataSourceConfig {
+
+  /**
+   * Validates the Hikari settings before the pool is started and wraps the pool itself, ahead of
+   * any other data source proxy, so only real waits for a pooled connection are timed.
+   */
+  @Bean
+  public static BeanPostProcessor connectionAcquisitionMetricsPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new OrderedBeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+          HikariSettingsValidator.validate(dataSource);
+          return new ConnectionAcquisitionMetricsDataSource(dataSource, SingletonSupplier.of(meterRegistry::getObject));
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Wraps the data source in a {@link LazyConnectionDataSourceProxy}, so a transaction takes a pooled
+   * connection only when it runs its first statement. Writers waiting for a property write lock then
+   * wait without holding a connection and cannot starve writers of other properties.
+   */
+  @Bean
+  public static BeanPostProcessor lazyConnectionDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+          return new LazyConnectionDataSourceProxy(dataSource);
+        }
+        return bean;
+      }
+    };
+  }
+
+  private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+
+    @Override
+    default int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+  }
+
+}
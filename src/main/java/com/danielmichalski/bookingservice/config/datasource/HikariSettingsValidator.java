@@ -0,0 +1,51 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rejects pool settings that Hikari would otherwise only log a warning about and silently replace,
+ * such as a leak detection threshold that is never reached before a connection is retired.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HikariSettingsValidator {
+
+  private static final long MIN_CONNECTION_TIMEOUT_MS = 250;
+  private static final long MIN_LEAK_DETECTION_THRESHOLD_MS = 2000;
+
+  public static void validate(HikariConfig config) {
+    List<String> problems = new ArrayList<>();
+
+    long connectionTimeout = config.getConnectionTimeout();
+    if (connectionTimeout > 0 && connectionTimeout < MIN_CONNECTION_TIMEOUT_MS) {
+      problems.add("connection-timeout should be at least " + MIN_CONNECTION_TIMEOUT_MS + " ms");
+    }
+
+    int maximumPoolSize = config.getMaximumPoolSize();
+    if (maximumPoolSize > 0 && config.getMinimumIdle() > maximumPoolSize) {
+      problems.add("minimum-idle should not be greater than maximum-pool-size");
+    }
+
+    long maxLifetime = config.getMaxLifetime();
+    long leakDetectionThreshold = config.getLeakDetectionThreshold();
+    if (leakDetectionThreshold > 0 && (leakDetectionThreshold < MIN_LEAK_DETECTION_THRESHOLD_MS
+        || maxLifetime > 0 && leakDetectionThreshold >= maxLifetime)) {
+      problems.add("leak-detection-threshold should be at least " + MIN_LEAK_DETECTION_THRESHOLD_MS
+          + " ms and shorter than max-lifetime");
+    }
+
+    long keepaliveTime = config.getKeepaliveTime();
+    if (keepaliveTime > 0 && maxLifetime > 0 && keepaliveTime >= maxLifetime) {
+      problems.add("keepalive-time should be shorter than max-lifetime");
+    }
+
+    if (!problems.isEmpty()) {
+      throw new IllegalStateException(
+          "Invalid connection pool " + config.getPoolName() + ": " + String.join(", ", problems));
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import com.danielmichalski.bookingservice.config.mybatis.ReplicaReadInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the auto-configured pool with a primary and a replica pool behind a
+ * {@link ReadReplicaRoutingDataSource}. Liquibase, scheduled jobs and all writes keep using the
+ * primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "booking.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    return dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+  }
+
+  @Bean
+  @ConfigurationProperties("booking.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(ReplicaDataSourceProperties replicaDataSourceProperties) {
+    return DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .url(replicaDataSourceProperties.url())
+        .username(replicaDataSourceProperties.username())
+        .password(replicaDataSourceProperties.password())
+        .build();
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                               @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+    ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource();
+    routingDataSource.setTargetDataSources(Map.of(
+        ReadReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+        ReadReplicaRoutingDataSource.Route.REPLICA, replicaDataSource
+    ));
+    routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+    routingDataSource.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+
+  @Bean
+  public ReplicaReadInterceptor replicaReadInterceptor() {
+    return new ReplicaReadInterceptor();
+  }
+
+}
@@ -0,0 +1,47 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import com.danielmichalski.bookingservice.common.datasource.ReplicaRead;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions, and {@link ReplicaRead} mapper calls made outside of a transaction,
+ * to the replica pool and everything else to the primary. The route is picked when a connection is
+ * taken, so this data source has to sit behind a {@link LazyConnectionDataSourceProxy} for the
+ * read-only flag of a transaction to be known by then.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  public static boolean isReplicaRead() {
+    return Boolean.TRUE.equals(REPLICA_READ.get());
+  }
+
+  public static void setReplicaRead(boolean replicaRead) {
+    if (replicaRead) {
+      REPLICA_READ.set(Boolean.TRUE);
+    } else {
+      REPLICA_READ.remove();
+    }
+  }
+
+  public static Route currentRoute() {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+    return isReplicaRead() ? Route.REPLICA : Route.PRIMARY;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return currentRoute();
+  }
+
+}
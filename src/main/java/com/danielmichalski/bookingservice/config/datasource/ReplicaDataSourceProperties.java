@@ -0,0 +1,25 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import jakarta.validation.constraints.AssertTrue;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Connection settings of the replica pool, the pool itself is tuned under
+ * {@code booking.datasource.replica.hikari} like the primary under {@code spring.datasource.hikari}.
+ */
+@Validated
+@ConfigurationProperties("booking.datasource.replica")
+public record ReplicaDataSourceProperties(@DefaultValue("false") boolean enabled,
+                                          String url,
+                                          String username,
+                                          String password) {
+
+  @AssertTrue(message = "url must be set when the replica is enabled")
+  public boolean isUrlSetWhenEnabled() {
+    return !enabled || StringUtils.hasText(url);
+  }
+
+}
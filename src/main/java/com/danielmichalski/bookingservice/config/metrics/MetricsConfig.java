@@ -0,0 +1,24 @@
+package com.danielmichalski.bookingservice.config.metrics;
+
+import com.danielmichalski.bookingservice.config.mybatis.MapperMetricsInterceptor;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+  public static final String SERVICE_TIMER = "booking.service";
+
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+    return new TimedAspect(meterRegistry);
+  }
+
+  @Bean
+  public MapperMetricsInterceptor mapperMetricsInterceptor(MeterRegistry meterRegistry) {
+    return new MapperMetricsInterceptor(meterRegistry);
+  }
+
+}
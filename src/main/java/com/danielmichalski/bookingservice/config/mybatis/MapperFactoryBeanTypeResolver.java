@@ -0,0 +1,27 @@
+package com.danielmichalski.bookingservice.config.mybatis;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Exposes the mapper interface as the generic type of scanned {@link MapperFactoryBean} definitions.
+ * The scanner only records it as a string attribute, so ahead-of-time processing could not tell
+ * which mapper a definition produces and the mappers could not be injected by type.
+ */
+public class MapperFactoryBeanTypeResolver implements MergedBeanDefinitionPostProcessor {
+
+  @Override
+  public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+    if (!MapperFactoryBean.class.isAssignableFrom(beanType)
+        || !beanDefinition.getResolvableType().hasUnresolvableGenerics()
+        || !(beanDefinition.getPropertyValues().get("mapperInterface") instanceof Class<?> mapperInterface)) {
+      return;
+    }
+    beanDefinition.getConstructorArgumentValues().clear();
+    beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, mapperInterface);
+    beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanType, mapperInterface));
+  }
+
+}
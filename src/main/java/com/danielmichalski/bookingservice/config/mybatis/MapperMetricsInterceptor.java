@@ -0,0 +1,59 @@
+package com.danielmichalski.bookingservice.config.mybatis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Times every mapper method call, tagged with the mapper, the method and the outcome. For methods
+ * returning a {@link Cursor} only opening the cursor is timed, not fetching the rows.
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+@RequiredArgsConstructor
+public class MapperMetricsInterceptor implements Interceptor {
+
+  public static final String MAPPER_TIMER = "mybatis.mapper";
+
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  public Object intercept(Invocation invocation) throws InvocationTargetException, IllegalAccessException {
+    MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    String statementId = mappedStatement.getId();
+    int methodSeparator = statementId.lastIndexOf('.');
+    String mapper = statementId.substring(statementId.lastIndexOf('.', methodSeparator - 1) + 1, methodSeparator);
+    String method = statementId.substring(methodSeparator + 1);
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
+    try {
+      Object result = invocation.proceed();
+      outcome = "success";
+      return result;
+    } finally {
+      sample.stop(Timer.builder(MAPPER_TIMER)
+          .description("MyBatis mapper method calls")
+          .tag("mapper", mapper)
+          .tag("method", method)
+          .tag("outcome", outcome)
+          .register(meterRegistry));
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+package com.danielmichalski.bookingservice.config.mybatis;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Registers a proxy hint for every scanned mapper and reflection hints for the entities, records
+ * and enums its methods take and return, which MyBatis reads and instantiates reflectively.
+ */
+class MapperRuntimeHintsAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+  private static final String APPLICATION_PACKAGE = "com.danielmichalski.bookingservice.";
+
+  @Override
+  public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+    Set<Class<?>> mappers = new LinkedHashSet<>();
+    for (String beanName : beanFactory.getBeanNamesForType(MapperFactoryBean.class, true, false)) {
+      Object mapperInterface = beanFactory.getMergedBeanDefinition(beanName).getPropertyValues().get("mapperInterface");
+      if (mapperInterface instanceof Class<?> mapper) {
+        mappers.add(mapper);
+      }
+    }
+    if (mappers.isEmpty()) {
+      return null;
+    }
+    return (generationContext, beanFactoryInitializationCode) ->
+        mappers.forEach(mapper -> registerHints(generationContext.getRuntimeHints(), mapper));
+  }
+
+  static void registerHints(RuntimeHints hints, Class<?> mapper) {
+    hints.proxies().registerJdkProxy(mapper);
+    hints.reflection().registerType(mapper, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+    Set<Class<?>> types = new LinkedHashSet<>();
+    for (Method method : mapper.getMethods()) {
+      collectTypes(ResolvableType.forMethodReturnType(method), types);
+      for (int i = 0; i < method.getParameterCount(); i++) {
+        collectTypes(ResolvableType.forMethodParameter(method, i), types);
+      }
+    }
+    types.forEach(type -> hints.reflection().registerType(
+        type,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_PUBLIC_METHODS,
+        MemberCategory.DECLARED_FIELDS
+    ));
+  }
+
+  private static void collectTypes(ResolvableType type, Set<Class<?>> types) {
+    Arrays.stream(type.getGenerics()).forEach(generic -> collectTypes(generic, types));
+    Class<?> resolved = type.resolve();
+    if (resolved == null || !resolved.getName().startsWith(APPLICATION_PACKAGE) || !types.add(resolved)) {
+      return;
+    }
+    if (resolved.isRecord()) {
+      Arrays.stream(resolved.getRecordComponents())
+          .map(RecordComponent::getGenericType)
+          .forEach(componentType -> collectTypes(ResolvableType.forType(componentType), types));
+    }
+  }
+
+}
@@ -1,10 +1,42 @@
 package com.danielmichalski.bookingservice.config.mybatis;
 
+import com.danielmichalski.bookingservice.common.idempotency.IdempotencyKeysRepository;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventsRepository;
+import com.danielmichalski.bookingservice.config.mybatis.handler.UuidTypeHandler;
+import com.danielmichalski.bookingservice.property.archive.PropertyArchiveRepository;
+import com.danielmichalski.bookingservice.property.repository.PropertiesRepository;
+import org.apache.ibatis.annotations.Mapper;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
+/**
+ * Mappers are scanned only in the packages that hold them and get the session template by name
+ * rather than autowired by type, which ahead-of-time processed bean definitions do not support.
+ */
 @Configuration
-@MapperScan("com.danielmichalski.bookingservice")
+@MapperScan(
+    basePackageClasses = {
+        PropertiesRepository.class,
+        PropertyArchiveRepository.class,
+        IdempotencyKeysRepository.class,
+        OutboxEventsRepository.class
+    },
+    annotationClass = Mapper.class,
+    sqlSessionTemplateRef = "sqlSessionTemplate"
+)
+@ImportRuntimeHints(MyBatisRuntimeHints.class)
 public class MyBatisConfig {
 
+  @Bean
+  public static MapperFactoryBeanTypeResolver mapperFactoryBeanTypeResolver() {
+    return new MapperFactoryBeanTypeResolver();
+  }
+
+  @Bean
+  public UuidTypeHandler uuidTypeHandler() {
+    return new UuidTypeHandler();
+  }
+
 }
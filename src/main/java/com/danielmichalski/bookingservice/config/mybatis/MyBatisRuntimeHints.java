@@ -0,0 +1,42 @@
+package com.danielmichalski.bookingservice.config.mybatis;
+
+import com.danielmichalski.bookingservice.config.mybatis.handler.UuidTypeHandler;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.logging.slf4j.Slf4jImpl;
+import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the MyBatis classes that are instantiated by name rather than with
+ * {@code new}. Hints for the mappers and the types they read and write are registered by
+ * {@link MapperRuntimeHintsAotProcessor}.
+ */
+class MyBatisRuntimeHints implements RuntimeHintsRegistrar {
+
+  private static final List<Class<?>> INSTANTIATED_TYPES = List.of(
+      Slf4jImpl.class,
+      XMLLanguageDriver.class,
+      RawLanguageDriver.class,
+      PerpetualCache.class,
+      LruCache.class,
+      UuidTypeHandler.class,
+      ArrayList.class,
+      HashMap.class,
+      HashSet.class
+  );
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    INSTANTIATED_TYPES.forEach(type -> hints.reflection()
+        .registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+  }
+
+}
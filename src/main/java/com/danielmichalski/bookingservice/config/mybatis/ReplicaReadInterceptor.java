@@ -0,0 +1,61 @@
+package com.danielmichalski.bookingservice.config.mybatis;
+
+import com.danielmichalski.bookingservice.common.datasource.ReplicaRead;
+import com.danielmichalski.bookingservice.config.datasource.ReadReplicaRoutingDataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Lets calls of {@link ReplicaRead} mapper methods take their connection from the replica pool.
+ * Whether they actually do is decided by {@link ReadReplicaRoutingDataSource}.
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class ReplicaReadInterceptor implements Interceptor {
+
+  private final Map<String, Boolean> replicaReads = new ConcurrentHashMap<>();
+
+  @Override
+  public Object intercept(Invocation invocation) throws InvocationTargetException, IllegalAccessException {
+    MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    if (!replicaReads.computeIfAbsent(mappedStatement.getId(), ReplicaReadInterceptor::isReplicaRead)) {
+      return invocation.proceed();
+    }
+
+    boolean outerReplicaRead = ReadReplicaRoutingDataSource.isReplicaRead();
+    ReadReplicaRoutingDataSource.setReplicaRead(true);
+    try {
+      return invocation.proceed();
+    } finally {
+      ReadReplicaRoutingDataSource.setReplicaRead(outerReplicaRead);
+    }
+  }
+
+  private static boolean isReplicaRead(String statementId) {
+    int methodSeparator = statementId.lastIndexOf('.');
+    String mapperName = statementId.substring(0, methodSeparator);
+    String methodName = statementId.substring(methodSeparator + 1);
+    if (!ClassUtils.isPresent(mapperName, ReplicaReadInterceptor.class.getClassLoader())) {
+      return false;
+    }
+    Class<?> mapper = ClassUtils.resolveClassName(mapperName, ReplicaReadInterceptor.class.getClassLoader());
+    return Arrays.stream(mapper.getMethods())
+        .anyMatch(method -> method.getName().equals(methodName) && method.isAnnotationPresent(ReplicaRead.class));
+  }
+
+}
@@ -0,0 +1,33 @@
+package com.danielmichalski.bookingservice.config.outbox;
+
+import com.danielmichalski.bookingservice.common.outbox.FileOutboxEventSink;
+import com.danielmichalski.bookingservice.common.outbox.InProcessOutboxEventSink;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventSink;
+import com.danielmichalski.bookingservice.common.outbox.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the outbox sink with {@code booking.outbox.sink}. Any other {@link OutboxEventSink} bean,
+ * e.g. a message broker client, replaces the in-process sink.
+ */
+@Configuration
+public class OutboxSinkConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "booking.outbox.sink", havingValue = "file")
+  public OutboxEventSink fileOutboxEventSink(OutboxProperties properties, ObjectMapper objectMapper) {
+    return new FileOutboxEventSink(properties.file(), objectMapper);
+  }
+
+  @Bean
+  @ConditionalOnMissingBean(OutboxEventSink.class)
+  public OutboxEventSink inProcessOutboxEventSink(ApplicationEventPublisher applicationEventPublisher) {
+    return new InProcessOutboxEventSink(applicationEventPublisher);
+  }
+
+}
@@ -0,0 +1,35 @@
+package com.danielmichalski.bookingservice.config.thread;
+
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Runs Tomcat request processing, and with it every MyBatis call made by a request, on virtual
+ * threads. Streaming responses are written from the application task executor, which is switched
+ * to virtual threads as well.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "booking.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+    log.info("Handling requests on virtual threads");
+    return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+  public AsyncTaskExecutor applicationTaskExecutor() {
+    return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+}
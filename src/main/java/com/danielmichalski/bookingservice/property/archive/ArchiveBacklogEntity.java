@@ -0,0 +1,12 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Oldest rows waiting for the archive job: the earliest cancellation and the earliest end date of
+ * a live row past the retention period, each {@code null} when there is no such row.
+ */
+public record ArchiveBacklogEntity(OffsetDateTime oldestDateDeleted,
+                                   OffsetDateTime oldestEndDate) {
+
+}
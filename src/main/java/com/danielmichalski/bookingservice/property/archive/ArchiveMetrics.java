@@ -0,0 +1,45 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ArchiveMetrics {
+
+  public static final String ARCHIVED_ROWS = "booking.archive.rows";
+  public static final String ARCHIVE_LAG = "booking.archive.lag";
+
+  private final Map<ArchivedTable, Counter> archivedRows = new EnumMap<>(ArchivedTable.class);
+  private final Map<ArchivedTable, AtomicLong> lagSeconds = new EnumMap<>(ArchivedTable.class);
+
+  public ArchiveMetrics(MeterRegistry meterRegistry) {
+    for (ArchivedTable table : ArchivedTable.values()) {
+      archivedRows.put(table, Counter.builder(ARCHIVED_ROWS)
+          .description("Rows moved to the archive tables")
+          .tag("table", table.getTag())
+          .register(meterRegistry));
+      AtomicLong lag = new AtomicLong();
+      lagSeconds.put(table, lag);
+      Gauge.builder(ARCHIVE_LAG, lag, AtomicLong::get)
+          .description("Time the oldest archivable row has been waiting for the archive job")
+          .baseUnit("seconds")
+          .tag("table", table.getTag())
+          .register(meterRegistry);
+    }
+  }
+
+  public void rowsArchived(ArchivedTable table, int rows) {
+    archivedRows.get(table).increment(rows);
+  }
+
+  public void lag(ArchivedTable table, Duration lag) {
+    lagSeconds.get(table).set(lag.toSeconds());
+  }
+
+}
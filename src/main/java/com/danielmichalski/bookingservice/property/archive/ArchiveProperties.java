@@ -0,0 +1,19 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("booking.archive")
+public record ArchiveProperties(@DefaultValue("true") boolean enabled,
+                                @DefaultValue("1h") @NotNull Duration interval,
+                                @DefaultValue("365d") @NotNull Duration retention,
+                                @DefaultValue("1000") @Positive int chunkSize,
+                                @DefaultValue("100ms") @NotNull Duration chunkPause,
+                                @DefaultValue("5m") @NotNull Duration maxRuntime) {
+
+}
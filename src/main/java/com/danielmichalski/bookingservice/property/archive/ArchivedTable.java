@@ -0,0 +1,13 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ArchivedTable {
+  BOOKINGS("property_bookings"),
+  BLOCKS("property_blocks");
+
+  private final String tag;
+}
@@ -0,0 +1,109 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves cancelled bookings and blocks, and those that ended more than the retention period ago,
+ * from the hot tables to {@code property_bookings_archive} and {@code property_blocks_archive}.
+ * Rows are moved in chunks with a pause between them, and a run stops when its runtime window is
+ * over, leaving the rest for the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PropertyArchiveJob implements SchedulingConfigurer {
+
+  private final PropertyArchiver propertyArchiver;
+  private final PropertyArchiveRepository propertyArchiveRepository;
+  private final ArchiveProperties properties;
+  private final ArchiveMetrics archiveMetrics;
+  private final CurrentDateTimeService currentDateTimeService;
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    if (properties.enabled()) {
+      long interval = properties.interval().toMillis();
+      taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::archiveScheduled, interval, interval));
+    }
+  }
+
+  /**
+   * Archives chunks of bookings and blocks in turns until neither table has archivable rows left
+   * or the runtime window is over, and returns the number of archived rows.
+   */
+  public int archive() {
+    OffsetDateTime now = currentDateTimeService.currentDateTime();
+    OffsetDateTime cutoff = now.minus(properties.retention());
+    long deadline = System.nanoTime() + properties.maxRuntime().toNanos();
+
+    int archived = 0;
+    boolean bookingsLeft = true;
+    boolean blocksLeft = true;
+    while ((bookingsLeft || blocksLeft) && System.nanoTime() - deadline < 0) {
+      if (bookingsLeft) {
+        int rows = propertyArchiver.archiveBookings(cutoff, properties.chunkSize(), now);
+        archiveMetrics.rowsArchived(ArchivedTable.BOOKINGS, rows);
+        bookingsLeft = rows == properties.chunkSize();
+        archived += rows;
+      }
+      if (blocksLeft) {
+        int rows = propertyArchiver.archiveBlocks(cutoff, properties.chunkSize(), now);
+        archiveMetrics.rowsArchived(ArchivedTable.BLOCKS, rows);
+        blocksLeft = rows == properties.chunkSize();
+        archived += rows;
+      }
+      if ((bookingsLeft || blocksLeft) && !pause()) {
+        break;
+      }
+    }
+
+    archiveMetrics.lag(ArchivedTable.BOOKINGS, lag(propertyArchiveRepository.findBookingsBacklog(cutoff), now));
+    archiveMetrics.lag(ArchivedTable.BLOCKS, lag(propertyArchiveRepository.findBlocksBacklog(cutoff), now));
+    return archived;
+  }
+
+  private boolean pause() {
+    try {
+      Thread.sleep(properties.chunkPause());
+      return true;
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private Duration lag(ArchiveBacklogEntity backlog, OffsetDateTime now) {
+    if (backlog == null) {
+      return Duration.ZERO;
+    }
+    OffsetDateTime pastRetention = backlog.oldestEndDate() == null
+        ? null
+        : backlog.oldestEndDate().plus(properties.retention());
+    return Stream.of(backlog.oldestDateDeleted(), pastRetention)
+        .filter(date -> date != null && date.isBefore(now))
+        .map(date -> Duration.between(date, now))
+        .max(Duration::compareTo)
+        .orElse(Duration.ZERO);
+  }
+
+  private void archiveScheduled() {
+    try {
+      int archived = archive();
+      if (archived > 0) {
+        log.info("Archived {} bookings and blocks", archived);
+      }
+    } catch (RuntimeException exception) {
+      log.error("Archiving bookings and blocks failed, retrying on the next run", exception);
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.springframework.stereotype.Repository;
+
+@Mapper
+@Repository
+public interface PropertyArchiveRepository {
+
+  /**
+   * Locks up to {@code limit} cancelled bookings and bookings that ended before the cutoff, so
+   * that concurrent writers wait until the chunk is moved.
+   */
+  @Select("""
+          SELECT id
+          FROM property_bookings
+          WHERE date_deleted IS NOT NULL
+              OR end_date < #{cutoff}
+          LIMIT #{limit}
+          FOR UPDATE
+      """)
+  List<UUID> lockArchivableBookings(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+  @Insert("""
+          <script>
+          INSERT INTO property_bookings_archive
+              (id, guest_first_name, guest_last_name, date_created, date_deleted, date_updated,
+               start_date, end_date, property_id, version, date_archived)
+          SELECT id, guest_first_name, guest_last_name, date_created, date_deleted, date_updated,
+                 start_date, end_date, property_id, version, #{dateArchived}
+          FROM property_bookings
+          WHERE id IN
+          <foreach collection="ids" item="id" open="(" separator="," close=")">
+              #{id}
+          </foreach>
+          </script>
+      """)
+  int copyBookingsToArchive(@Param("ids") List<UUID> ids, @Param("dateArchived") OffsetDateTime dateArchived);
+
+  @Delete("""
+          <script>
+          DELETE FROM property_bookings
+          WHERE id IN
+          <foreach collection="ids" item="id" open="(" separator="," close=")">
+              #{id}
+          </foreach>
+          </script>
+      """)
+  int deleteBookings(@Param("ids") List<UUID> ids);
+
+  @Select("""
+          SELECT
+              (SELECT MIN(date_deleted) FROM property_bookings WHERE date_deleted IS NOT NULL),
+              (SELECT MIN(end_date) FROM property_bookings WHERE date_deleted IS NULL AND end_date < #{cutoff})
+      """)
+  ArchiveBacklogEntity findBookingsBacklog(@Param("cutoff") OffsetDateTime cutoff);
+
+  /**
+   * Locks up to {@code limit} cancelled blocks and blocks that ended before the cutoff, so that
+   * concurrent writers wait until the chunk is moved.
+   */
+  @Select("""
+          SELECT id
+          FROM property_blocks
+          WHERE date_deleted IS NOT NULL
+              OR end_date < #{cutoff}
+          LIMIT #{limit}
+          FOR UPDATE
+      """)
+  List<UUID> lockArchivableBlocks(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+  @Insert("""
+          <script>
+          INSERT INTO property_blocks_archive
+              (id, date_created, date_deleted, date_updated, start_date, end_date, property_id, version, date_archived)
+          SELECT id, date_created, date_deleted, date_updated, start_date, end_date, property_id, version,
+                 #{dateArchived}
+          FROM property_blocks
+          WHERE id IN
+          <foreach collection="ids" item="id" open="(" separator="," close=")">
+              #{id}
+          </foreach>
+          </script>
+      """)
+  int copyBlocksToArchive(@Param("ids") List<UUID> ids, @Param("dateArchived") OffsetDateTime dateArchived);
+
+  @Delete("""
+          <script>
+          DELETE FROM property_blocks
+          WHERE id IN
+          <foreach collection="ids" item="id" open="(" separator="," close=")">
+              #{id}
+          </foreach>
+          </script>
+      """)
+  int deleteBlocks(@Param("ids") List<UUID> ids);
+
+  @Select("""
+          SELECT
+              (SELECT MIN(date_deleted) FROM property_blocks WHERE date_deleted IS NOT NULL),
+              (SELECT MIN(end_date) FROM property_blocks WHERE date_deleted IS NULL AND end_date < #{cutoff})
+      """)
+  ArchiveBacklogEntity findBlocksBacklog(@Param("cutoff") OffsetDateTime cutoff);
+
+}
@@ -0,0 +1,40 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves one chunk of archivable rows per call, each in its own transaction, so that row locks are
+ * held only as long as one chunk takes.
+ */
+@Component
+@RequiredArgsConstructor
+public class PropertyArchiver {
+
+  private final PropertyArchiveRepository propertyArchiveRepository;
+
+  @Transactional
+  public int archiveBookings(OffsetDateTime cutoff, int chunkSize, OffsetDateTime dateArchived) {
+    List<UUID> ids = propertyArchiveRepository.lockArchivableBookings(cutoff, chunkSize);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    propertyArchiveRepository.copyBookingsToArchive(ids, dateArchived);
+    return propertyArchiveRepository.deleteBookings(ids);
+  }
+
+  @Transactional
+  public int archiveBlocks(OffsetDateTime cutoff, int chunkSize, OffsetDateTime dateArchived) {
+    List<UUID> ids = propertyArchiveRepository.lockArchivableBlocks(cutoff, chunkSize);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    propertyArchiveRepository.copyBlocksToArchive(ids, dateArchived);
+    return propertyArchiveRepository.deleteBlocks(ids);
+  }
+
+}
@@ -0,0 +1,9 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("booking.availability-index")
+public record AvailabilityIndexProperties(@DefaultValue("true") boolean enabled) {
+
+}
@@ -0,0 +1,35 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+public record AvailabilityInterval(UUID id,
+                                   IntervalType type,
+                                   long start,
+                                   long end) {
+
+  // start_date and end_date are DATE columns, so stored bounds are truncated to midnight in the
+  // same time zone the database uses when it compares them with the requested timestamps.
+  public static AvailabilityInterval of(UUID id, IntervalType type, OffsetDateTime startDate, OffsetDateTime endDate) {
+    return new AvailabilityInterval(id, type, startOfDay(startDate), startOfDay(endDate));
+  }
+
+  public boolean overlaps(long otherStart, long otherEnd) {
+    return start <= otherEnd && end >= otherStart;
+  }
+
+  public boolean overlaps(OffsetDateTime startDate, OffsetDateTime endDate) {
+    return overlaps(startDate.toInstant().toEpochMilli(), endDate.toInstant().toEpochMilli());
+  }
+
+  private static long startOfDay(OffsetDateTime date) {
+    ZoneId zone = ZoneId.systemDefault();
+    return date.atZoneSameInstant(zone)
+        .toLocalDate()
+        .atStartOfDay(zone)
+        .toInstant()
+        .toEpochMilli();
+  }
+
+}
@@ -0,0 +1,164 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Immutable sparse bitset with one bit per day, counted since the epoch in the system time zone.
+ *
+ * <p>Only non-empty 64-day words are stored, next to their sorted word indexes, so a property
+ * taken every day of a year costs six words per layer and a range check is one binary search
+ * followed by a few masked words.
+ */
+final class DayBitmap {
+
+  static final DayBitmap EMPTY = new DayBitmap(new long[0], new long[0]);
+
+  private static final int DAYS_PER_WORD = Long.SIZE;
+
+  private final long[] wordIndexes;
+  private final long[] words;
+
+  private DayBitmap(long[] wordIndexes, long... words) {
+    this.wordIndexes = wordIndexes;
+    this.words = words;
+  }
+
+  /**
+   * Sets the days from the start day to the end day of every interval of the given type, both
+   * inclusive. Intervals sorted by start, as kept by {@link PropertyIntervals}, only ever append
+   * words.
+   */
+  static DayBitmap of(Collection<AvailabilityInterval> intervals, IntervalType type) {
+    long[] wordIndexes = new long[0];
+    long[] words = new long[0];
+    int size = 0;
+    for (AvailabilityInterval interval : intervals) {
+      if (interval.type() != type) {
+        continue;
+      }
+      long firstDay = epochDay(interval.start());
+      long lastDay = epochDay(interval.end());
+      for (long wordIndex = wordIndex(firstDay); wordIndex <= wordIndex(lastDay); wordIndex++) {
+        int position = Arrays.binarySearch(wordIndexes, 0, size, wordIndex);
+        if (position < 0) {
+          position = -position - 1;
+          if (size == words.length) {
+            wordIndexes = Arrays.copyOf(wordIndexes, Math.max(4, size * 2));
+            words = Arrays.copyOf(words, wordIndexes.length);
+          }
+          System.arraycopy(wordIndexes, position, wordIndexes, position + 1, size - position);
+          System.arraycopy(words, position, words, position + 1, size - position);
+          wordIndexes[position] = wordIndex;
+          words[position] = 0;
+          size++;
+        }
+        words[position] |= mask(wordIndex, firstDay, lastDay);
+      }
+    }
+    return size == 0 ? EMPTY : new DayBitmap(Arrays.copyOf(wordIndexes, size), Arrays.copyOf(words, size));
+  }
+
+  /**
+   * Returns a copy with the days of the interval set, merging its words into the existing ones.
+   */
+  DayBitmap with(AvailabilityInterval interval) {
+    long firstDay = epochDay(interval.start());
+    long lastDay = epochDay(interval.end());
+    long lastWordIndex = wordIndex(lastDay);
+    int added = (int) (lastWordIndex - wordIndex(firstDay) + 1);
+    long[] mergedWordIndexes = new long[wordIndexes.length + added];
+    long[] mergedWords = new long[mergedWordIndexes.length];
+
+    int size = 0;
+    int position = 0;
+    long next = wordIndex(firstDay);
+    while (position < wordIndexes.length || next <= lastWordIndex) {
+      if (next > lastWordIndex || position < wordIndexes.length && wordIndexes[position] < next) {
+        mergedWordIndexes[size] = wordIndexes[position];
+        mergedWords[size++] = words[position++];
+        continue;
+      }
+      long word = mask(next, firstDay, lastDay);
+      if (position < wordIndexes.length && wordIndexes[position] == next) {
+        word |= words[position++];
+      }
+      mergedWordIndexes[size] = next++;
+      mergedWords[size++] = word;
+    }
+    return new DayBitmap(Arrays.copyOf(mergedWordIndexes, size), Arrays.copyOf(mergedWords, size));
+  }
+
+  static long epochDay(long epochMilli) {
+    return Instant.ofEpochMilli(epochMilli).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+  }
+
+  /**
+   * Whether any day from the first day to the last day, both inclusive, is set.
+   */
+  boolean intersects(long firstDay, long lastDay) {
+    long lastWordIndex = wordIndex(lastDay);
+    for (int i = lowerBound(wordIndex(firstDay)); i < wordIndexes.length && wordIndexes[i] <= lastWordIndex; i++) {
+      if ((words[i] & mask(wordIndexes[i], firstDay, lastDay)) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the given number of days starting with the first day, bit {@code i} of the result is
+   * day {@code firstDay + i}.
+   */
+  BitSet get(long firstDay, int days) {
+    BitSet result = new BitSet(days);
+    long lastDay = firstDay + days - 1;
+    long lastWordIndex = wordIndex(lastDay);
+    for (int i = lowerBound(wordIndex(firstDay)); i < wordIndexes.length && wordIndexes[i] <= lastWordIndex; i++) {
+      long word = words[i] & mask(wordIndexes[i], firstDay, lastDay);
+      while (word != 0) {
+        long day = wordIndexes[i] * DAYS_PER_WORD + Long.numberOfTrailingZeros(word);
+        result.set((int) (day - firstDay));
+        word &= word - 1;
+      }
+    }
+    return result;
+  }
+
+  int wordCount() {
+    return words.length;
+  }
+
+  private static long wordIndex(long day) {
+    return Math.floorDiv(day, DAYS_PER_WORD);
+  }
+
+  private static long mask(long wordIndex, long firstDay, long lastDay) {
+    long mask = -1L;
+    if (wordIndex == wordIndex(firstDay)) {
+      mask &= -1L << Math.floorMod(firstDay, DAYS_PER_WORD);
+    }
+    if (wordIndex == wordIndex(lastDay)) {
+      mask &= -1L >>> (DAYS_PER_WORD - 1 - Math.floorMod(lastDay, DAYS_PER_WORD));
+    }
+    return mask;
+  }
+
+  private int lowerBound(long wordIndex) {
+    int low = 0;
+    int high = wordIndexes.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (wordIndexes[middle] < wordIndex) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+}
@@ -0,0 +1,6 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+public enum IntervalType {
+  BOOKING,
+  BLOCK
+}
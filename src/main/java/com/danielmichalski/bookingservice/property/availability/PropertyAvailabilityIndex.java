@@ -0,0 +1,158 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.repository.PropertyBlocksRepository;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PropertyAvailabilityIndex implements SmartInitializingSingleton {
+
+  private final ConcurrentMap<UUID, PropertyIntervals> intervalsByProperty = new ConcurrentHashMap<>();
+
+  private final AvailabilityIndexProperties properties;
+  private final PropertyBookingsRepository propertyBookingsRepository;
+  private final PropertyBlocksRepository propertyBlocksRepository;
+
+  private volatile LocalDate loadedFrom;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (isEnabled()) {
+      rebuild();
+    }
+  }
+
+  public boolean isEnabled() {
+    return properties.enabled();
+  }
+
+  public void rebuild() {
+    LocalDate from = LocalDate.now();
+    Map<UUID, List<AvailabilityInterval>> loaded = new HashMap<>();
+    propertyBookingsRepository.findAllUpcoming(from, context -> {
+      PropertyBookingEntity booking = context.getResultObject();
+      loaded.computeIfAbsent(booking.propertyId(), id -> new ArrayList<>())
+          .add(AvailabilityInterval.of(booking.id(), IntervalType.BOOKING, booking.startDate(), booking.endDate()));
+    });
+    propertyBlocksRepository.findAllUpcoming(from, context -> {
+      PropertyBlockEntity block = context.getResultObject();
+      loaded.computeIfAbsent(block.propertyId(), id -> new ArrayList<>())
+          .add(AvailabilityInterval.of(block.id(), IntervalType.BLOCK, block.startDate(), block.endDate()));
+    });
+
+    intervalsByProperty.clear();
+    loaded.forEach((propertyId, intervals) -> intervalsByProperty.put(propertyId, PropertyIntervals.of(intervals)));
+    loadedFrom = from;
+    log.info("Availability index loaded for {} properties", intervalsByProperty.size());
+  }
+
+  /**
+   * Tells whether the index holds every booking and block that can overlap a range starting on the
+   * given day. Only the ones ending on or after the day the index was loaded are kept in memory,
+   * earlier ranges have to be checked in the database.
+   */
+  public boolean covers(LocalDate from) {
+    LocalDate indexedFrom = loadedFrom;
+    return isEnabled() && indexedFrom != null && !from.isBefore(indexedFrom);
+  }
+
+  public boolean covers(OffsetDateTime startDate) {
+    return covers(startDate.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate());
+  }
+
+  public Optional<AvailabilityInterval> findOverlap(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    return findOverlap(propertyId, startDate, endDate, null);
+  }
+
+  /**
+   * Finds an interval overlapping the range other than the one with the excluded id.
+   */
+  public Optional<AvailabilityInterval> findOverlap(UUID propertyId,
+                                                   OffsetDateTime startDate,
+                                                   OffsetDateTime endDate,
+                                                   UUID excludedId) {
+    PropertyIntervals intervals = intervalsByProperty.getOrDefault(propertyId, PropertyIntervals.EMPTY);
+    return intervals.findOverlap(startDate.toInstant().toEpochMilli(), endDate.toInstant().toEpochMilli(), excludedId);
+  }
+
+  public boolean overlaps(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    return findOverlap(propertyId, startDate, endDate).isPresent();
+  }
+
+  /**
+   * Returns the days taken by bookings or blocks of the property, bit {@code i} of the result is
+   * day {@code from + i}.
+   */
+  public BitSet findTakenDays(UUID propertyId, IntervalType type, LocalDate from, int days) {
+    return intervalsByProperty.getOrDefault(propertyId, PropertyIntervals.EMPTY)
+        .takenDays(type, from.toEpochDay(), days);
+  }
+
+  public void bookingSaved(PropertyBookingEntity booking) {
+    AvailabilityInterval interval =
+        AvailabilityInterval.of(booking.id(), IntervalType.BOOKING, booking.startDate(), booking.endDate());
+    afterCommit(() -> put(booking.propertyId(), interval));
+  }
+
+  public void blockSaved(PropertyBlockEntity block) {
+    AvailabilityInterval interval =
+        AvailabilityInterval.of(block.id(), IntervalType.BLOCK, block.startDate(), block.endDate());
+    afterCommit(() -> put(block.propertyId(), interval));
+  }
+
+  public void intervalRemoved(UUID propertyId, UUID intervalId) {
+    afterCommit(() -> remove(propertyId, intervalId));
+  }
+
+  private void put(UUID propertyId, AvailabilityInterval interval) {
+    intervalsByProperty.compute(
+        propertyId,
+        (id, current) -> (current == null ? PropertyIntervals.EMPTY : current).with(interval)
+    );
+  }
+
+  private void remove(UUID propertyId, UUID intervalId) {
+    intervalsByProperty.computeIfPresent(propertyId, (id, current) -> {
+      PropertyIntervals updated = current.without(intervalId);
+      return updated.isEmpty() ? null : updated;
+    });
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!isEnabled()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+}
@@ -0,0 +1,159 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable set of intervals of a single property, sorted by start.
+ *
+ * <p>Next to the sorted starts it keeps a running maximum of the ends, so the first interval
+ * reaching past a given point can be found with a binary search. Bookings and blocks are also
+ * kept as {@link DayBitmap day bitmaps}, which answer most checks of free ranges without touching
+ * the intervals. Writers replace the whole instance, readers never need a lock.
+ */
+final class PropertyIntervals {
+
+  static final PropertyIntervals EMPTY = new PropertyIntervals(new AvailabilityInterval[0]);
+
+  private final AvailabilityInterval[] intervals;
+  private final long[] starts;
+  private final long[] maxEnds;
+  private final DayBitmap bookedDays;
+  private final DayBitmap blockedDays;
+
+  private PropertyIntervals(AvailabilityInterval... sortedIntervals) {
+    this(
+        sortedIntervals,
+        DayBitmap.of(Arrays.asList(sortedIntervals), IntervalType.BOOKING),
+        DayBitmap.of(Arrays.asList(sortedIntervals), IntervalType.BLOCK)
+    );
+  }
+
+  private PropertyIntervals(AvailabilityInterval[] sortedIntervals, DayBitmap bookedDays, DayBitmap blockedDays) {
+    this.intervals = sortedIntervals;
+    this.starts = new long[sortedIntervals.length];
+    this.maxEnds = new long[sortedIntervals.length];
+    this.bookedDays = bookedDays;
+    this.blockedDays = blockedDays;
+
+    long maxEnd = Long.MIN_VALUE;
+    for (int i = 0; i < sortedIntervals.length; i++) {
+      maxEnd = Math.max(maxEnd, sortedIntervals[i].end());
+      starts[i] = sortedIntervals[i].start();
+      maxEnds[i] = maxEnd;
+    }
+  }
+
+  static PropertyIntervals of(Collection<AvailabilityInterval> intervals) {
+    AvailabilityInterval[] sorted = intervals.toArray(new AvailabilityInterval[0]);
+    Arrays.sort(sorted, Comparator.comparingLong(AvailabilityInterval::start));
+    return new PropertyIntervals(sorted);
+  }
+
+  PropertyIntervals with(AvailabilityInterval interval) {
+    PropertyIntervals current = without(interval.id());
+    AvailabilityInterval[] source = current.intervals;
+    int position = upperBound(source, interval.start());
+
+    AvailabilityInterval[] target = new AvailabilityInterval[source.length + 1];
+    System.arraycopy(source, 0, target, 0, position);
+    target[position] = interval;
+    System.arraycopy(source, position, target, position + 1, source.length - position);
+    return interval.type() == IntervalType.BOOKING
+        ? new PropertyIntervals(target, current.bookedDays.with(interval), current.blockedDays)
+        : new PropertyIntervals(target, current.bookedDays, current.blockedDays.with(interval));
+  }
+
+  PropertyIntervals without(UUID id) {
+    for (int i = 0; i < intervals.length; i++) {
+      if (intervals[i].id().equals(id)) {
+        AvailabilityInterval[] target = new AvailabilityInterval[intervals.length - 1];
+        System.arraycopy(intervals, 0, target, 0, i);
+        System.arraycopy(intervals, i + 1, target, i, intervals.length - i - 1);
+        return new PropertyIntervals(target);
+      }
+    }
+    return this;
+  }
+
+  Optional<AvailabilityInterval> findOverlap(long start, long end) {
+    return findOverlap(start, end, null);
+  }
+
+  Optional<AvailabilityInterval> findOverlap(long start, long end, UUID excludedId) {
+    // an interval overlapping the range shares at least one day with it, so no taken day means no overlap
+    long firstDay = DayBitmap.epochDay(start);
+    long lastDay = DayBitmap.epochDay(end);
+    if (!bookedDays.intersects(firstDay, lastDay) && !blockedDays.intersects(firstDay, lastDay)) {
+      return Optional.empty();
+    }
+
+    int candidates = upperBound(starts, end);
+    if (candidates == 0 || maxEnds[candidates - 1] < start) {
+      return Optional.empty();
+    }
+
+    int low = 0;
+    int high = candidates - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (maxEnds[middle] >= start) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    // intervals[low] overlaps, later candidates are only visited when it is the excluded one
+    for (int i = low; i < candidates; i++) {
+      if (intervals[i].end() >= start && !intervals[i].id().equals(excludedId)) {
+        return Optional.of(intervals[i]);
+      }
+    }
+    return Optional.empty();
+  }
+
+  BitSet takenDays(IntervalType type, long firstDay, int days) {
+    return (type == IntervalType.BOOKING ? bookedDays : blockedDays).get(firstDay, days);
+  }
+
+  boolean isEmpty() {
+    return intervals.length == 0;
+  }
+
+  int size() {
+    return intervals.length;
+  }
+
+  private static int upperBound(long[] values, long key) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (values[middle] <= key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static int upperBound(AvailabilityInterval[] values, long key) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (values[middle].start() <= key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+}
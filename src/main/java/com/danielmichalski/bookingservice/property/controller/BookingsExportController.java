@@ -0,0 +1,109 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import com.danielmichalski.bookingservice.common.csv.CsvWriter;
+import com.danielmichalski.bookingservice.property.dto.BookingExportFormat;
+import com.danielmichalski.bookingservice.property.dto.BookingExportQuery;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingExportDto;
+import com.danielmichalski.bookingservice.property.service.PropertyBookingsExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+public class BookingsExportController {
+
+  private static final String[] CSV_HEADER = {
+      "id", "propertyId", "guestFirstName", "guestLastName", "startDate", "endDate",
+      "dateCreated", "dateUpdated", "dateCancelled", "version"
+  };
+
+  private final PropertyBookingsExportService propertyBookingsExportService;
+  private final ObjectMapper objectMapper;
+
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportBookings(
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestParam(required = false) UUID propertyId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "false") boolean includeCancelled) {
+    BookingExportFormat exportFormat = BookingExportFormat.fromValue(format);
+    BookingExportQuery query = new BookingExportQuery(propertyId, from, to, includeCancelled);
+    propertyBookingsExportService.validateExportQuery(query);
+
+    ContentDisposition contentDisposition = ContentDisposition.attachment()
+        .filename("bookings." + exportFormat.fileExtension())
+        .build();
+    return ResponseEntity.ok()
+        .contentType(exportFormat.getMediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+        .body(outputStream -> {
+          if (exportFormat == BookingExportFormat.CSV) {
+            writeCsv(query, outputStream);
+          } else {
+            writeNdjson(query, outputStream);
+          }
+        });
+  }
+
+  private void writeNdjson(BookingExportQuery query, OutputStream outputStream) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.setRootValueSeparator(null);
+      propertyBookingsExportService.forEachExportedBooking(query, booking -> {
+        try {
+          generator.writeObject(booking);
+          generator.writeRaw('\n');
+        } catch (IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      });
+    }
+  }
+
+  private void writeCsv(BookingExportQuery query, OutputStream outputStream) throws IOException {
+    try (CsvWriter writer = new CsvWriter(
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)))) {
+      writer.writeRow((Object[]) CSV_HEADER);
+      propertyBookingsExportService.forEachExportedBooking(query, booking -> writeCsvRow(writer, booking));
+    }
+  }
+
+  private static void writeCsvRow(CsvWriter writer, PropertyBookingExportDto booking) {
+    try {
+      writer.writeRow(
+          booking.id(),
+          booking.propertyId(),
+          booking.guestFirstName(),
+          booking.guestLastName(),
+          booking.startDate(),
+          booking.endDate(),
+          booking.dateCreated(),
+          booking.dateUpdated(),
+          booking.dateCancelled(),
+          booking.version()
+      );
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+}
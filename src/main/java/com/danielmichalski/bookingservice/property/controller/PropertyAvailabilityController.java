@@ -0,0 +1,25 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityRequest;
+import com.danielmichalski.bookingservice.property.service.PropertyAvailabilityService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/properties/availability")
+@RequiredArgsConstructor
+public class PropertyAvailabilityController {
+
+  private final PropertyAvailabilityService propertyAvailabilityService;
+
+  @PostMapping
+  public PropertyAvailabilityDto findAvailableProperties(@Valid @RequestBody PropertyAvailabilityRequest request) {
+    return propertyAvailabilityService.findAvailableProperties(request);
+  }
+
+}
@@ -1,20 +1,27 @@
 package com.danielmichalski.bookingservice.property.controller;
 
-import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static com.danielmichalski.bookingservice.common.idempotency.IdempotencyService.IDEMPOTENCY_KEY;
 
+import com.danielmichalski.bookingservice.common.etag.EntityTags;
+import com.danielmichalski.bookingservice.common.idempotency.IdempotencyService;
+import com.danielmichalski.bookingservice.common.idempotency.IdempotentOperation;
 import com.danielmichalski.bookingservice.property.dto.BlockPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.PropertyBlockDto;
 import com.danielmichalski.bookingservice.property.dto.UpdateBlockRequest;
 import com.danielmichalski.bookingservice.property.service.PropertyBlocksService;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -25,24 +32,44 @@ import org.springframework.web.bind.annotation.RestController;
 public class PropertyBlocksController {
 
   private final PropertyBlocksService propertyBlocksService;
+  private final IdempotencyService idempotencyService;
 
   @PostMapping
-  @ResponseStatus(HttpStatus.CREATED)
-  public PropertyBlockDto blockProperty(@PathVariable UUID propertyId,
-                                        @Valid @RequestBody BlockPropertyRequest request) {
-    return propertyBlocksService.blockProperty(propertyId, request);
+  public ResponseEntity<PropertyBlockDto> blockProperty(
+      @PathVariable UUID propertyId,
+      @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+      @Valid @RequestBody BlockPropertyRequest request) {
+    PropertyBlockDto block = idempotencyService.execute(
+        IdempotentOperation.BLOCK_PROPERTY,
+        idempotencyKey,
+        List.of(propertyId, request),
+        PropertyBlockDto.class,
+        () -> propertyBlocksService.blockProperty(propertyId, request)
+    );
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .eTag(EntityTags.fromVersion(block.version()))
+        .body(block);
   }
 
   @PutMapping("/{blockId}")
-  @ResponseStatus(NO_CONTENT)
-  public void updateBlock(@PathVariable UUID propertyId,
-                          @PathVariable UUID blockId,
-                          @Valid @RequestBody UpdateBlockRequest request) {
-    propertyBlocksService.updateBlock(propertyId, blockId, request);
+  public ResponseEntity<Void> updateBlock(
+      @PathVariable UUID propertyId,
+      @PathVariable UUID blockId,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody UpdateBlockRequest request) {
+    long version = propertyBlocksService.updateBlock(
+        propertyId,
+        blockId,
+        EntityTags.expectedVersion(ifMatch),
+        request
+    );
+    return ResponseEntity.noContent()
+        .eTag(EntityTags.fromVersion(version))
+        .build();
   }
 
   @DeleteMapping("/{blockId}")
-  @ResponseStatus(NO_CONTENT)
+  @ResponseStatus(HttpStatus.NO_CONTENT)
   public void cancelBlock(@PathVariable UUID propertyId, @PathVariable UUID blockId) {
     propertyBlocksService.cancelBlock(propertyId, blockId);
   }
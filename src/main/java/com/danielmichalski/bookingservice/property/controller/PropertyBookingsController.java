@@ -1,50 +1,88 @@
 package com.danielmichalski.bookingservice.property.controller;
 
-import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static com.danielmichalski.bookingservice.common.idempotency.IdempotencyService.IDEMPOTENCY_KEY;
 
+import com.danielmichalski.bookingservice.common.etag.EntityTags;
+import com.danielmichalski.bookingservice.common.idempotency.IdempotencyService;
+import com.danielmichalski.bookingservice.common.idempotency.IdempotentOperation;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.BatchBookingResultDto;
 import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
 import com.danielmichalski.bookingservice.property.dto.UpdateBookingRequest;
+import com.danielmichalski.bookingservice.property.service.PropertyBookingsBatchService;
+import com.danielmichalski.bookingservice.property.service.PropertyBookingsCoalescer;
 import com.danielmichalski.bookingservice.property.service.PropertyBookingsService;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
-@RequestMapping("/api/properties/{propertyId}/bookings")
+@RequestMapping("/api/properties")
 @RequiredArgsConstructor
 public class PropertyBookingsController {
 
   private final PropertyBookingsService propertyBookingsService;
+  private final PropertyBookingsBatchService propertyBookingsBatchService;
+  private final PropertyBookingsCoalescer propertyBookingsCoalescer;
+  private final IdempotencyService idempotencyService;
 
-  @PostMapping
-  @ResponseStatus(HttpStatus.CREATED)
-  public PropertyBookingDto bookProperty(@PathVariable UUID propertyId,
-                                         @Valid @RequestBody BookPropertyRequest request) {
-    return propertyBookingsService.bookProperty(propertyId, request);
+  @PostMapping("/{propertyId}/bookings")
+  public ResponseEntity<PropertyBookingDto> bookProperty(
+      @PathVariable UUID propertyId,
+      @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+      @Valid @RequestBody BookPropertyRequest request) {
+    PropertyBookingDto booking = idempotencyService.execute(
+        IdempotentOperation.BOOK_PROPERTY,
+        idempotencyKey,
+        List.of(propertyId, request),
+        PropertyBookingDto.class,
+        () -> propertyBookingsCoalescer.bookProperty(propertyId, request)
+    );
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .eTag(EntityTags.fromVersion(booking.version()))
+        .body(booking);
   }
 
-  @PutMapping("/{bookingId}")
-  @ResponseStatus(NO_CONTENT)
-  public void updateBooking(@PathVariable UUID propertyId,
-                            @PathVariable UUID bookingId,
-                            @Valid @RequestBody UpdateBookingRequest request) {
-    propertyBookingsService.updateBooking(propertyId, bookingId, request);
+  @PutMapping("/{propertyId}/bookings/{bookingId}")
+  public ResponseEntity<Void> updateBooking(
+      @PathVariable UUID propertyId,
+      @PathVariable UUID bookingId,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody UpdateBookingRequest request) {
+    long version = propertyBookingsService.updateBooking(
+        propertyId,
+        bookingId,
+        EntityTags.expectedVersion(ifMatch),
+        request
+    );
+    return ResponseEntity.noContent()
+        .eTag(EntityTags.fromVersion(version))
+        .build();
   }
 
-  @DeleteMapping("/{bookingId}")
-  @ResponseStatus(NO_CONTENT)
+  @DeleteMapping("/{propertyId}/bookings/{bookingId}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
   public void cancelBooking(@PathVariable UUID propertyId, @PathVariable UUID bookingId) {
     propertyBookingsService.cancelBooking(propertyId, bookingId);
   }
 
+  @PostMapping("/bookings/batch")
+  public List<BatchBookingResultDto> bookProperties(@Valid @RequestBody BatchBookPropertyRequest request) {
+    return propertyBookingsBatchService.bookProperties(request.bookings());
+  }
+
 }
@@ -0,0 +1,70 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarDaysDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarEntryDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarQuery;
+import com.danielmichalski.bookingservice.property.service.PropertyCalendarService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/properties/{propertyId}/calendar")
+@RequiredArgsConstructor
+public class PropertyCalendarController {
+
+  private final PropertyCalendarService propertyCalendarService;
+  private final ObjectMapper objectMapper;
+
+  @GetMapping
+  public ResponseEntity<StreamingResponseBody> getCalendar(
+      @PathVariable UUID propertyId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterStartDate,
+      @RequestParam(required = false) UUID afterId,
+      @RequestParam(defaultValue = "100") int limit) {
+    PropertyCalendarQuery query = new PropertyCalendarQuery(propertyId, from, to, afterStartDate, afterId, limit);
+    propertyCalendarService.validateCalendarQuery(query);
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(outputStream -> {
+          try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            propertyCalendarService.forEachCalendarEntry(query, entry -> writeEntry(generator, entry));
+            generator.writeEndArray();
+          }
+        });
+  }
+
+  @GetMapping("/days")
+  public PropertyCalendarDaysDto getCalendarDays(
+      @PathVariable UUID propertyId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(defaultValue = "365") int days) {
+    return propertyCalendarService.findCalendarDays(propertyId, from, days);
+  }
+
+  private static void writeEntry(JsonGenerator generator, PropertyCalendarEntryDto entry) {
+    try {
+      generator.writeObject(entry);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+}
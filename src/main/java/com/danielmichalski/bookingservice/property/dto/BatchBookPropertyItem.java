@@ -0,0 +1,11 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+public record BatchBookPropertyItem(
+    @NotNull UUID propertyId,
+    @NotNull @Valid BookPropertyRequest booking) {
+
+}
@@ -0,0 +1,11 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchBookPropertyRequest(
+    @NotEmpty @Size(max = 500) List<@NotNull BatchBookPropertyItem> bookings) {
+
+}
@@ -0,0 +1,16 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+public record BatchBookingResultDto(int index,
+                                    BatchBookingStatus status,
+                                    PropertyBookingDto booking,
+                                    String error) {
+
+  public static BatchBookingResultDto created(int index, PropertyBookingDto booking) {
+    return new BatchBookingResultDto(index, BatchBookingStatus.CREATED, booking, null);
+  }
+
+  public static BatchBookingResultDto rejected(int index, String error) {
+    return new BatchBookingResultDto(index, BatchBookingStatus.REJECTED, null, error);
+  }
+
+}
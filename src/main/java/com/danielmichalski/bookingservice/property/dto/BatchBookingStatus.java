@@ -0,0 +1,6 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+public enum BatchBookingStatus {
+  CREATED,
+  REJECTED
+}
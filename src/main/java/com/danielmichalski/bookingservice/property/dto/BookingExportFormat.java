@@ -0,0 +1,33 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import com.danielmichalski.bookingservice.common.exception.BadRequestException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum BookingExportFormat {
+
+  NDJSON(MediaType.APPLICATION_NDJSON),
+  CSV(new MediaType("text", "csv"));
+
+  private final MediaType mediaType;
+
+  public String fileExtension() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  public static BookingExportFormat fromValue(String value) {
+    return Arrays.stream(values())
+        .filter(format -> format.name().equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(() -> new BadRequestException("Export format should be one of " + Arrays.stream(values())
+            .map(BookingExportFormat::fileExtension)
+            .collect(Collectors.joining(", "))));
+  }
+
+}
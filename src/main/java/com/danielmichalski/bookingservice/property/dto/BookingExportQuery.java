@@ -0,0 +1,11 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record BookingExportQuery(UUID propertyId,
+                                 LocalDate from,
+                                 LocalDate to,
+                                 boolean includeCancelled) {
+
+}
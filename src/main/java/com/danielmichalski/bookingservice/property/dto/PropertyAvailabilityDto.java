@@ -0,0 +1,8 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PropertyAvailabilityDto(List<UUID> availablePropertyIds) {
+
+}
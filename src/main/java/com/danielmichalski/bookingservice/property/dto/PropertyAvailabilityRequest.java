@@ -0,0 +1,14 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record PropertyAvailabilityRequest(@NotEmpty @Size(max = 5000) List<@NotNull UUID> propertyIds,
+                                          @NotNull OffsetDateTime startDate,
+                                          @NotNull OffsetDateTime endDate) {
+
+}
@@ -7,6 +7,7 @@ public record PropertyBlockDto(UUID id,
                                OffsetDateTime dateCreated,
                                OffsetDateTime startDate,
                                OffsetDateTime endDate,
-                               UUID propertyId) {
+                               UUID propertyId,
+                               long version) {
 
 }
@@ -9,6 +9,7 @@ public record PropertyBookingDto(UUID id,
                                  OffsetDateTime dateCreated,
                                  OffsetDateTime startDate,
                                  OffsetDateTime endDate,
-                                 UUID propertyId) {
+                                 UUID propertyId,
+                                 long version) {
 
 }
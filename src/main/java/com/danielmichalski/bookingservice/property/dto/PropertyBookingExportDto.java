@@ -0,0 +1,18 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record PropertyBookingExportDto(UUID id,
+                                       UUID propertyId,
+                                       String guestFirstName,
+                                       String guestLastName,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       OffsetDateTime dateCreated,
+                                       OffsetDateTime dateUpdated,
+                                       OffsetDateTime dateCancelled,
+                                       long version) {
+
+}
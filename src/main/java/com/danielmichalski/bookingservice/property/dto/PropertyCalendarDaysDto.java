@@ -0,0 +1,15 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Days taken by bookings and by blocks as Base64 encoded little-endian bitsets, bit {@code i}
+ * (bit {@code i % 8} of byte {@code i / 8}) is day {@code from + i}. Trailing free days are not
+ * encoded.
+ */
+public record PropertyCalendarDaysDto(LocalDate from,
+                                      int days,
+                                      String booked,
+                                      String blocked) {
+
+}
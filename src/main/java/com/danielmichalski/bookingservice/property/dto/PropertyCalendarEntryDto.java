@@ -0,0 +1,14 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record PropertyCalendarEntryDto(UUID id,
+                                       CalendarEntryType type,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       String guestFirstName,
+                                       String guestLastName) {
+
+}
@@ -0,0 +1,13 @@
+package com.danielmichalski.bookingservice.property.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record PropertyCalendarQuery(UUID propertyId,
+                                    LocalDate from,
+                                    LocalDate to,
+                                    LocalDate afterStartDate,
+                                    UUID afterId,
+                                    int limit) {
+
+}
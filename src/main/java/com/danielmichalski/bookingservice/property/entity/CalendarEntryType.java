@@ -0,0 +1,6 @@
+package com.danielmichalski.bookingservice.property.entity;
+
+public enum CalendarEntryType {
+  BOOKING,
+  BLOCK
+}
@@ -9,6 +9,7 @@ public record PropertyBookingEntity(UUID id,
                                     OffsetDateTime dateCreated,
                                     OffsetDateTime startDate,
                                     OffsetDateTime endDate,
-                                    UUID propertyId) {
+                                    UUID propertyId,
+                                    long version) {
 
 }
@@ -0,0 +1,13 @@
+package com.danielmichalski.bookingservice.property.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record PropertyCalendarEntryEntity(UUID id,
+                                          CalendarEntryType type,
+                                          LocalDate startDate,
+                                          LocalDate endDate,
+                                          String guestFirstName,
+                                          String guestLastName) {
+
+}
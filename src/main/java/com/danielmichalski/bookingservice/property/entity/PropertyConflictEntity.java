@@ -0,0 +1,8 @@
+package com.danielmichalski.bookingservice.property.entity;
+
+import java.util.UUID;
+
+public record PropertyConflictEntity(CalendarEntryType type,
+                                     UUID id) {
+
+}
@@ -0,0 +1,95 @@
+package com.danielmichalski.bookingservice.property.lock;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serializes writes of a single property without a global lock.
+ *
+ * <p>Properties are spread over a fixed number of lock stripes, so writes of different properties
+ * only wait for each other when they happen to share a stripe. A lock is held until the current
+ * transaction completes, which keeps the availability check and the insert of one writer from
+ * interleaving with another writer of the same property.
+ *
+ * <p>Writers take the lock before their first statement. Connections are handed out lazily, so a
+ * writer waiting for a lock does not hold a pooled connection.
+ */
+@Component
+public class PropertyWriteLocks {
+
+  private final ReentrantLock[] stripes;
+
+  public PropertyWriteLocks(PropertyWriteLocksProperties properties) {
+    this.stripes = new ReentrantLock[ceilingPowerOfTwo(properties.stripes())];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  public void lockForTransaction(UUID propertyId) {
+    requireTransaction();
+
+    ReentrantLock lock = stripeFor(propertyId);
+    lock.lock();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        lock.unlock();
+      }
+    });
+  }
+
+  /**
+   * Locks the stripes of all given properties until the current transaction completes. Stripes are
+   * always acquired in ascending order, so two writers of overlapping sets of properties cannot
+   * deadlock each other.
+   */
+  public void lockAllForTransaction(Collection<UUID> propertyIds) {
+    requireTransaction();
+
+    int[] stripeIndexes = propertyIds.stream()
+        .mapToInt(this::stripeIndex)
+        .distinct()
+        .sorted()
+        .toArray();
+    for (int stripeIndex : stripeIndexes) {
+      stripes[stripeIndex].lock();
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        for (int i = stripeIndexes.length - 1; i >= 0; i--) {
+          stripes[stripeIndexes[i]].unlock();
+        }
+      }
+    });
+  }
+
+  int stripeCount() {
+    return stripes.length;
+  }
+
+  int stripeIndex(UUID propertyId) {
+    int hash = propertyId.hashCode();
+    return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+  }
+
+  private static void requireTransaction() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Property write lock requires an active transaction");
+    }
+  }
+
+  private ReentrantLock stripeFor(UUID propertyId) {
+    return stripes[stripeIndex(propertyId)];
+  }
+
+  private static int ceilingPowerOfTwo(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+
+}
@@ -0,0 +1,12 @@
+package com.danielmichalski.bookingservice.property.lock;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("booking.write-locks")
+public record PropertyWriteLocksProperties(@DefaultValue("1024") @Positive int stripes) {
+
+}
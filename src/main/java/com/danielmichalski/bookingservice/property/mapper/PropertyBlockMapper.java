@@ -14,7 +14,8 @@ public final class PropertyBlockMapper {
         entity.dateCreated(),
         entity.startDate(),
         entity.endDate(),
-        entity.propertyId()
+        entity.propertyId(),
+        entity.version()
     );
   }
 
@@ -1,7 +1,9 @@
 package com.danielmichalski.bookingservice.property.mapper;
 
 import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingExportDto;
 import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingExportEntity;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -16,7 +18,23 @@ public final class PropertyBookingMapper {
         entity.dateCreated(),
         entity.startDate(),
         entity.endDate(),
-        entity.propertyId()
+        entity.propertyId(),
+        entity.version()
+    );
+  }
+
+  public static PropertyBookingExportDto mapExportDto(PropertyBookingExportEntity entity) {
+    return new PropertyBookingExportDto(
+        entity.id(),
+        entity.propertyId(),
+        entity.guestFirstName(),
+        entity.guestLastName(),
+        entity.startDate(),
+        entity.endDate(),
+        entity.dateCreated(),
+        entity.dateUpdated(),
+        entity.dateCancelled(),
+        entity.version()
     );
   }
 
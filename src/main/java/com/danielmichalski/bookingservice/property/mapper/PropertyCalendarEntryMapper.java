@@ -0,0 +1,22 @@
+package com.danielmichalski.bookingservice.property.mapper;
+
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarEntryDto;
+import com.danielmichalski.bookingservice.property.entity.PropertyCalendarEntryEntity;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PropertyCalendarEntryMapper {
+
+  public static PropertyCalendarEntryDto mapCalendarEntryDto(PropertyCalendarEntryEntity entity) {
+    return new PropertyCalendarEntryDto(
+        entity.id(),
+        entity.type(),
+        entity.startDate(),
+        entity.endDate(),
+        entity.guestFirstName(),
+        entity.guestLastName()
+    );
+  }
+
+}
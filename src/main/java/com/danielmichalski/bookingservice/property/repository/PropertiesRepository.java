@@ -1,5 +1,8 @@
 package com.danielmichalski.bookingservice.property.repository;
 
+import com.danielmichalski.bookingservice.common.datasource.ReplicaRead;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -11,6 +14,19 @@ import org.springframework.stereotype.Repository;
 public interface PropertiesRepository {
 
   @Select("SELECT EXISTS(SELECT 1 FROM properties WHERE id=#{propertyId})")
+  @ReplicaRead
   boolean propertyExists(@Param("propertyId") UUID propertyId);
 
+  @Select("""
+          <script>
+          SELECT id FROM properties
+          WHERE id IN
+          <foreach collection="propertyIds" item="propertyId" open="(" separator="," close=")">
+              #{propertyId}
+          </foreach>
+          </script>
+      """)
+  @ReplicaRead
+  List<UUID> findExistingIds(@Param("propertyIds") Collection<UUID> propertyIds);
+
 }
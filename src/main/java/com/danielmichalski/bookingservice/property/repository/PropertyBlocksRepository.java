@@ -1,14 +1,17 @@
 package com.danielmichalski.bookingservice.property.repository;
 
+import com.danielmichalski.bookingservice.common.datasource.ReplicaRead;
 import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
-import java.time.OffsetDateTime;
+import java.time.LocalDate;
 import java.util.Optional;
 import java.util.UUID;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Repository;
 
 @Mapper
@@ -16,32 +19,27 @@ import org.springframework.stereotype.Repository;
 public interface PropertyBlocksRepository {
 
   @Select("""
-          SELECT id, date_created, start_date, end_date, property_id
+          SELECT id, date_created, start_date, end_date, property_id, version
           FROM property_blocks
           WHERE id = #{blockId}
+              AND property_id = #{propertyId}
               AND date_deleted IS NULL
       """)
-  Optional<PropertyBlockEntity> findById(@Param("blockId") UUID blockId);
+  @ReplicaRead
+  Optional<PropertyBlockEntity> findById(@Param("propertyId") UUID propertyId, @Param("blockId") UUID blockId);
 
   @Select("""
-          SELECT EXISTS(
-              SELECT 1 FROM property_blocks
-              WHERE property_id = #{propertyId}
-                  AND date_deleted IS NULL
-                  AND (
-                      #{startDate} BETWEEN start_date AND end_date
-                      OR #{endDate} BETWEEN start_date AND end_date
-                      OR start_date BETWEEN #{startDate} AND #{endDate}
-                  )
-          )
+          SELECT id, date_created, start_date, end_date, property_id, version
+          FROM property_blocks
+          WHERE date_deleted IS NULL
+              AND end_date >= #{from}
       """)
-  boolean blockExistsWithinRange(@Param("propertyId") UUID propertyId,
-                                 @Param("startDate") OffsetDateTime startDate,
-                                 @Param("endDate") OffsetDateTime endDate);
+  @ResultType(PropertyBlockEntity.class)
+  void findAllUpcoming(@Param("from") LocalDate from, ResultHandler<PropertyBlockEntity> resultHandler);
 
   @Insert("""
-          INSERT INTO property_blocks (id, date_created, start_date, end_date, property_id)
-          VALUES (#{id}, #{dateCreated}, #{startDate}, #{endDate}, #{propertyId})
+          INSERT INTO property_blocks (id, date_created, start_date, end_date, property_id, version)
+          VALUES (#{id}, #{dateCreated}, #{startDate}, #{endDate}, #{propertyId}, #{version})
       """)
   void blockProperty(PropertyBlockEntity propertyBlockEntity);
 
@@ -49,11 +47,14 @@ public interface PropertyBlocksRepository {
           UPDATE property_blocks
           SET start_date = #{startDate},
               end_date = #{endDate},
-              date_updated = NOW()
+              date_updated = NOW(),
+              version = version + 1
           WHERE id = #{id}
+              AND property_id = #{propertyId}
+              AND version = #{version}
               AND date_deleted IS NULL
       """)
-  void updateBlock(PropertyBlockEntity updatedEntity);
+  boolean updateBlock(PropertyBlockEntity updatedEntity);
 
   @Update("""
           UPDATE property_blocks
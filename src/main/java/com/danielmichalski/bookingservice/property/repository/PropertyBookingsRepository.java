@@ -1,14 +1,25 @@
 package com.danielmichalski.bookingservice.property.repository;
 
+import com.danielmichalski.bookingservice.common.datasource.ReplicaRead;
+import com.danielmichalski.bookingservice.property.dto.BookingExportQuery;
 import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingExportEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyConflictEntity;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Repository;
 
 @Mapper
@@ -16,49 +27,140 @@ import org.springframework.stereotype.Repository;
 public interface PropertyBookingsRepository {
 
   @Select("""
-          SELECT id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id
+          SELECT id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id, version
           FROM property_bookings
           WHERE id = #{bookingId}
+              AND property_id = #{propertyId}
               AND date_deleted IS NULL
       """)
-  Optional<PropertyBookingEntity> findById(@Param("bookingId") UUID bookingId);
+  @ReplicaRead
+  Optional<PropertyBookingEntity> findById(@Param("propertyId") UUID propertyId, @Param("bookingId") UUID bookingId);
+
+  @Select("""
+          SELECT id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id, version
+          FROM property_bookings
+          WHERE date_deleted IS NULL
+              AND end_date >= #{from}
+      """)
+  @ResultType(PropertyBookingEntity.class)
+  void findAllUpcoming(@Param("from") LocalDate from, ResultHandler<PropertyBookingEntity> resultHandler);
+
+  /**
+   * Streams the bookings matching the export query, including the ones already moved to the
+   * archive table, ordered by start date. The order is applied to the union of both tables, so the
+   * database sorts all matching rows before the first one is streamed. Filtering by property or by
+   * a date window keeps that sort small, an unfiltered export sorts both tables as a whole.
+   */
+  @Select("""
+          <script>
+          SELECT id, property_id, guest_first_name, guest_last_name, start_date, end_date,
+              date_created, date_updated, date_deleted, version
+          FROM (
+              SELECT id, property_id, guest_first_name, guest_last_name, start_date, end_date,
+                  date_created, date_updated, date_deleted, version
+              FROM property_bookings
+              <where>
+                  <if test="propertyId != null">property_id = #{propertyId}</if>
+                  <if test="!includeCancelled">AND date_deleted IS NULL</if>
+                  <if test="from != null">AND end_date &gt;= #{from}</if>
+                  <if test="to != null">AND start_date &lt;= #{to}</if>
+              </where>
+              UNION ALL
+              SELECT id, property_id, guest_first_name, guest_last_name, start_date, end_date,
+                  date_created, date_updated, date_deleted, version
+              FROM property_bookings_archive
+              <where>
+                  <if test="propertyId != null">property_id = #{propertyId}</if>
+                  <if test="!includeCancelled">AND date_deleted IS NULL</if>
+                  <if test="from != null">AND end_date &gt;= #{from}</if>
+                  <if test="to != null">AND start_date &lt;= #{to}</if>
+              </where>
+          ) bookings
+          ORDER BY start_date, id
+          </script>
+      """)
+  @Options(fetchSize = 5000, resultSetType = ResultSetType.FORWARD_ONLY)
+  Cursor<PropertyBookingExportEntity> findBookingsForExport(BookingExportQuery query);
 
+  /**
+   * Finds a live booking or block overlapping the given range, checking both tables in a single
+   * round-trip. Returns the earliest conflicting entry. The entry with the excluded id, e.g. the
+   * one being updated, is ignored, pass {@code null} to check all entries.
+   */
   @Select("""
-          SELECT EXISTS(
-              SELECT 1 FROM property_bookings
+          <script>
+          SELECT type, id
+          FROM (
+              (SELECT 'BOOKING' AS type, id, start_date
+              FROM property_bookings
               WHERE property_id = #{propertyId}
                   AND date_deleted IS NULL
-                  AND (
-                      #{startDate} BETWEEN start_date AND end_date
-                      OR #{endDate} BETWEEN start_date AND end_date
-                      OR start_date BETWEEN #{startDate} AND #{endDate}
-                  )
-          )
+                  AND start_date &lt;= #{endDate}
+                  AND end_date &gt;= #{startDate}
+                  <if test="excludedId != null">
+                      AND id &lt;&gt; #{excludedId}
+                  </if>
+              ORDER BY start_date
+              LIMIT 1)
+              UNION ALL
+              (SELECT 'BLOCK' AS type, id, start_date
+              FROM property_blocks
+              WHERE property_id = #{propertyId}
+                  AND date_deleted IS NULL
+                  AND start_date &lt;= #{endDate}
+                  AND end_date &gt;= #{startDate}
+                  <if test="excludedId != null">
+                      AND id &lt;&gt; #{excludedId}
+                  </if>
+              ORDER BY start_date
+              LIMIT 1)
+          ) conflicts
+          ORDER BY start_date
+          LIMIT 1
+          </script>
       """)
-  boolean bookingExistsWithinRange(@Param("propertyId") UUID propertyId,
-                                   @Param("startDate") OffsetDateTime startDate,
-                                   @Param("endDate") OffsetDateTime endDate);
+  Optional<PropertyConflictEntity> findConflictExcluding(@Param("propertyId") UUID propertyId,
+                                                         @Param("startDate") OffsetDateTime startDate,
+                                                         @Param("endDate") OffsetDateTime endDate,
+                                                         @Param("excludedId") UUID excludedId);
 
   @Insert("""
           INSERT INTO property_bookings
-              (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id)
+              (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id, version)
           VALUES
               (#{id}, #{guestFirstName}, #{guestLastName}, #{dateCreated}, #{startDate}, #{endDate},
-               #{propertyId})
+               #{propertyId}, #{version})
       """)
   void bookProperty(PropertyBookingEntity propertyBookingEntity);
 
+  @Insert("""
+          <script>
+          INSERT INTO property_bookings
+              (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id, version)
+          VALUES
+          <foreach collection="bookings" item="booking" separator=",">
+              (#{booking.id}, #{booking.guestFirstName}, #{booking.guestLastName}, #{booking.dateCreated},
+               #{booking.startDate}, #{booking.endDate}, #{booking.propertyId},
+               #{booking.version})
+          </foreach>
+          </script>
+      """)
+  void bookProperties(@Param("bookings") List<PropertyBookingEntity> propertyBookingEntities);
+
   @Update("""
           UPDATE property_bookings
           SET guest_first_name = #{guestFirstName},
               guest_last_name = #{guestLastName},
               start_date = #{startDate},
               end_date = #{endDate},
-              date_updated = NOW()
+              date_updated = NOW(),
+              version = version + 1
           WHERE id = #{id}
+              AND property_id = #{propertyId}
+              AND version = #{version}
               AND date_deleted IS NULL
       """)
-  void updateBooking(PropertyBookingEntity propertyBookingEntity);
+  boolean updateBooking(PropertyBookingEntity propertyBookingEntity);
 
   @Update("""
           UPDATE property_bookings
@@ -0,0 +1,85 @@
+package com.danielmichalski.bookingservice.property.repository;
+
+import com.danielmichalski.bookingservice.common.datasource.ReplicaRead;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarQuery;
+import com.danielmichalski.bookingservice.property.entity.PropertyCalendarEntryEntity;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Repository;
+
+@Mapper
+@Repository
+public interface PropertyCalendarRepository {
+
+  @Select("""
+          <script>
+          SELECT id, type, start_date, end_date, guest_first_name, guest_last_name
+          FROM (
+              SELECT id, 'BOOKING' AS type, start_date, end_date, guest_first_name, guest_last_name
+              FROM property_bookings
+              WHERE property_id = #{propertyId}
+                  AND date_deleted IS NULL
+                  AND start_date &lt;= #{to}
+                  AND end_date &gt;= #{from}
+                  <if test="afterStartDate != null">
+                      AND (start_date, id) &gt; (#{afterStartDate}, #{afterId})
+                  </if>
+              UNION ALL
+              SELECT id, 'BLOCK' AS type, start_date, end_date, NULL AS guest_first_name, NULL AS guest_last_name
+              FROM property_blocks
+              WHERE property_id = #{propertyId}
+                  AND date_deleted IS NULL
+                  AND start_date &lt;= #{to}
+                  AND end_date &gt;= #{from}
+                  <if test="afterStartDate != null">
+                      AND (start_date, id) &gt; (#{afterStartDate}, #{afterId})
+                  </if>
+          ) calendar_entries
+          ORDER BY start_date, id
+          LIMIT #{limit}
+          </script>
+      """)
+  @Options(fetchSize = 500)
+  @ReplicaRead
+  Cursor<PropertyCalendarEntryEntity> findCalendarEntries(PropertyCalendarQuery query);
+
+  /**
+   * Returns those of the given properties that have a live booking or block overlapping the range,
+   * checking all of them in a single round-trip.
+   */
+  @Select("""
+          <script>
+          SELECT property_id
+          FROM property_bookings
+          WHERE property_id IN
+              <foreach collection="propertyIds" item="propertyId" open="(" separator="," close=")">
+                  #{propertyId}
+              </foreach>
+              AND date_deleted IS NULL
+              AND start_date &lt;= #{endDate}
+              AND end_date &gt;= #{startDate}
+          UNION
+          SELECT property_id
+          FROM property_blocks
+          WHERE property_id IN
+              <foreach collection="propertyIds" item="propertyId" open="(" separator="," close=")">
+                  #{propertyId}
+              </foreach>
+              AND date_deleted IS NULL
+              AND start_date &lt;= #{endDate}
+              AND end_date &gt;= #{startDate}
+          </script>
+      """)
+  @ReplicaRead
+  List<UUID> findUnavailablePropertyIds(@Param("propertyIds") Collection<UUID> propertyIds,
+                                        @Param("startDate") OffsetDateTime startDate,
+                                        @Param("endDate") OffsetDateTime endDate);
+
+}
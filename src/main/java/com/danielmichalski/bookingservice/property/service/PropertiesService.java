@@ -1,7 +1,16 @@
 package com.danielmichalski.bookingservice.property.service;
 
-import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
 import com.danielmichalski.bookingservice.property.repository.PropertiesRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,11 +20,49 @@ import org.springframework.stereotype.Service;
 public class PropertiesService {
 
   private final PropertiesRepository propertiesRepository;
+  private final Cache<UUID, Boolean> propertyExistsCache;
+  private final ValidationMetrics validationMetrics;
 
   public void validatePropertyExists(UUID propertyId) {
-    if (!propertiesRepository.propertyExists(propertyId)) {
-      throw new NotFoundException("Property not found");
+    checkPropertyExists(propertyId).throwIfInvalid();
+  }
+
+  public ValidationResult checkPropertyExists(UUID propertyId) {
+    if (!propertyExistsCache.get(propertyId, propertiesRepository::propertyExists)) {
+      validationMetrics.validationFailed(ValidationFailureReason.MISSING_PROPERTY);
+      return ValidationResult.notFound("Property not found");
+    }
+    return ValidationResult.valid();
+  }
+
+  public Set<UUID> findExistingPropertyIds(Collection<UUID> propertyIds) {
+    if (propertyIds.isEmpty()) {
+      return Set.of();
     }
+
+    Set<UUID> existingPropertyIds = new HashSet<>();
+    propertyExistsCache.getAll(propertyIds, this::loadPropertiesExistence)
+        .forEach((propertyId, exists) -> {
+          if (exists) {
+            existingPropertyIds.add(propertyId);
+          }
+        });
+    return existingPropertyIds;
+  }
+
+  public void evictProperty(UUID propertyId) {
+    propertyExistsCache.invalidate(propertyId);
+  }
+
+  public void evictAllProperties() {
+    propertyExistsCache.invalidateAll();
+  }
+
+  private Map<UUID, Boolean> loadPropertiesExistence(Set<? extends UUID> propertyIds) {
+    Set<UUID> existingPropertyIds = new HashSet<>(propertiesRepository.findExistingIds(List.copyOf(propertyIds)));
+    Map<UUID, Boolean> existence = new HashMap<>();
+    propertyIds.forEach(propertyId -> existence.put(propertyId, existingPropertyIds.contains(propertyId)));
+    return existence;
   }
 
 }
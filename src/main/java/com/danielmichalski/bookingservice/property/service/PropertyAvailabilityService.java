@@ -0,0 +1,56 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import com.danielmichalski.bookingservice.config.metrics.MetricsConfig;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityRequest;
+import com.danielmichalski.bookingservice.property.repository.PropertyCalendarRepository;
+import com.danielmichalski.bookingservice.property.validator.DateValidator;
+import io.micrometer.core.annotation.Timed;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class PropertyAvailabilityService {
+
+  private final PropertiesService propertiesService;
+  private final PropertyAvailabilityIndex propertyAvailabilityIndex;
+  private final PropertyCalendarRepository propertyCalendarRepository;
+  private final DateValidator dateValidator;
+
+  /**
+   * Returns the requested properties that exist and are free for the whole range, in request order.
+   * Answered from the availability index when it holds the whole range, otherwise with one query
+   * for all properties.
+   */
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+  public PropertyAvailabilityDto findAvailableProperties(PropertyAvailabilityRequest request) {
+    dateValidator.validateStartDateBeforeEndDate(request.startDate(), request.endDate());
+
+    Set<UUID> requestedIds = new LinkedHashSet<>(request.propertyIds());
+    Set<UUID> existingIds = propertiesService.findExistingPropertyIds(requestedIds);
+    requestedIds.retainAll(existingIds);
+    if (requestedIds.isEmpty()) {
+      return new PropertyAvailabilityDto(List.of());
+    }
+
+    if (propertyAvailabilityIndex.covers(request.startDate())) {
+      requestedIds.removeIf(propertyId ->
+          propertyAvailabilityIndex.overlaps(propertyId, request.startDate(), request.endDate()));
+    } else {
+      requestedIds.removeAll(new HashSet<>(propertyCalendarRepository.findUnavailablePropertyIds(
+          requestedIds,
+          request.startDate(),
+          request.endDate()
+      )));
+    }
+    return new PropertyAvailabilityDto(List.copyOf(requestedIds));
+  }
+
+}
@@ -2,13 +2,22 @@ package com.danielmichalski.bookingservice.property.service;
 
 import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
 import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import com.danielmichalski.bookingservice.common.exception.PreconditionFailedException;
+import com.danielmichalski.bookingservice.common.id.IdGenerator;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventType;
+import com.danielmichalski.bookingservice.common.outbox.OutboxService;
+import com.danielmichalski.bookingservice.config.metrics.MetricsConfig;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
 import com.danielmichalski.bookingservice.property.dto.BlockPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.PropertyBlockDto;
 import com.danielmichalski.bookingservice.property.dto.UpdateBlockRequest;
 import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.lock.PropertyWriteLocks;
 import com.danielmichalski.bookingservice.property.mapper.PropertyBlockMapper;
 import com.danielmichalski.bookingservice.property.repository.PropertyBlocksRepository;
 import com.danielmichalski.bookingservice.property.validator.PropertyBlocksValidator;
+import io.micrometer.core.annotation.Timed;
+import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -19,52 +28,92 @@ import org.springframework.transaction.annotation.Transactional;
 public class PropertyBlocksService {
 
   private final PropertyBlocksRepository propertyBlocksRepository;
+  private final PropertiesService propertiesService;
   private final CurrentDateTimeService currentDateTimeService;
+  private final IdGenerator idGenerator;
   private final PropertyBlocksValidator propertyBlocksValidator;
+  private final PropertyAvailabilityIndex propertyAvailabilityIndex;
+  private final PropertyWriteLocks propertyWriteLocks;
+  private final OutboxService outboxService;
 
   @Transactional
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
   public PropertyBlockDto blockProperty(UUID propertyId, BlockPropertyRequest request) {
+    propertyWriteLocks.lockForTransaction(propertyId);
     propertyBlocksValidator.validateBlock(propertyId, request.startDate(), request.endDate());
 
-    UUID blockId = UUID.randomUUID();
+    UUID blockId = idGenerator.generateId();
     PropertyBlockEntity propertyBlockEntity = new PropertyBlockEntity(
         blockId,
         currentDateTimeService.currentDateTime(),
         request.startDate(),
         request.endDate(),
-        propertyId
+        propertyId,
+        0
     );
 
     propertyBlocksRepository.blockProperty(propertyBlockEntity);
+    propertyAvailabilityIndex.blockSaved(propertyBlockEntity);
 
-    return PropertyBlockMapper.mapTaskDto(propertyBlockEntity);
+    PropertyBlockDto block = PropertyBlockMapper.mapTaskDto(propertyBlockEntity);
+    outboxService.append(propertyId, OutboxEventType.BLOCK_CREATED, blockId, block);
+    return block;
   }
 
   @Transactional
-  public void updateBlock(UUID propertyId, UUID blockId, UpdateBlockRequest request) {
-    propertyBlocksValidator.validateBlock(propertyId, request.startDate(), request.endDate());
-
-    PropertyBlockEntity originalEntity = propertyBlocksRepository.findById(blockId)
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+  public long updateBlock(UUID propertyId, UUID blockId, Long expectedVersion, UpdateBlockRequest request) {
+    propertyWriteLocks.lockForTransaction(propertyId);
+    propertiesService.validatePropertyExists(propertyId);
+    PropertyBlockEntity originalEntity = propertyBlocksRepository.findById(propertyId, blockId)
         .orElseThrow(() -> new NotFoundException("Property block not found"));
+    if (expectedVersion != null && expectedVersion != originalEntity.version()) {
+      throw new PreconditionFailedException("Property block was modified by another request");
+    }
+    propertyBlocksValidator.validateBlockUpdate(propertyId, blockId, request.startDate(), request.endDate());
 
     PropertyBlockEntity updatedEntity = new PropertyBlockEntity(
         originalEntity.id(),
         originalEntity.dateCreated(),
         request.startDate(),
         request.endDate(),
-        originalEntity.propertyId()
+        propertyId,
+        originalEntity.version()
+    );
+
+    if (!propertyBlocksRepository.updateBlock(updatedEntity)) {
+      throw new PreconditionFailedException("Property block was modified by another request");
+    }
+    PropertyBlockEntity storedEntity = propertyBlocksRepository.findById(propertyId, blockId)
+        .orElseThrow(() -> new NotFoundException("Property block not found"));
+    propertyAvailabilityIndex.blockSaved(storedEntity);
+    outboxService.append(
+        propertyId,
+        OutboxEventType.BLOCK_UPDATED,
+        storedEntity.id(),
+        PropertyBlockMapper.mapTaskDto(storedEntity)
     );
 
-    propertyBlocksRepository.updateBlock(updatedEntity);
+    return storedEntity.version();
   }
 
   @Transactional
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
   public void cancelBlock(UUID propertyId, UUID blockId) {
+    propertyWriteLocks.lockForTransaction(propertyId);
     boolean blockCanceled = propertyBlocksRepository.cancelBlock(propertyId, blockId);
 
     if (!blockCanceled) {
       throw new NotFoundException("Property block not found");
     }
+
+    propertyAvailabilityIndex.intervalRemoved(propertyId, blockId);
+    outboxService.append(
+        propertyId,
+        OutboxEventType.BLOCK_CANCELLED,
+        blockId,
+        Map.of("id", blockId, "propertyId", propertyId)
+    );
   }
 
 }
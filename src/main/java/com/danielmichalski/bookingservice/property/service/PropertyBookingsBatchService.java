@@ -0,0 +1,161 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import com.danielmichalski.bookingservice.common.id.IdGenerator;
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.outbox.NewOutboxEvent;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventType;
+import com.danielmichalski.bookingservice.common.outbox.OutboxService;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.config.metrics.MetricsConfig;
+import com.danielmichalski.bookingservice.property.availability.AvailabilityInterval;
+import com.danielmichalski.bookingservice.property.availability.IntervalType;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyItem;
+import com.danielmichalski.bookingservice.property.dto.BatchBookingResultDto;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.lock.PropertyWriteLocks;
+import com.danielmichalski.bookingservice.property.mapper.PropertyBookingMapper;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import com.danielmichalski.bookingservice.property.validator.PropertyBookingsValidator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class PropertyBookingsBatchService {
+
+  static final String BATCH_OVERLAP_ERROR = "Bookings cannot overlap with other bookings in the same batch";
+
+  private final PropertyBookingsRepository propertyBookingsRepository;
+  private final CurrentDateTimeService currentDateTimeService;
+  private final IdGenerator idGenerator;
+  private final PropertiesService propertiesService;
+  private final PropertyBookingsValidator propertyBookingsValidator;
+  private final PropertyAvailabilityIndex propertyAvailabilityIndex;
+  private final PropertyWriteLocks propertyWriteLocks;
+  private final Validator validator;
+  private final ValidationMetrics validationMetrics;
+  private final OutboxService outboxService;
+
+  /**
+   * Books all items in one transaction. Items are checked against stored bookings and blocks as
+   * well as against the items accepted before them, every rejected item is reported with its
+   * reason and does not prevent the remaining items from being booked.
+   */
+  @Transactional
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+  public List<BatchBookingResultDto> bookProperties(List<BatchBookPropertyItem> items) {
+    Set<UUID> propertyIds = items.stream()
+        .map(BatchBookPropertyItem::propertyId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    propertyWriteLocks.lockAllForTransaction(propertyIds);
+    Set<UUID> existingPropertyIds = propertiesService.findExistingPropertyIds(propertyIds);
+
+    OffsetDateTime dateCreated = currentDateTimeService.currentDateTime();
+    Map<UUID, List<AvailabilityInterval>> acceptedByProperty = new HashMap<>();
+    List<PropertyBookingEntity> accepted = new ArrayList<>();
+    List<BatchBookingResultDto> results = new ArrayList<>(items.size());
+
+    for (int index = 0; index < items.size(); index++) {
+      BatchBookPropertyItem item = items.get(index);
+      String error = findError(item, existingPropertyIds, acceptedByProperty);
+      if (error != null) {
+        results.add(BatchBookingResultDto.rejected(index, error));
+        continue;
+      }
+
+      BookPropertyRequest request = item.booking();
+      PropertyBookingEntity propertyBookingEntity = new PropertyBookingEntity(
+          idGenerator.generateId(),
+          request.guestFirstName(),
+          request.guestLastName(),
+          dateCreated,
+          request.startDate(),
+          request.endDate(),
+          item.propertyId(),
+          0
+      );
+      acceptedByProperty.computeIfAbsent(item.propertyId(), id -> new ArrayList<>())
+          .add(AvailabilityInterval.of(
+              propertyBookingEntity.id(),
+              IntervalType.BOOKING,
+              propertyBookingEntity.startDate(),
+              propertyBookingEntity.endDate()
+          ));
+      accepted.add(propertyBookingEntity);
+      results.add(BatchBookingResultDto.created(index, PropertyBookingMapper.mapTaskDto(propertyBookingEntity)));
+    }
+
+    if (!accepted.isEmpty()) {
+      propertyBookingsRepository.bookProperties(accepted);
+      accepted.forEach(propertyAvailabilityIndex::bookingSaved);
+      outboxService.appendAll(accepted.stream().map(PropertyBookingsBatchService::createdEvent).toList());
+    }
+
+    return results;
+  }
+
+  private static NewOutboxEvent createdEvent(PropertyBookingEntity booking) {
+    return new NewOutboxEvent(
+        booking.propertyId(),
+        OutboxEventType.BOOKING_CREATED,
+        booking.id(),
+        PropertyBookingMapper.mapTaskDto(booking)
+    );
+  }
+
+  private String findError(BatchBookPropertyItem item,
+                           Set<UUID> existingPropertyIds,
+                           Map<UUID, List<AvailabilityInterval>> acceptedByProperty) {
+    Set<ConstraintViolation<BatchBookPropertyItem>> violations = validator.validate(item);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining(", "));
+    }
+
+    if (!existingPropertyIds.contains(item.propertyId())) {
+      validationMetrics.validationFailed(ValidationFailureReason.MISSING_PROPERTY);
+      return "Property not found";
+    }
+
+    BookPropertyRequest request = item.booking();
+    ValidationResult validationResult = propertyBookingsValidator.checkBookingOfExistingProperty(
+        item.propertyId(),
+        request.startDate(),
+        request.endDate()
+    );
+    if (!validationResult.isValid()) {
+      return validationResult.message();
+    }
+
+    boolean overlapsAccepted = acceptedByProperty.getOrDefault(item.propertyId(), List.of())
+        .stream()
+        .anyMatch(interval -> interval.overlaps(request.startDate(), request.endDate()));
+    if (overlapsAccepted) {
+      validationMetrics.validationFailed(ValidationFailureReason.OVERLAP);
+      return BATCH_OVERLAP_ERROR;
+    }
+
+    return null;
+  }
+
+}
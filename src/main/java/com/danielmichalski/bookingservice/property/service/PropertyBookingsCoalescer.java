@@ -0,0 +1,183 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyItem;
+import com.danielmichalski.bookingservice.property.dto.BatchBookingResultDto;
+import com.danielmichalski.bookingservice.property.dto.BatchBookingStatus;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.validator.DateValidator;
+import com.danielmichalski.bookingservice.property.validator.PropertyConflictChecker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Groups concurrent bookings of the same property into one transaction.
+ *
+ * <p>The first caller of an idle property becomes the leader and books its request right away.
+ * Callers arriving while a batch of the property is in flight are queued, and once that batch is
+ * committed the oldest of them leads the next batch with everything queued so far. Queued requests
+ * are checked against each other in memory and the accepted ones are inserted together by
+ * {@link PropertyBookingsBatchService}, every caller gets its own booking or rejection.
+ *
+ * <p>Callers already running in a transaction, e.g. together with an idempotency key, book
+ * directly, so their booking commits or rolls back with the rest of their transaction.
+ */
+@Service
+public class PropertyBookingsCoalescer {
+
+  public static final String BATCH_SIZE = "booking.coalescing.batch.size";
+
+  private final PropertyBookingsService propertyBookingsService;
+  private final PropertyBookingsBatchService propertyBookingsBatchService;
+  private final PropertiesService propertiesService;
+  private final DateValidator dateValidator;
+  private final PropertyBookingsCoalescingProperties properties;
+  private final DistributionSummary batchSize;
+  private final ConcurrentMap<UUID, Deque<PendingBooking>> queues = new ConcurrentHashMap<>();
+
+  public PropertyBookingsCoalescer(PropertyBookingsService propertyBookingsService,
+                                   PropertyBookingsBatchService propertyBookingsBatchService,
+                                   PropertiesService propertiesService,
+                                   DateValidator dateValidator,
+                                   PropertyBookingsCoalescingProperties properties,
+                                   MeterRegistry meterRegistry) {
+    this.propertyBookingsService = propertyBookingsService;
+    this.propertyBookingsBatchService = propertyBookingsBatchService;
+    this.propertiesService = propertiesService;
+    this.dateValidator = dateValidator;
+    this.properties = properties;
+    this.batchSize = DistributionSummary.builder(BATCH_SIZE)
+        .description("Bookings of one property committed in a single transaction")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  public PropertyBookingDto bookProperty(UUID propertyId, BookPropertyRequest request) {
+    if (!properties.enabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return propertyBookingsService.bookProperty(propertyId, request);
+    }
+
+    dateValidator.validateStartDateBeforeEndDate(request.startDate(), request.endDate());
+    propertiesService.validatePropertyExists(propertyId);
+
+    PendingBooking pending = new PendingBooking(new BatchBookPropertyItem(propertyId, request));
+    boolean leader = enqueue(propertyId, pending);
+    if (leader || pending.awaitTurn()) {
+      bookQueued(propertyId);
+    }
+    return pending.booking();
+  }
+
+  int queuedBookings(UUID propertyId) {
+    int[] queued = new int[1];
+    queues.computeIfPresent(propertyId, (id, queue) -> {
+      queued[0] = queue.size();
+      return queue;
+    });
+    return queued[0];
+  }
+
+  private boolean enqueue(UUID propertyId, PendingBooking pending) {
+    boolean[] leader = new boolean[1];
+    queues.compute(propertyId, (id, queue) -> {
+      Deque<PendingBooking> current = queue;
+      if (current == null) {
+        current = new ArrayDeque<>();
+        leader[0] = true;
+      }
+      current.addLast(pending);
+      return current;
+    });
+    return leader[0];
+  }
+
+  private void bookQueued(UUID propertyId) {
+    if (!properties.linger().isZero()) {
+      LockSupport.parkNanos(properties.linger().toNanos());
+    }
+
+    List<PendingBooking> batch = new ArrayList<>();
+    queues.computeIfPresent(propertyId, (id, queue) -> {
+      while (!queue.isEmpty() && batch.size() < properties.maxBatchSize()) {
+        batch.add(queue.pollFirst());
+      }
+      return queue;
+    });
+
+    try {
+      List<BatchBookingResultDto> results = propertyBookingsBatchService.bookProperties(
+          batch.stream().map(PendingBooking::item).toList());
+      batchSize.record(batch.size());
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result().complete(results.get(i));
+      }
+    } catch (RuntimeException | Error exception) {
+      batch.forEach(pending -> pending.result().completeExceptionally(exception));
+    } finally {
+      handOver(propertyId);
+    }
+  }
+
+  private void handOver(UUID propertyId) {
+    PendingBooking[] next = new PendingBooking[1];
+    queues.compute(propertyId, (id, queue) -> {
+      if (queue == null || queue.isEmpty()) {
+        return null;
+      }
+      next[0] = queue.peekFirst();
+      return queue;
+    });
+    if (next[0] != null) {
+      next[0].turn().complete(null);
+    }
+  }
+
+  private record PendingBooking(BatchBookPropertyItem item,
+                                CompletableFuture<BatchBookingResultDto> result,
+                                CompletableFuture<Void> turn) {
+
+    PendingBooking(BatchBookPropertyItem item) {
+      this(item, new CompletableFuture<>(), new CompletableFuture<>());
+    }
+
+    /**
+     * Waits until the booking was processed by another leader or until this caller has to lead
+     * the next batch, returns true in the latter case.
+     */
+    boolean awaitTurn() {
+      CompletableFuture.anyOf(result, turn).join();
+      return !result.isDone();
+    }
+
+    PropertyBookingDto booking() {
+      if (result.isCompletedExceptionally() && result.exceptionNow() instanceof RuntimeException exception) {
+        throw exception;
+      }
+      BatchBookingResultDto batchResult = result.join();
+      if (batchResult.status() != BatchBookingStatus.CREATED) {
+        // Dates and the property were checked before queueing, what is left is an overlap. An
+        // overlap with a booking queued earlier is reported like one with a stored booking.
+        if (PropertyBookingsBatchService.BATCH_OVERLAP_ERROR.equals(batchResult.error())) {
+          throw new ConflictException(
+              PropertyConflictChecker.overlapMessage(CalendarEntryType.BOOKING, CalendarEntryType.BOOKING));
+        }
+        throw new ConflictException(batchResult.error());
+      }
+      return batchResult.booking();
+    }
+  }
+
+}
@@ -0,0 +1,16 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("booking.coalescing")
+public record PropertyBookingsCoalescingProperties(@DefaultValue("true") boolean enabled,
+                                                   @DefaultValue("256") @Positive int maxBatchSize,
+                                                   @DefaultValue("0ms") @NotNull Duration linger) {
+
+}
@@ -0,0 +1,44 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import com.danielmichalski.bookingservice.config.metrics.MetricsConfig;
+import com.danielmichalski.bookingservice.property.dto.BookingExportQuery;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingExportDto;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingExportEntity;
+import com.danielmichalski.bookingservice.property.mapper.PropertyBookingMapper;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import com.danielmichalski.bookingservice.property.validator.PropertyBookingsValidator;
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class PropertyBookingsExportService {
+
+  private final PropertyBookingsRepository propertyBookingsRepository;
+  private final PropertyBookingsValidator propertyBookingsValidator;
+
+  public void validateExportQuery(BookingExportQuery query) {
+    propertyBookingsValidator.validateExportQuery(query);
+  }
+
+  /**
+   * Passes the exported bookings to the consumer one by one while they are read from the
+   * database, so memory use does not depend on the number of exported rows.
+   */
+  @Transactional(readOnly = true)
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+  public void forEachExportedBooking(BookingExportQuery query, Consumer<PropertyBookingExportDto> consumer) {
+    try (Cursor<PropertyBookingExportEntity> cursor = propertyBookingsRepository.findBookingsForExport(query)) {
+      cursor.forEach(entity -> consumer.accept(PropertyBookingMapper.mapExportDto(entity)));
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+}
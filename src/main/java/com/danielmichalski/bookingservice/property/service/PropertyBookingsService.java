@@ -2,13 +2,22 @@ package com.danielmichalski.bookingservice.property.service;
 
 import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
 import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import com.danielmichalski.bookingservice.common.exception.PreconditionFailedException;
+import com.danielmichalski.bookingservice.common.id.IdGenerator;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventType;
+import com.danielmichalski.bookingservice.common.outbox.OutboxService;
+import com.danielmichalski.bookingservice.config.metrics.MetricsConfig;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
 import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
 import com.danielmichalski.bookingservice.property.dto.UpdateBookingRequest;
 import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.lock.PropertyWriteLocks;
 import com.danielmichalski.bookingservice.property.mapper.PropertyBookingMapper;
 import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
 import com.danielmichalski.bookingservice.property.validator.PropertyBookingsValidator;
+import io.micrometer.core.annotation.Timed;
+import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -19,14 +28,21 @@ import org.springframework.transaction.annotation.Transactional;
 public class PropertyBookingsService {
 
   private final PropertyBookingsRepository propertyBookingsRepository;
+  private final PropertiesService propertiesService;
   private final CurrentDateTimeService currentDateTimeService;
+  private final IdGenerator idGenerator;
   private final PropertyBookingsValidator propertyBookingsValidator;
+  private final PropertyAvailabilityIndex propertyAvailabilityIndex;
+  private final PropertyWriteLocks propertyWriteLocks;
+  private final OutboxService outboxService;
 
   @Transactional
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
   public PropertyBookingDto bookProperty(UUID propertyId, BookPropertyRequest request) {
+    propertyWriteLocks.lockForTransaction(propertyId);
     propertyBookingsValidator.validateBooking(propertyId, request.startDate(), request.endDate());
 
-    UUID bookingId = UUID.randomUUID();
+    UUID bookingId = idGenerator.generateId();
     PropertyBookingEntity propertyBookingEntity = new PropertyBookingEntity(
         bookingId,
         request.guestFirstName(),
@@ -34,20 +50,29 @@ public class PropertyBookingsService {
         currentDateTimeService.currentDateTime(),
         request.startDate(),
         request.endDate(),
-        propertyId
+        propertyId,
+        0
     );
 
     propertyBookingsRepository.bookProperty(propertyBookingEntity);
+    propertyAvailabilityIndex.bookingSaved(propertyBookingEntity);
 
-    return PropertyBookingMapper.mapTaskDto(propertyBookingEntity);
+    PropertyBookingDto booking = PropertyBookingMapper.mapTaskDto(propertyBookingEntity);
+    outboxService.append(propertyId, OutboxEventType.BOOKING_CREATED, bookingId, booking);
+    return booking;
   }
 
   @Transactional
-  public void updateBooking(UUID propertyId, UUID bookingId, UpdateBookingRequest request) {
-    propertyBookingsValidator.validateBooking(propertyId, request.startDate(), request.endDate());
-
-    PropertyBookingEntity originalEntity = propertyBookingsRepository.findById(bookingId)
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+  public long updateBooking(UUID propertyId, UUID bookingId, Long expectedVersion, UpdateBookingRequest request) {
+    propertyWriteLocks.lockForTransaction(propertyId);
+    propertiesService.validatePropertyExists(propertyId);
+    PropertyBookingEntity originalEntity = propertyBookingsRepository.findById(propertyId, bookingId)
         .orElseThrow(() -> new NotFoundException("Booking not found"));
+    if (expectedVersion != null && expectedVersion != originalEntity.version()) {
+      throw new PreconditionFailedException("Booking was modified by another request");
+    }
+    propertyBookingsValidator.validateBookingUpdate(propertyId, bookingId, request.startDate(), request.endDate());
 
     PropertyBookingEntity updatedEntity = new PropertyBookingEntity(
         originalEntity.id(),
@@ -56,19 +81,43 @@ public class PropertyBookingsService {
         originalEntity.dateCreated(),
         request.startDate(),
         request.endDate(),
-        originalEntity.propertyId()
+        propertyId,
+        originalEntity.version()
+    );
+
+    if (!propertyBookingsRepository.updateBooking(updatedEntity)) {
+      throw new PreconditionFailedException("Booking was modified by another request");
+    }
+    PropertyBookingEntity storedEntity = propertyBookingsRepository.findById(propertyId, bookingId)
+        .orElseThrow(() -> new NotFoundException("Booking not found"));
+    propertyAvailabilityIndex.bookingSaved(storedEntity);
+    outboxService.append(
+        propertyId,
+        OutboxEventType.BOOKING_UPDATED,
+        storedEntity.id(),
+        PropertyBookingMapper.mapTaskDto(storedEntity)
     );
 
-    propertyBookingsRepository.updateBooking(updatedEntity);
+    return storedEntity.version();
   }
 
   @Transactional
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
   public void cancelBooking(UUID propertyId, UUID bookingId) {
+    propertyWriteLocks.lockForTransaction(propertyId);
     boolean bookingCanceled = propertyBookingsRepository.cancelBooking(propertyId, bookingId);
 
     if (!bookingCanceled) {
       throw new NotFoundException("Property booking not found");
     }
+
+    propertyAvailabilityIndex.intervalRemoved(propertyId, bookingId);
+    outboxService.append(
+        propertyId,
+        OutboxEventType.BOOKING_CANCELLED,
+        bookingId,
+        Map.of("id", bookingId, "propertyId", propertyId)
+    );
   }
 
 }
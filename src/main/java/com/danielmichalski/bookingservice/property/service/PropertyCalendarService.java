@@ -0,0 +1,98 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import com.danielmichalski.bookingservice.config.metrics.MetricsConfig;
+import com.danielmichalski.bookingservice.property.availability.IntervalType;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarDaysDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarEntryDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarQuery;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyCalendarEntryEntity;
+import com.danielmichalski.bookingservice.property.mapper.PropertyCalendarEntryMapper;
+import com.danielmichalski.bookingservice.property.repository.PropertyCalendarRepository;
+import com.danielmichalski.bookingservice.property.validator.PropertyCalendarValidator;
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class PropertyCalendarService {
+
+  private final PropertyCalendarRepository propertyCalendarRepository;
+  private final PropertyCalendarValidator propertyCalendarValidator;
+  private final PropertyAvailabilityIndex propertyAvailabilityIndex;
+
+  public void validateCalendarQuery(PropertyCalendarQuery query) {
+    propertyCalendarValidator.validateCalendarQuery(query);
+  }
+
+  /**
+   * Returns the taken days of the property as bitsets. Ranges covered by the availability index,
+   * which holds only upcoming bookings and blocks, are read from it, earlier ranges from the
+   * database.
+   */
+  @Transactional(readOnly = true)
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+  public PropertyCalendarDaysDto findCalendarDays(UUID propertyId, LocalDate from, int days) {
+    propertyCalendarValidator.validateCalendarDaysQuery(propertyId, from, days);
+
+    BitSet booked;
+    BitSet blocked;
+    if (propertyAvailabilityIndex.covers(from)) {
+      booked = propertyAvailabilityIndex.findTakenDays(propertyId, IntervalType.BOOKING, from, days);
+      blocked = propertyAvailabilityIndex.findTakenDays(propertyId, IntervalType.BLOCK, from, days);
+    } else {
+      booked = new BitSet(days);
+      blocked = new BitSet(days);
+      PropertyCalendarQuery query =
+          new PropertyCalendarQuery(propertyId, from, from.plusDays(days - 1L), null, null, Integer.MAX_VALUE);
+      try (Cursor<PropertyCalendarEntryEntity> cursor = propertyCalendarRepository.findCalendarEntries(query)) {
+        cursor.forEach(entity -> setDays(entity.type() == CalendarEntryType.BOOKING ? booked : blocked,
+            entity, from, days));
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    }
+
+    Base64.Encoder encoder = Base64.getEncoder();
+    return new PropertyCalendarDaysDto(
+        from,
+        days,
+        encoder.encodeToString(booked.toByteArray()),
+        encoder.encodeToString(blocked.toByteArray())
+    );
+  }
+
+  /**
+   * Passes the calendar entries to the consumer one by one while they are read from the database,
+   * the cursor stays open only for the duration of this call.
+   */
+  @Transactional(readOnly = true)
+  @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+  public void forEachCalendarEntry(PropertyCalendarQuery query, Consumer<PropertyCalendarEntryDto> consumer) {
+    try (Cursor<PropertyCalendarEntryEntity> cursor = propertyCalendarRepository.findCalendarEntries(query)) {
+      cursor.forEach(entity -> consumer.accept(PropertyCalendarEntryMapper.mapCalendarEntryDto(entity)));
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private static void setDays(BitSet days, PropertyCalendarEntryEntity entity, LocalDate from, int count) {
+    long first = Math.max(0, entity.startDate().toEpochDay() - from.toEpochDay());
+    long last = Math.min(count - 1L, entity.endDate().toEpochDay() - from.toEpochDay());
+    if (first <= last) {
+      days.set((int) first, (int) last + 1);
+    }
+  }
+
+}
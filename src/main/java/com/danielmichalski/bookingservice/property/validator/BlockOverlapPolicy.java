@@ -0,0 +1,12 @@
+package com.danielmichalski.bookingservice.property.validator;
+
+public enum BlockOverlapPolicy {
+  /**
+   * Blocks overlapping a live booking or block are rejected.
+   */
+  REJECT,
+  /**
+   * Blocks overlapping a live booking or block are stored, the overlap is logged.
+   */
+  REPORT
+}
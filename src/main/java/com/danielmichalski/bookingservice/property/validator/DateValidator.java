@@ -1,20 +1,35 @@
 package com.danielmichalski.bookingservice.property.validator;
 
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
 import java.time.OffsetDateTime;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class DateValidator {
 
+  private final ValidationMetrics validationMetrics;
+
   public void validateStartDateBeforeEndDate(OffsetDateTime startDate, OffsetDateTime endDate) {
+    checkStartDateBeforeEndDate(startDate, endDate).throwIfInvalid();
+  }
+
+  public ValidationResult checkStartDateBeforeEndDate(OffsetDateTime startDate, OffsetDateTime endDate) {
     if (Objects.isNull(startDate) || Objects.isNull(endDate)) {
-      throw new IllegalArgumentException("Start date and end date must be set");
+      validationMetrics.validationFailed(ValidationFailureReason.BAD_DATES);
+      return ValidationResult.badRequest("Start date and end date must be set");
     }
 
     if (!startDate.isBefore(endDate)) {
-      throw new IllegalArgumentException("Start date should be before end date");
+      validationMetrics.validationFailed(ValidationFailureReason.BAD_DATES);
+      return ValidationResult.badRequest("Start date should be before end date");
     }
+
+    return ValidationResult.valid();
   }
 
 }
@@ -0,0 +1,12 @@
+package com.danielmichalski.bookingservice.property.validator;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("booking.blocks")
+public record PropertyBlocksProperties(@DefaultValue("reject") @NotNull BlockOverlapPolicy overlapPolicy) {
+
+}
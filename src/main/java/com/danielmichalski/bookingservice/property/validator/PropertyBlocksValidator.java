@@ -1,20 +1,67 @@
 package com.danielmichalski.bookingservice.property.validator;
 
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyConflictEntity;
 import com.danielmichalski.bookingservice.property.service.PropertiesService;
 import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class PropertyBlocksValidator {
 
   private final DateValidator dateValidator;
   private final PropertiesService propertiesService;
+  private final PropertyConflictChecker propertyConflictChecker;
+  private final PropertyBlocksProperties properties;
 
   public void validateBlock(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
-    dateValidator.validateStartDateBeforeEndDate(startDate, endDate);
-    propertiesService.validatePropertyExists(propertyId);
+    checkBlock(propertyId, startDate, endDate).throwIfInvalid();
   }
+
+  public ValidationResult checkBlock(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    return dateValidator.checkStartDateBeforeEndDate(startDate, endDate)
+        .and(() -> propertiesService.checkPropertyExists(propertyId))
+        .and(() -> checkPropertyAvailability(propertyId, null, startDate, endDate));
+  }
+
+  public void validateBlockUpdate(UUID propertyId, UUID blockId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    checkBlockUpdate(propertyId, blockId, startDate, endDate).throwIfInvalid();
+  }
+
+  /**
+   * Checks new dates of a block of an existing property, ignoring the overlap with the block itself.
+   */
+  public ValidationResult checkBlockUpdate(UUID propertyId,
+                                           UUID blockId,
+                                           OffsetDateTime startDate,
+                                           OffsetDateTime endDate) {
+    return dateValidator.checkStartDateBeforeEndDate(startDate, endDate)
+        .and(() -> checkPropertyAvailability(propertyId, blockId, startDate, endDate));
+  }
+
+  private ValidationResult checkPropertyAvailability(UUID propertyId,
+                                                     UUID blockId,
+                                                     OffsetDateTime startDate,
+                                                     OffsetDateTime endDate) {
+    Optional<PropertyConflictEntity> conflict =
+        propertyConflictChecker.findConflict(propertyId, startDate, endDate, blockId);
+    if (conflict.isEmpty()) {
+      return ValidationResult.valid();
+    }
+
+    if (properties.overlapPolicy() == BlockOverlapPolicy.REPORT) {
+      log.warn("Block of property {} overlaps with {} {}, storing it anyway", propertyId, conflict.get().type(),
+          conflict.get().id());
+      return ValidationResult.valid();
+    }
+    return propertyConflictChecker.reject(CalendarEntryType.BLOCK, propertyId, conflict.get());
+  }
+
 }
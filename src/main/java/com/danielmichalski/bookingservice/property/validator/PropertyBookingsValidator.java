@@ -1,9 +1,13 @@
 package com.danielmichalski.bookingservice.property.validator;
 
-import com.danielmichalski.bookingservice.property.repository.PropertyBlocksRepository;
-import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.dto.BookingExportQuery;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
 import com.danielmichalski.bookingservice.property.service.PropertiesService;
 import java.time.OffsetDateTime;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -14,22 +18,67 @@ public class PropertyBookingsValidator {
 
   private final DateValidator dateValidator;
   private final PropertiesService propertiesService;
-  private final PropertyBookingsRepository propertyBookingsRepository;
-  private final PropertyBlocksRepository propertyBlocksRepository;
+  private final PropertyConflictChecker propertyConflictChecker;
+  private final ValidationMetrics validationMetrics;
 
   public void validateBooking(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
-    dateValidator.validateStartDateBeforeEndDate(startDate, endDate);
-    propertiesService.validatePropertyExists(propertyId);
-    validatePropertyAvailability(propertyId, startDate, endDate);
+    checkBooking(propertyId, startDate, endDate).throwIfInvalid();
   }
 
-  private void validatePropertyAvailability(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
-    boolean bookingExists = propertyBookingsRepository.bookingExistsWithinRange(propertyId, startDate, endDate);
-    boolean blockExists = propertyBlocksRepository.blockExistsWithinRange(propertyId, startDate, endDate);
+  public ValidationResult checkBooking(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    return dateValidator.checkStartDateBeforeEndDate(startDate, endDate)
+        .and(() -> propertiesService.checkPropertyExists(propertyId))
+        .and(() -> checkPropertyAvailability(propertyId, null, startDate, endDate));
+  }
+
+  public void validateBookingUpdate(UUID propertyId, UUID bookingId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    checkBookingUpdate(propertyId, bookingId, startDate, endDate).throwIfInvalid();
+  }
+
+  /**
+   * Checks new dates of a booking of an existing property, ignoring the overlap with the booking itself.
+   */
+  public ValidationResult checkBookingUpdate(UUID propertyId,
+                                             UUID bookingId,
+                                             OffsetDateTime startDate,
+                                             OffsetDateTime endDate) {
+    return dateValidator.checkStartDateBeforeEndDate(startDate, endDate)
+        .and(() -> checkPropertyAvailability(propertyId, bookingId, startDate, endDate));
+  }
+
+  public void validateBookingOfExistingProperty(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    checkBookingOfExistingProperty(propertyId, startDate, endDate).throwIfInvalid();
+  }
 
-    if (bookingExists || blockExists) {
-      throw new IllegalArgumentException("Bookings cannot overlap with other bookings or blocks");
+  public ValidationResult checkBookingOfExistingProperty(UUID propertyId,
+                                                         OffsetDateTime startDate,
+                                                         OffsetDateTime endDate) {
+    return dateValidator.checkStartDateBeforeEndDate(startDate, endDate)
+        .and(() -> checkPropertyAvailability(propertyId, null, startDate, endDate));
+  }
+
+  public void validateExportQuery(BookingExportQuery query) {
+    checkExportQuery(query).throwIfInvalid();
+  }
+
+  public ValidationResult checkExportQuery(BookingExportQuery query) {
+    if (Objects.nonNull(query.from()) && Objects.nonNull(query.to()) && query.from().isAfter(query.to())) {
+      validationMetrics.validationFailed(ValidationFailureReason.BAD_DATES);
+      return ValidationResult.badRequest("From date should not be after to date");
     }
+
+    if (Objects.nonNull(query.propertyId())) {
+      return propertiesService.checkPropertyExists(query.propertyId());
+    }
+    return ValidationResult.valid();
+  }
+
+  private ValidationResult checkPropertyAvailability(UUID propertyId,
+                                                     UUID bookingId,
+                                                     OffsetDateTime startDate,
+                                                     OffsetDateTime endDate) {
+    return propertyConflictChecker.checkNoConflict(
+        CalendarEntryType.BOOKING, propertyId, startDate, endDate, bookingId);
   }
 
 }
@@ -0,0 +1,67 @@
+package com.danielmichalski.bookingservice.property.validator;
+
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarQuery;
+import com.danielmichalski.bookingservice.property.service.PropertiesService;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PropertyCalendarValidator {
+
+  public static final int MAX_LIMIT = 1000;
+  public static final int MAX_DAYS = 3660;
+
+  private final PropertiesService propertiesService;
+  private final ValidationMetrics validationMetrics;
+
+  public void validateCalendarQuery(PropertyCalendarQuery query) {
+    checkCalendarQuery(query).throwIfInvalid();
+  }
+
+  public ValidationResult checkCalendarQuery(PropertyCalendarQuery query) {
+    if (Objects.isNull(query.from()) || Objects.isNull(query.to())) {
+      validationMetrics.validationFailed(ValidationFailureReason.BAD_DATES);
+      return ValidationResult.badRequest("From date and to date must be set");
+    }
+
+    if (query.from().isAfter(query.to())) {
+      validationMetrics.validationFailed(ValidationFailureReason.BAD_DATES);
+      return ValidationResult.badRequest("From date should not be after to date");
+    }
+
+    if (Objects.isNull(query.afterStartDate()) != Objects.isNull(query.afterId())) {
+      return ValidationResult.badRequest("After start date and after id must be set together");
+    }
+
+    if (query.limit() < 1 || query.limit() > MAX_LIMIT) {
+      return ValidationResult.badRequest("Limit should be between 1 and " + MAX_LIMIT);
+    }
+
+    return propertiesService.checkPropertyExists(query.propertyId());
+  }
+
+  public void validateCalendarDaysQuery(UUID propertyId, LocalDate from, int days) {
+    checkCalendarDaysQuery(propertyId, from, days).throwIfInvalid();
+  }
+
+  public ValidationResult checkCalendarDaysQuery(UUID propertyId, LocalDate from, int days) {
+    if (Objects.isNull(from)) {
+      validationMetrics.validationFailed(ValidationFailureReason.BAD_DATES);
+      return ValidationResult.badRequest("From date must be set");
+    }
+
+    if (days < 1 || days > MAX_DAYS) {
+      return ValidationResult.badRequest("Days should be between 1 and " + MAX_DAYS);
+    }
+
+    return propertiesService.checkPropertyExists(propertyId);
+  }
+
+}
@@ -0,0 +1,78 @@
+package com.danielmichalski.bookingservice.property.validator;
+
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyConflictEntity;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds live bookings and blocks overlapping a new or changed entry of a property, shared by the
+ * booking and block validators.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PropertyConflictChecker {
+
+  private final PropertyBookingsRepository propertyBookingsRepository;
+  private final PropertyAvailabilityIndex propertyAvailabilityIndex;
+  private final ValidationMetrics validationMetrics;
+
+  /**
+   * Finds the earliest entry overlapping the given range, from the availability index when it
+   * covers the start date and from the database otherwise. The entry with the excluded id, e.g. the
+   * one being updated, is ignored, pass {@code null} to check all entries.
+   */
+  public Optional<PropertyConflictEntity> findConflict(UUID propertyId,
+                                                       OffsetDateTime startDate,
+                                                       OffsetDateTime endDate,
+                                                       UUID excludedId) {
+    if (propertyAvailabilityIndex.covers(startDate)) {
+      return propertyAvailabilityIndex.findOverlap(propertyId, startDate, endDate, excludedId)
+          .map(interval -> new PropertyConflictEntity(
+              CalendarEntryType.valueOf(interval.type().name()),
+              interval.id()
+          ));
+    }
+
+    return propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, excludedId);
+  }
+
+  public ValidationResult checkNoConflict(CalendarEntryType entryType,
+                                          UUID propertyId,
+                                          OffsetDateTime startDate,
+                                          OffsetDateTime endDate,
+                                          UUID excludedId) {
+    return findConflict(propertyId, startDate, endDate, excludedId)
+        .map(conflict -> reject(entryType, propertyId, conflict))
+        .orElseGet(ValidationResult::valid);
+  }
+
+  public ValidationResult reject(CalendarEntryType entryType, UUID propertyId, PropertyConflictEntity conflict) {
+    // the conflicting entry may belong to another guest, so its id is only logged
+    log.info("{} of property {} overlaps with {} {}", capitalized(entryType), propertyId, conflict.type(),
+        conflict.id());
+    validationMetrics.validationFailed(ValidationFailureReason.OVERLAP);
+    return ValidationResult.conflict(overlapMessage(entryType, conflict.type()));
+  }
+
+  public static String overlapMessage(CalendarEntryType entryType, CalendarEntryType conflictType) {
+    return capitalized(entryType) + " overlaps with existing " + conflictType.name().toLowerCase(Locale.ROOT);
+  }
+
+  private static String capitalized(CalendarEntryType type) {
+    String name = type.name().toLowerCase(Locale.ROOT);
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+}
@@ -0,0 +1,183 @@
+package com.danielmichalski.bookingservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Starts the packaged application several times as a separate process and logs the time until it
+ * reports being started, the time until the first {@code POST /bookings} succeeds and the resident
+ * set size at that point. Modes whose artifacts were not built are skipped:
+ * <ul>
+ *   <li>{@code jvm} and {@code jvm + aot} need {@code ./mvnw -Pnative -DskipTests package}</li>
+ *   <li>{@code native} needs {@code ./mvnw -Pnative -DskipTests native:compile}</li>
+ *   <li>{@code jvm, unpacked} and {@code jvm + cds} need {@code ./mvnw -Pcds -DskipTests package}</li>
+ * </ul>
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=StartupBenchmark}.
+ */
+@Slf4j
+class StartupBenchmark {
+
+  private static final int RUNS = Integer.getInteger("benchmark.runs", 5);
+  private static final Path JAR = Path.of(System.getProperty(
+      "benchmark.jar", "target/booking-service-0.0.1-SNAPSHOT.jar"));
+  private static final Path NATIVE_EXECUTABLE = Path.of(System.getProperty(
+      "benchmark.nativeExecutable", "target/booking-service"));
+  private static final Path CDS_JAR = Path.of(System.getProperty(
+      "benchmark.cdsJar", "target/cds/booking-service-0.0.1-SNAPSHOT-cds.jar"));
+  private static final Path CDS_LAUNCHER = Path.of(System.getProperty(
+      "benchmark.cdsLauncher", "target/cds/booking-service.sh"));
+  // loaded with the test data of the default profile
+  private static final String PROPERTY_ID = "6c5d63b4-d776-4a9a-a5ac-06244ebfbcdf";
+  private static final Pattern PORT = Pattern.compile("Tomcat started on port\\(s\\): (\\d+)");
+  private static final Pattern STARTED = Pattern.compile("Started BookingServiceApplication in ([0-9.]+) seconds");
+  private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+
+  @Test
+  void jvm() throws Exception {
+    assumeTrue(Files.isRegularFile(JAR), JAR + " not found");
+    measure("jvm", javaCommand(JAR));
+  }
+
+  @Test
+  void jvmWithAot() throws Exception {
+    assumeTrue(Files.isRegularFile(JAR), JAR + " not found");
+    measure("jvm + aot", javaCommand(JAR, "-Dspring.aot.enabled=true"));
+  }
+
+  @Test
+  void nativeExecutable() throws Exception {
+    assumeTrue(Files.isExecutable(NATIVE_EXECUTABLE), NATIVE_EXECUTABLE + " not found");
+    measure("native", List.of(NATIVE_EXECUTABLE.toString()));
+  }
+
+  @Test
+  void jvmUnpacked() throws Exception {
+    assumeTrue(Files.isRegularFile(CDS_JAR), CDS_JAR + " not found");
+    measure("jvm, unpacked", javaCommand(CDS_JAR));
+  }
+
+  @Test
+  void jvmWithCds() throws Exception {
+    assumeTrue(Files.isRegularFile(CDS_LAUNCHER), CDS_LAUNCHER + " not found");
+    measure("jvm + cds", List.of("sh", CDS_LAUNCHER.toString()));
+  }
+
+  private static List<String> javaCommand(Path jar, String... jvmOptions) {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(Arrays.asList(jvmOptions));
+    command.add("-jar");
+    command.add(jar.toString());
+    return command;
+  }
+
+  private void measure(String mode, List<String> command) throws Exception {
+    long[] startedMillis = new long[RUNS];
+    long[] firstBookingMillis = new long[RUNS];
+    long[] rssKib = new long[RUNS];
+    for (int run = 0; run < RUNS; run++) {
+      List<String> runCommand = new ArrayList<>(command);
+      runCommand.add("--server.port=0");
+      ProcessBuilder processBuilder = new ProcessBuilder(runCommand).redirectErrorStream(true);
+      processBuilder.environment().put("JAVA_HOME", System.getProperty("java.home"));
+      long startedAt = System.nanoTime();
+      Process process = processBuilder.start();
+      try {
+        int port = awaitStarted(process);
+        startedMillis[run] = (System.nanoTime() - startedAt) / 1_000_000;
+        bookUntilCreated(port);
+        firstBookingMillis[run] = (System.nanoTime() - startedAt) / 1_000_000;
+        rssKib[run] = residentSetSize(process.pid());
+      } finally {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+          process.destroyForcibly();
+        }
+      }
+    }
+
+    Arrays.sort(startedMillis);
+    Arrays.sort(firstBookingMillis);
+    Arrays.sort(rssKib);
+    log.info("[{}] runs={}, started p50={} ms, first booking p50={} ms, min={} ms, RSS p50={} MiB, max={} MiB",
+        mode,
+        RUNS,
+        startedMillis[RUNS / 2],
+        firstBookingMillis[RUNS / 2],
+        firstBookingMillis[0],
+        rssKib[RUNS / 2] / 1024,
+        rssKib[RUNS - 1] / 1024);
+    assertThat(firstBookingMillis[0]).isPositive();
+  }
+
+  private static int awaitStarted(Process process) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    int port = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      Matcher portMatcher = PORT.matcher(line);
+      if (portMatcher.find()) {
+        port = Integer.parseInt(portMatcher.group(1));
+      }
+      if (STARTED.matcher(line).find()) {
+        return port;
+      }
+    }
+    throw new IllegalStateException("Application exited with " + process.onExit().join().exitValue());
+  }
+
+  private void bookUntilCreated(int port) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + port + "/api/properties/" + PROPERTY_ID + "/bookings"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("""
+            {"guestFirstName": "John", "guestLastName": "Doe",
+             "startDate": "2099-01-01T12:00:00Z", "endDate": "2099-01-03T10:00:00Z"}
+            """))
+        .build();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (System.nanoTime() < deadline) {
+      try {
+        if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+          return;
+        }
+      } catch (ConnectException exception) {
+        log.debug("Application not accepting connections yet", exception);
+      }
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    throw new IllegalStateException("No booking was created within 30 seconds");
+  }
+
+  private static long residentSetSize(long pid) throws IOException {
+    Path status = Path.of("/proc", String.valueOf(pid), "status");
+    if (!Files.exists(status)) {
+      return 0;
+    }
+    Matcher matcher = VM_RSS.matcher(Files.readString(status));
+    return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+  }
+
+}
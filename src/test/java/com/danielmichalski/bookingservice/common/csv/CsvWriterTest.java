@@ -0,0 +1,46 @@
+package com.danielmichalski.bookingservice.common.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class CsvWriterTest {
+
+  @Test
+  void writeRow_shouldSeparateValuesAndEndLineWithCrLf() throws IOException {
+    StringWriter output = new StringWriter();
+
+    try (CsvWriter underTest = new CsvWriter(output)) {
+      underTest.writeRow("a", 1, null, "b");
+      underTest.writeRow("c");
+    }
+
+    assertThat(output).hasToString("a,1,,b\r\nc\r\n");
+  }
+
+  @Test
+  void writeRow_shouldQuoteValuesWithSeparatorsQuotesAndLineBreaks() throws IOException {
+    StringWriter output = new StringWriter();
+
+    try (CsvWriter underTest = new CsvWriter(output)) {
+      underTest.writeRow("Smith, Jr.", "say \"hi\"", "two\nlines", "plain");
+    }
+
+    assertThat(output).hasToString("\"Smith, Jr.\",\"say \"\"hi\"\"\",\"two\nlines\",plain\r\n");
+  }
+
+  @Test
+  void writeRow_shouldEscapeTextThatWouldBeEvaluatedAsFormula() throws IOException {
+    StringWriter output = new StringWriter();
+
+    try (CsvWriter underTest = new CsvWriter(output)) {
+      underTest.writeRow("=HYPERLINK(\"x\")", "+1", "-1", "@SUM(A1)", "\tcmd", "a=b", -1);
+    }
+
+    assertThat(output)
+        .hasToString("\"'=HYPERLINK(\"\"x\"\")\",\"'+1\",\"'-1\",\"'@SUM(A1)\",\"'\tcmd\",a=b,-1\r\n");
+  }
+
+}
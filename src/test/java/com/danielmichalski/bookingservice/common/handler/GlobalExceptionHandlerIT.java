@@ -0,0 +1,73 @@
+package com.danielmichalski.bookingservice.common.handler;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GlobalExceptionHandlerIT {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void pathVariableOfWrongType_shouldReturnBadRequest() throws Exception {
+    mockMvc.perform(get("/api/properties/{propertyId}/calendar", "not-a-uuid")
+            .queryParam("from", "2030-01-01")
+            .queryParam("to", "2030-01-31"))
+        .andExpectAll(
+            status().isBadRequest(),
+            jsonPath("$.code", equalTo("Bad Request")),
+            jsonPath("$.message", equalTo("Invalid value of propertyId"))
+        );
+  }
+
+  @Test
+  void missingRequestParameter_shouldReturnBadRequest() throws Exception {
+    mockMvc.perform(get("/api/properties/{propertyId}/calendar", UUID.randomUUID())
+            .queryParam("from", "2030-01-01"))
+        .andExpectAll(
+            status().isBadRequest(),
+            jsonPath("$.code", equalTo("Bad Request")),
+            jsonPath("$.message", equalTo("Missing request parameter to"))
+        );
+  }
+
+  @Test
+  void malformedRequestBody_shouldReturnBadRequest() throws Exception {
+    mockMvc.perform(post("/api/properties/{propertyId}/bookings", UUID.randomUUID())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"guestFirstName\": "))
+        .andExpectAll(
+            status().isBadRequest(),
+            jsonPath("$.code", equalTo("Bad Request")),
+            jsonPath("$.message", equalTo("Malformed request body"))
+        );
+  }
+
+  @Test
+  void unsupportedMethod_shouldReturnMethodNotAllowed() throws Exception {
+    mockMvc.perform(delete("/api/properties/{propertyId}/bookings", UUID.randomUUID()))
+        .andExpectAll(
+            status().isMethodNotAllowed(),
+            header().string(HttpHeaders.ALLOW, "POST"),
+            jsonPath("$.code", equalTo("Method Not Allowed")),
+            jsonPath("$.message", equalTo("Request method 'DELETE' is not supported"))
+        );
+  }
+
+}
@@ -0,0 +1,115 @@
+package com.danielmichalski.bookingservice.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Compares insert throughput into a UUID primary key for random (v4) and time-ordered (v7)
+ * identifiers as the table grows. Each variant writes to its own file-based H2 database under
+ * {@code target/id-insert-benchmark}, with a page cache much smaller than the table, and logs the
+ * throughput of every step. Run with {@code ./mvnw test -Pbenchmark -Dtest=IdInsertBenchmark}, the
+ * number of rows can be changed with {@code -Dbenchmark.rows} and the cache size in KB with
+ * {@code -Dbenchmark.cacheSize}.
+ */
+@Slf4j
+class IdInsertBenchmark {
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000_000);
+  private static final int STEP = Integer.getInteger("benchmark.step", 1_000_000);
+  private static final int CACHE_SIZE_KB = Integer.getInteger("benchmark.cacheSize", 65_536);
+  private static final int BATCH_SIZE = 10_000;
+  private static final Path DIRECTORY = Path.of("target", "id-insert-benchmark");
+
+  @Test
+  void randomIds() throws Exception {
+    run("v4", UUID::randomUUID);
+  }
+
+  @Test
+  void timeOrderedIds() throws Exception {
+    run("v7", new TimeOrderedIdGenerator()::generateId);
+  }
+
+  private void run(String variant, Supplier<UUID> ids) throws Exception {
+    Path database = DIRECTORY.resolve(variant);
+    FileSystemUtils.deleteRecursively(database);
+    Files.createDirectories(database);
+
+    String url = "jdbc:h2:file:" + database.toAbsolutePath().resolve("db") + ";CACHE_SIZE=" + CACHE_SIZE_KB;
+    try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+      connection.setAutoCommit(false);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("""
+                CREATE TABLE property_bookings (
+                    id UUID PRIMARY KEY,
+                    guest_first_name VARCHAR(30) NOT NULL,
+                    guest_last_name VARCHAR(30) NOT NULL,
+                    date_created TIMESTAMP NOT NULL,
+                    start_date DATE NOT NULL,
+                    end_date DATE NOT NULL,
+                    property_id UUID NOT NULL
+                )
+            """);
+      }
+
+      long totalNanos = 0;
+      for (int inserted = 0; inserted < ROWS; inserted += STEP) {
+        int rows = Math.min(STEP, ROWS - inserted);
+        long stepNanos = insertStep(connection, ids, rows);
+        totalNanos += stepNanos;
+        log.info("[{}] rows={}, step throughput={} rows/s",
+            variant, inserted + rows, rows * 1_000_000_000L / stepNanos);
+      }
+      log.info("[{}] rows={}, total time={} ms, average throughput={} rows/s, database size={} MB",
+          variant,
+          ROWS,
+          totalNanos / 1_000_000,
+          ROWS * 1_000_000_000L / totalNanos,
+          Files.size(database.resolve("db.mv.db")) / (1024 * 1024));
+      assertThat(count(connection)).isEqualTo(ROWS);
+    }
+  }
+
+  private static long insertStep(Connection connection, Supplier<UUID> ids, int rows) throws SQLException {
+    UUID propertyId = UUID.randomUUID();
+    long startedAt = System.nanoTime();
+    try (PreparedStatement statement = connection.prepareStatement("""
+            INSERT INTO property_bookings
+                (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id)
+            VALUES (?, 'John', 'Doe', CURRENT_TIMESTAMP, CURRENT_DATE, CURRENT_DATE + 2, ?)
+        """)) {
+      for (int row = 0; row < rows; row++) {
+        statement.setObject(1, ids.get());
+        statement.setObject(2, propertyId);
+        statement.addBatch();
+        if ((row + 1) % BATCH_SIZE == 0 || row == rows - 1) {
+          statement.executeBatch();
+          connection.commit();
+        }
+      }
+    }
+    return System.nanoTime() - startedAt;
+  }
+
+  private static long count(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM property_bookings")) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+
+}
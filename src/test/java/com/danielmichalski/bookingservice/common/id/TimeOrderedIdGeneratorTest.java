@@ -0,0 +1,110 @@
+package com.danielmichalski.bookingservice.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTest {
+
+  private static final Instant NOW = Instant.parse("2024-05-01T10:15:30.123Z");
+
+  @Test
+  void generateId_shouldReturnVersion7IdWithCurrentTimestamp() {
+    TimeOrderedIdGenerator underTest = new TimeOrderedIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    UUID id = underTest.generateId();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+    assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli());
+  }
+
+  @Test
+  void generateId_moreIdsThanCounterFitsInOneMillisecond_shouldStayOrdered() {
+    TimeOrderedIdGenerator underTest = new TimeOrderedIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    List<UUID> ids = generate(underTest, 10_000);
+
+    assertThat(ids).isSortedAccordingTo(Comparator.naturalOrder()).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void generateId_clockMovedBackwards_shouldStayOrdered() {
+    MutableClock clock = new MutableClock(NOW);
+    TimeOrderedIdGenerator underTest = new TimeOrderedIdGenerator(clock);
+
+    UUID first = underTest.generateId();
+    clock.instant = NOW.minusSeconds(5);
+    UUID second = underTest.generateId();
+
+    assertThat(second).isGreaterThan(first);
+  }
+
+  @Test
+  void generateId_concurrently_shouldReturnUniqueIdsOrderedPerThread() throws Exception {
+    TimeOrderedIdGenerator underTest = new TimeOrderedIdGenerator(Clock.systemUTC());
+    int threads = 8;
+    int idsPerThread = 50_000;
+    Set<UUID> allIds = ConcurrentHashMap.newKeySet();
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<Future<List<UUID>>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> generate(underTest, idsPerThread)));
+      }
+      for (Future<List<UUID>> future : futures) {
+        List<UUID> ids = future.get();
+        assertThat(ids).isSortedAccordingTo(Comparator.naturalOrder());
+        allIds.addAll(ids);
+      }
+    }
+
+    assertThat(allIds).hasSize(threads * idsPerThread);
+  }
+
+  private static List<UUID> generate(IdGenerator idGenerator, int count) {
+    List<UUID> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(idGenerator.generateId());
+    }
+    return ids;
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class IdempotencyKeysRepositoryTest {
+
+  private static final OffsetDateTime NOW = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+  @Autowired
+  private IdempotencyKeysRepository underTest;
+
+  @Test
+  void insertKey_shouldStoreTheResponse() {
+    IdempotencyKeyEntity key = key(NOW.plusHours(1));
+
+    underTest.insertKey(key);
+
+    assertThat(underTest.findByKey(IdempotentOperation.BOOK_PROPERTY, key.idempotencyKey()))
+        .hasValueSatisfying(stored -> {
+          assertThat(stored.requestHash()).isEqualTo(key.requestHash());
+          assertThat(stored.responseBody()).isEqualTo(key.responseBody());
+          assertThat(stored.dateExpires().toInstant()).isEqualTo(key.dateExpires().toInstant());
+        });
+    assertThat(underTest.findByKey(IdempotentOperation.BLOCK_PROPERTY, key.idempotencyKey())).isEmpty();
+  }
+
+  @Test
+  void deleteExpiredKeys_shouldDeleteOnlyExpiredKeys() {
+    IdempotencyKeyEntity expired = key(NOW.minusMinutes(1));
+    IdempotencyKeyEntity live = key(NOW.plusMinutes(1));
+    underTest.insertKey(expired);
+    underTest.insertKey(live);
+
+    int deleted = underTest.deleteExpiredKeys(NOW);
+
+    assertThat(deleted).isEqualTo(1);
+    assertThat(underTest.findByKey(IdempotentOperation.BOOK_PROPERTY, expired.idempotencyKey())).isEmpty();
+    assertThat(underTest.findByKey(IdempotentOperation.BOOK_PROPERTY, live.idempotencyKey())).isPresent();
+  }
+
+  private static IdempotencyKeyEntity key(OffsetDateTime dateExpires) {
+    return new IdempotencyKeyEntity(
+        IdempotentOperation.BOOK_PROPERTY,
+        UUID.randomUUID().toString(),
+        "a".repeat(64),
+        "{\"id\":\"" + UUID.randomUUID() + "\"}",
+        NOW,
+        dateExpires
+    );
+  }
+
+}
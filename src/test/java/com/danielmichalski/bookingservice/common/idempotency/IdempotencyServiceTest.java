@@ -0,0 +1,216 @@
+package com.danielmichalski.bookingservice.common.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import com.danielmichalski.bookingservice.common.exception.IdempotencyKeyReusedException;
+import com.danielmichalski.bookingservice.common.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+  private static final String KEY = "retry-1";
+  private static final OffsetDateTime NOW = OffsetDateTime.parse("2024-05-01T10:00:00+02:00");
+
+  @Mock
+  private IdempotencyKeysRepository idempotencyKeysRepository;
+  @Spy
+  private Cache<String, IdempotencyKeyEntity> idempotencyKeysCache = Caffeine.newBuilder().build();
+  @Spy
+  private IdempotencyProperties properties =
+      new IdempotencyProperties(Duration.ofHours(24), 100, Duration.ofMinutes(10));
+  @Mock
+  private CurrentDateTimeService currentDateTimeService;
+  @Mock
+  private TransactionTemplate transactionTemplate;
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  @Mock
+  private Supplier<Response> action;
+  @InjectMocks
+  private IdempotencyService underTest;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(currentDateTimeService.currentDateTime()).thenReturn(NOW);
+    lenient().when(transactionTemplate.execute(any()))
+        .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
+  @Test
+  void noIdempotencyKey_shouldOnlyRunTheAction() {
+    Response response = new Response("created");
+    when(action.get()).thenReturn(response);
+
+    Response result =
+        underTest.execute(IdempotentOperation.BOOK_PROPERTY, null, new Request("a"), Response.class, action);
+
+    assertThat(result).isEqualTo(response);
+    verifyNoInteractions(idempotencyKeysRepository, transactionTemplate);
+  }
+
+  @Test
+  void newIdempotencyKey_shouldRunTheActionAndStoreTheResponse() {
+    Response response = new Response("created");
+    when(action.get()).thenReturn(response);
+    when(idempotencyKeysRepository.findByKey(IdempotentOperation.BOOK_PROPERTY, KEY)).thenReturn(Optional.empty());
+
+    Response result = execute(new Request("a"), action);
+
+    ArgumentCaptor<IdempotencyKeyEntity> captor = ArgumentCaptor.forClass(IdempotencyKeyEntity.class);
+    verify(idempotencyKeysRepository).insertKey(captor.capture());
+    assertThat(result).isEqualTo(response);
+    assertThat(captor.getValue())
+        .extracting(
+            IdempotencyKeyEntity::operation,
+            IdempotencyKeyEntity::idempotencyKey,
+            IdempotencyKeyEntity::responseBody,
+            IdempotencyKeyEntity::dateCreated,
+            IdempotencyKeyEntity::dateExpires
+        ).containsExactly(
+            IdempotentOperation.BOOK_PROPERTY,
+            KEY,
+            "{\"value\":\"created\"}",
+            NOW,
+            NOW.plusHours(24)
+        );
+  }
+
+  @Test
+  void retry_shouldReplayStoredResponseFromCacheWithoutRunningTheAction() {
+    when(action.get()).thenReturn(new Response("created"));
+    when(idempotencyKeysRepository.findByKey(IdempotentOperation.BOOK_PROPERTY, KEY)).thenReturn(Optional.empty());
+    execute(new Request("a"), action);
+
+    Response replayed = execute(new Request("a"), () -> {
+      throw new AssertionError("Action should not run on replay");
+    });
+
+    assertThat(replayed).isEqualTo(new Response("created"));
+    verify(idempotencyKeysRepository).findByKey(IdempotentOperation.BOOK_PROPERTY, KEY);
+  }
+
+  @Test
+  void retryAfterCacheEviction_shouldReplayStoredResponseFromDatabase() {
+    IdempotencyKeyEntity stored = stored(new Request("a"), NOW.plusHours(1));
+    when(idempotencyKeysRepository.findByKey(IdempotentOperation.BOOK_PROPERTY, KEY)).thenReturn(Optional.of(stored));
+
+    Response replayed = execute(new Request("a"), action);
+
+    assertThat(replayed).isEqualTo(new Response("stored"));
+    verifyNoInteractions(action, transactionTemplate);
+  }
+
+  @Test
+  void idempotencyKeyReusedForAnotherRequest_shouldThrowAnException() {
+    IdempotencyKeyEntity stored = stored(new Request("a"), NOW.plusHours(1));
+    when(idempotencyKeysRepository.findByKey(IdempotentOperation.BOOK_PROPERTY, KEY)).thenReturn(Optional.of(stored));
+
+    assertThatThrownBy(() ->
+        execute(new Request("b"), action))
+        .isInstanceOf(IdempotencyKeyReusedException.class)
+        .hasMessage("Idempotency key was already used for a different request");
+    verifyNoInteractions(action);
+  }
+
+  @Test
+  void expiredIdempotencyKey_shouldBeDeletedAndTheActionRunAgain() {
+    IdempotencyKeyEntity stored = stored(new Request("a"), NOW.minusMinutes(1));
+    when(idempotencyKeysRepository.findByKey(IdempotentOperation.BOOK_PROPERTY, KEY)).thenReturn(Optional.of(stored));
+    when(action.get()).thenReturn(new Response("created"));
+
+    Response result = execute(new Request("a"), action);
+
+    assertThat(result).isEqualTo(new Response("created"));
+    verify(idempotencyKeysRepository).deleteExpiredKey(IdempotentOperation.BOOK_PROPERTY, KEY, NOW);
+  }
+
+  @Test
+  void concurrentRequestStoredTheKeyFirst_shouldReplayItsResponse() {
+    IdempotencyKeyEntity stored = stored(new Request("a"), NOW.plusHours(1));
+    when(idempotencyKeysRepository.findByKey(IdempotentOperation.BOOK_PROPERTY, KEY))
+        .thenReturn(Optional.empty(), Optional.of(stored));
+    when(action.get()).thenThrow(new DuplicateKeyException("duplicate"));
+
+    Response result = execute(new Request("a"), action);
+
+    assertThat(result).isEqualTo(new Response("stored"));
+    verify(idempotencyKeysRepository, never()).insertKey(any());
+  }
+
+  @Test
+  void failedRequest_shouldNotStoreTheKey() {
+    IllegalArgumentException failure = new IllegalArgumentException("overlap");
+    when(idempotencyKeysRepository.findByKey(IdempotentOperation.BOOK_PROPERTY, KEY)).thenReturn(Optional.empty());
+    when(action.get()).thenThrow(failure);
+
+    assertThatThrownBy(() ->
+        execute(new Request("a"), action))
+        .isSameAs(failure);
+    verify(idempotencyKeysRepository, never()).insertKey(any());
+  }
+
+  @Test
+  void blankIdempotencyKey_shouldThrowAnException() {
+    assertThatThrownBy(() ->
+        underTest.execute(IdempotentOperation.BOOK_PROPERTY, " ", new Request("a"), Response.class, action))
+        .isInstanceOf(InvalidIdempotencyKeyException.class);
+    verifyNoInteractions(action, idempotencyKeysRepository);
+  }
+
+  private Response execute(Request request, Supplier<Response> action) {
+    return underTest.execute(IdempotentOperation.BOOK_PROPERTY, KEY, request, Response.class, action);
+  }
+
+  private IdempotencyKeyEntity stored(Request request, OffsetDateTime dateExpires) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+      return new IdempotencyKeyEntity(
+          IdempotentOperation.BOOK_PROPERTY,
+          KEY,
+          HexFormat.of().formatHex(digest),
+          "{\"value\":\"stored\"}",
+          NOW.minusHours(1),
+          dateExpires
+      );
+    } catch (Exception exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private record Request(String value) {
+
+  }
+
+  private record Response(String value) {
+
+  }
+
+}
@@ -0,0 +1,52 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileOutboxEventSinkTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  void publish_shouldAppendOneJsonLinePerEvent() throws IOException {
+    Path file = directory.resolve("events.ndjson");
+    FileOutboxEventSink underTest = new FileOutboxEventSink(file, objectMapper);
+    UUID aggregateId = UUID.randomUUID();
+
+    underTest.publish(List.of(event(1L, aggregateId)));
+    underTest.publish(List.of(event(2L, aggregateId)));
+
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(2);
+    JsonNode first = objectMapper.readTree(lines.get(0));
+    assertThat(first.get("id").asLong()).isEqualTo(1L);
+    assertThat(first.get("eventType").asText()).isEqualTo("BOOKING_CREATED");
+    assertThat(first.get("payload").get("id").asText()).isEqualTo(aggregateId.toString());
+  }
+
+  private static OutboxEvent event(long id, UUID aggregateId) {
+    return new OutboxEvent(
+        id,
+        UUID.randomUUID(),
+        id,
+        OutboxEventType.BOOKING_CREATED,
+        aggregateId,
+        "{\"id\":\"" + aggregateId + "\"}",
+        OffsetDateTime.now()
+    );
+  }
+
+}
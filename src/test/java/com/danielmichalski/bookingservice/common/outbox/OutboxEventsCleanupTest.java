@@ -0,0 +1,65 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventsCleanupTest {
+
+  private static final OffsetDateTime NOW = OffsetDateTime.now();
+
+  @Mock
+  private OutboxEventsRepository outboxEventsRepository;
+  @Mock
+  private CurrentDateTimeService currentDateTimeService;
+
+  private OutboxEventsCleanup underTest;
+
+  @BeforeEach
+  void setUp() {
+    OutboxProperties properties = new OutboxProperties(
+        Duration.ofSeconds(1),
+        2,
+        OutboxSinkType.IN_PROCESS,
+        Path.of("outbox-events.ndjson"),
+        Duration.ofDays(7),
+        Duration.ofMinutes(10)
+    );
+    underTest = new OutboxEventsCleanup(outboxEventsRepository, properties, currentDateTimeService);
+  }
+
+  @Test
+  void happyPath() {
+    when(currentDateTimeService.currentDateTime()).thenReturn(NOW);
+    when(outboxEventsRepository.deletePublishedBefore(NOW.minusDays(7), 2)).thenReturn(2, 2, 1);
+
+    int deleted = underTest.deletePublishedEvents();
+
+    assertThat(deleted).isEqualTo(5);
+    verify(outboxEventsRepository, times(3)).deletePublishedBefore(NOW.minusDays(7), 2);
+  }
+
+  @Test
+  void noExpiredEvents_shouldRunOneBatch() {
+    when(currentDateTimeService.currentDateTime()).thenReturn(NOW);
+    when(outboxEventsRepository.deletePublishedBefore(NOW.minusDays(7), 2)).thenReturn(0);
+
+    int deleted = underTest.deletePublishedEvents();
+
+    assertThat(deleted).isZero();
+    verify(outboxEventsRepository).deletePublishedBefore(NOW.minusDays(7), 2);
+  }
+
+}
@@ -0,0 +1,141 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class OutboxEventsRepositoryTest {
+
+  private static final OffsetDateTime NOW = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+  private static final int LIMIT = 10_000;
+
+  @Autowired
+  private OutboxEventsRepository underTest;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void appendEvent_shouldNumberEventsPerProperty() {
+    UUID propertyId = UUID.randomUUID();
+    UUID otherPropertyId = UUID.randomUUID();
+
+    underTest.appendEvent(event(propertyId, OutboxEventType.BOOKING_CREATED));
+    underTest.appendEvent(event(otherPropertyId, OutboxEventType.BLOCK_CREATED));
+    underTest.appendEvent(event(propertyId, OutboxEventType.BOOKING_CANCELLED));
+
+    assertThat(findUnpublished(Set.of(propertyId, otherPropertyId)))
+        .extracting(OutboxEventEntity::propertyId, OutboxEventEntity::propertySequence, OutboxEventEntity::eventType)
+        .containsExactly(
+            tuple(propertyId, 1L, OutboxEventType.BOOKING_CREATED),
+            tuple(otherPropertyId, 1L, OutboxEventType.BLOCK_CREATED),
+            tuple(propertyId, 2L, OutboxEventType.BOOKING_CANCELLED)
+        );
+  }
+
+  @Test
+  void appendEvents_shouldInsertEventsWithGivenSequences() {
+    UUID propertyId = UUID.randomUUID();
+    underTest.appendEvent(event(propertyId, OutboxEventType.BOOKING_CREATED));
+    long lastSequence = underTest.findLastSequence(propertyId);
+
+    underTest.appendEvents(List.of(
+        sequencedEvent(propertyId, lastSequence + 1, OutboxEventType.BOOKING_CREATED),
+        sequencedEvent(propertyId, lastSequence + 2, OutboxEventType.BOOKING_CREATED)
+    ));
+
+    assertThat(lastSequence).isEqualTo(1L);
+    assertThat(underTest.findLastSequence(propertyId)).isEqualTo(3L);
+    assertThat(underTest.findLastSequence(UUID.randomUUID())).isZero();
+    assertThat(findUnpublished(Set.of(propertyId)))
+        .extracting(OutboxEventEntity::propertySequence)
+        .containsExactly(1L, 2L, 3L);
+  }
+
+  @Test
+  void markPublished_shouldExcludeEventsFromUnpublished() {
+    UUID propertyId = UUID.randomUUID();
+    underTest.appendEvent(event(propertyId, OutboxEventType.BOOKING_CREATED));
+    underTest.appendEvent(event(propertyId, OutboxEventType.BOOKING_UPDATED));
+    OutboxEventEntity first = findUnpublished(Set.of(propertyId)).get(0);
+
+    int published = underTest.markPublished(List.of(first.id()), NOW);
+
+    assertThat(published).isEqualTo(1);
+    assertThat(findUnpublished(Set.of(propertyId)))
+        .extracting(OutboxEventEntity::eventType)
+        .containsExactly(OutboxEventType.BOOKING_UPDATED);
+  }
+
+  @Test
+  void deletePublishedBefore_shouldKeepUnpublishedRecentAndLastEventsOfProperties() {
+    UUID propertyId = UUID.randomUUID();
+    UUID singleEventPropertyId = UUID.randomUUID();
+    for (int i = 0; i < 4; i++) {
+      underTest.appendEvent(event(propertyId, OutboxEventType.BOOKING_UPDATED));
+    }
+    underTest.appendEvent(event(singleEventPropertyId, OutboxEventType.BLOCK_CREATED));
+    List<Long> ids = findUnpublished(Set.of(propertyId, singleEventPropertyId)).stream()
+        .map(OutboxEventEntity::id)
+        .toList();
+    underTest.markPublished(List.of(ids.get(0), ids.get(1), ids.get(3), ids.get(4)), NOW.minusDays(10));
+
+    int deleted = underTest.deletePublishedBefore(NOW.minusDays(7), LIMIT);
+
+    assertThat(deleted).isEqualTo(2);
+    assertThat(findSequences(propertyId)).containsExactly(3L, 4L);
+    assertThat(findSequences(singleEventPropertyId)).containsExactly(1L);
+    assertThat(underTest.findLastSequence(propertyId)).isEqualTo(4L);
+  }
+
+  @Test
+  void deletePublishedBefore_shouldDeleteAtMostLimitEvents() {
+    UUID propertyId = UUID.randomUUID();
+    for (int i = 0; i < 4; i++) {
+      underTest.appendEvent(event(propertyId, OutboxEventType.BOOKING_UPDATED));
+    }
+    underTest.markPublished(
+        findUnpublished(Set.of(propertyId)).stream().map(OutboxEventEntity::id).toList(),
+        NOW.minusDays(10)
+    );
+
+    int deleted = underTest.deletePublishedBefore(NOW.minusDays(7), 2);
+
+    assertThat(deleted).isEqualTo(2);
+    assertThat(findSequences(propertyId)).containsExactly(3L, 4L);
+  }
+
+  private List<Long> findSequences(UUID propertyId) {
+    return jdbcTemplate.queryForList(
+        "SELECT property_sequence FROM outbox_events WHERE property_id = ? ORDER BY property_sequence",
+        Long.class,
+        propertyId
+    );
+  }
+
+  private List<OutboxEventEntity> findUnpublished(Set<UUID> propertyIds) {
+    return underTest.findUnpublished(LIMIT).stream()
+        .filter(event -> propertyIds.contains(event.propertyId()))
+        .toList();
+  }
+
+  private static OutboxEventEntity event(UUID propertyId, OutboxEventType eventType) {
+    return sequencedEvent(propertyId, 0, eventType);
+  }
+
+  private static OutboxEventEntity sequencedEvent(UUID propertyId, long sequence, OutboxEventType eventType) {
+    return new OutboxEventEntity(null, propertyId, sequence, eventType, UUID.randomUUID(), "{}", NOW);
+  }
+
+}
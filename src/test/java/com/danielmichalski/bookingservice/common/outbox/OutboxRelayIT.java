@@ -0,0 +1,87 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.dto.UpdateBookingRequest;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.service.PropertyBookingsService;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+
+@SpringBootTest
+class OutboxRelayIT {
+
+  @Autowired
+  private PropertyBookingsService propertyBookingsService;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private OutboxRelay outboxRelay;
+  @Autowired
+  private RecordedOutboxEvents recordedOutboxEvents;
+
+  @Test
+  void bookingChanges_shouldBeRelayedInOrder() {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+    PropertyBookingDto booking = propertyBookingsService.bookProperty(
+        propertyId,
+        new BookPropertyRequest(randomAlphanumeric(5), randomAlphanumeric(5), startDate, startDate.plusDays(2))
+    );
+    propertyBookingsService.updateBooking(
+        propertyId,
+        booking.id(),
+        null,
+        new UpdateBookingRequest(randomAlphanumeric(5), randomAlphanumeric(5), startDate.plusDays(5),
+            startDate.plusDays(7))
+    );
+    propertyBookingsService.cancelBooking(propertyId, booking.id());
+
+    outboxRelay.relay();
+
+    assertThat(recordedOutboxEvents.events())
+        .filteredOn(event -> event.propertyId().equals(propertyId))
+        .extracting(OutboxEvent::propertySequence, OutboxEvent::eventType, OutboxEvent::aggregateId)
+        .containsExactly(
+            tuple(1L, OutboxEventType.BOOKING_CREATED, booking.id()),
+            tuple(2L, OutboxEventType.BOOKING_UPDATED, booking.id()),
+            tuple(3L, OutboxEventType.BOOKING_CANCELLED, booking.id())
+        );
+  }
+
+  @TestConfiguration
+  static class RecordedOutboxEventsConfig {
+
+    @Bean
+    RecordedOutboxEvents recordedOutboxEvents() {
+      return new RecordedOutboxEvents();
+    }
+  }
+
+  static class RecordedOutboxEvents {
+
+    private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+
+    @EventListener
+    void onOutboxEvent(OutboxEvent event) {
+      events.add(event);
+    }
+
+    List<OutboxEvent> events() {
+      return events;
+    }
+  }
+
+}
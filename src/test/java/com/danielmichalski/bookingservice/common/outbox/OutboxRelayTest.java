@@ -0,0 +1,81 @@
+package com.danielmichalski.bookingservice.common.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+  private static final OffsetDateTime NOW = OffsetDateTime.now();
+
+  @Mock
+  private OutboxEventsRepository outboxEventsRepository;
+  @Mock
+  private OutboxEventSink outboxEventSink;
+  @Mock
+  private CurrentDateTimeService currentDateTimeService;
+
+  private OutboxRelay underTest;
+
+  @BeforeEach
+  void setUp() {
+    OutboxProperties properties = new OutboxProperties(
+        Duration.ofSeconds(1),
+        2,
+        OutboxSinkType.IN_PROCESS,
+        Path.of("outbox-events.ndjson"),
+        Duration.ofDays(7),
+        Duration.ofMinutes(10)
+    );
+    underTest = new OutboxRelay(outboxEventsRepository, outboxEventSink, properties, currentDateTimeService);
+  }
+
+  @Test
+  void happyPath() {
+    OutboxEventEntity first = event(1L);
+    OutboxEventEntity second = event(2L);
+    OutboxEventEntity third = event(3L);
+    when(currentDateTimeService.currentDateTime()).thenReturn(NOW);
+    when(outboxEventsRepository.findUnpublished(2)).thenReturn(List.of(first, second), List.of(third));
+
+    int published = underTest.relay();
+
+    assertThat(published).isEqualTo(3);
+    verify(outboxEventSink).publish(List.of(OutboxEvent.from(first), OutboxEvent.from(second)));
+    verify(outboxEventSink).publish(List.of(OutboxEvent.from(third)));
+    verify(outboxEventsRepository).markPublished(List.of(1L, 2L), NOW);
+    verify(outboxEventsRepository).markPublished(List.of(3L), NOW);
+  }
+
+  @Test
+  void sinkFails_shouldLeaveEventsUnpublished() {
+    when(outboxEventsRepository.findUnpublished(2)).thenReturn(List.of(event(1L)));
+    doThrow(new IllegalStateException("Sink unavailable")).when(outboxEventSink).publish(any());
+
+    assertThrows(IllegalStateException.class, () -> underTest.relay());
+    verify(outboxEventsRepository, never()).markPublished(any(), any());
+  }
+
+  private static OutboxEventEntity event(long id) {
+    return new OutboxEventEntity(id, UUID.randomUUID(), id, OutboxEventType.BOOKING_CREATED, UUID.randomUUID(),
+        "{}", NOW);
+  }
+
+}
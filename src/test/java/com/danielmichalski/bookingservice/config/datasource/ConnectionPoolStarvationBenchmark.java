@@ -0,0 +1,188 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.BookingServiceApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Books properties over HTTP with a growing number of concurrent clients against a fixed size
+ * connection pool and logs, for every step, throughput, latency percentiles and the mean wait for
+ * a pooled connection on the booking endpoint. Starvation starts at the first step whose mean wait
+ * exceeds {@code benchmark.starvationThresholdMs}. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=ConnectionPoolStarvationBenchmark}, the pool size can be
+ * changed with {@code -Dbenchmark.poolSize} and the Spring profiles with {@code -Dbenchmark.profiles}.
+ */
+@Slf4j
+class ConnectionPoolStarvationBenchmark {
+
+  private static final int POOL_SIZE = Integer.getInteger("benchmark.poolSize", 10);
+  private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requestsPerClient", 50);
+  private static final double STARVATION_THRESHOLD_MS =
+      Double.parseDouble(System.getProperty("benchmark.starvationThresholdMs", "1"));
+  private static final String[] PROFILES = System.getProperty("benchmark.profiles", "").split(",");
+  private static final int[] CLIENTS_PER_CONNECTION = {1, 2, 4, 8, 16};
+  private static final int PROPERTIES = 1_000;
+  private static final int BOOKABLE_DAYS = 3_650;
+  private static final String BOOKINGS_URI = "/api/properties/{propertyId}/bookings";
+
+  @Test
+  void bookingWritePath() throws Exception {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingServiceApplication.class)
+        .profiles(Arrays.stream(PROFILES).filter(profile -> !profile.isBlank()).toArray(String[]::new))
+        .properties(
+            "server.port=0",
+            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+            "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+            "spring.datasource.hikari.connection-timeout=30000"
+        )
+        .run()) {
+      List<UUID> propertyIds = insertProperties(context.getBean(JdbcTemplate.class));
+      MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+      String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+      // warm up the JIT and fill the pool before measuring
+      runClients(baseUrl, propertyIds, POOL_SIZE);
+
+      Integer starvationClients = null;
+      for (int clientsPerConnection : CLIENTS_PER_CONNECTION) {
+        int clients = POOL_SIZE * clientsPerConnection;
+        Timer acquireTimer = acquireTimer(meterRegistry);
+        long acquisitionsBefore = acquireTimer.count();
+        double waitBeforeMs = acquireTimer.totalTime(TimeUnit.MILLISECONDS);
+
+        Result result = runClients(baseUrl, propertyIds, clients);
+
+        long acquisitions = acquireTimer.count() - acquisitionsBefore;
+        double meanWaitMs = (acquireTimer.totalTime(TimeUnit.MILLISECONDS) - waitBeforeMs) / acquisitions;
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+        log.info("pool={}, clients={}, requests={}, throughput={} req/s, p50={} ms, p99={} ms, "
+                + "mean connection wait={} ms, statuses={}",
+            POOL_SIZE,
+            clients,
+            latencies.length,
+            latencies.length * 1_000_000_000L / result.elapsedNanos(),
+            latencies[latencies.length / 2] / 1_000_000.0,
+            latencies[latencies.length * 99 / 100] / 1_000_000.0,
+            meanWaitMs,
+            result.statuses());
+        assertThat(latencies).hasSize(clients * REQUESTS_PER_CLIENT);
+
+        if (starvationClients == null && meanWaitMs > STARVATION_THRESHOLD_MS) {
+          starvationClients = clients;
+        }
+      }
+
+      log.info("pool={}: {}", POOL_SIZE, starvationClients == null
+          ? "no starvation up to " + POOL_SIZE * CLIENTS_PER_CONNECTION[CLIENTS_PER_CONNECTION.length - 1] + " clients"
+          : "starvation starts at " + starvationClients + " concurrent clients");
+    }
+  }
+
+  private static Timer acquireTimer(MeterRegistry meterRegistry) {
+    return Timer.builder(ConnectionAcquisitionMetricsDataSource.ACQUIRE_TIMER)
+        .tag("method", "POST")
+        .tag("uri", BOOKINGS_URI)
+        .tag("outcome", "success")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static List<UUID> insertProperties(JdbcTemplate jdbcTemplate) {
+    List<UUID> propertyIds = new ArrayList<>(PROPERTIES);
+    for (int i = 0; i < PROPERTIES; i++) {
+      propertyIds.add(UUID.randomUUID());
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO properties (id, name, city) VALUES (?, ?, ?)",
+        propertyIds,
+        1_000,
+        (ps, propertyId) -> {
+          ps.setObject(1, propertyId);
+          ps.setString(2, "Benchmark");
+          ps.setString(3, "Benchmark");
+        }
+    );
+    return propertyIds;
+  }
+
+  private static Result runClients(String baseUrl, List<UUID> propertyIds, int clients) throws Exception {
+    Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+    CountDownLatch startGate = new CountDownLatch(1);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+         HttpClient httpClient = HttpClient.newBuilder()
+             .version(HttpClient.Version.HTTP_1_1)
+             .executor(executor)
+             .build()) {
+      List<Future<long[]>> futures = new ArrayList<>(clients);
+      for (int client = 0; client < clients; client++) {
+        futures.add(executor.submit(() -> {
+          startGate.await();
+          long[] latencies = new long[REQUESTS_PER_CLIENT];
+          for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+            HttpRequest request = bookingRequest(baseUrl, propertyIds);
+            long startedAt = System.nanoTime();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - startedAt;
+            statuses.computeIfAbsent(response.statusCode(), status -> new AtomicInteger()).incrementAndGet();
+          }
+          return latencies;
+        }));
+      }
+
+      long startedAt = System.nanoTime();
+      startGate.countDown();
+      long[] latencies = new long[clients * REQUESTS_PER_CLIENT];
+      int offset = 0;
+      for (Future<long[]> future : futures) {
+        long[] clientLatencies = future.get();
+        System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+        offset += clientLatencies.length;
+      }
+      return new Result(latencies, System.nanoTime() - startedAt, statuses);
+    }
+  }
+
+  private static HttpRequest bookingRequest(String baseUrl, List<UUID> propertyIds) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    UUID propertyId = propertyIds.get(random.nextInt(propertyIds.size()));
+    LocalDate startDate = LocalDate.now().plusDays(1 + random.nextInt(BOOKABLE_DAYS));
+    String body = """
+        {"guestFirstName": "John", "guestLastName": "Doe", "startDate": "%sT12:00:00Z", "endDate": "%sT10:00:00Z"}
+        """.formatted(startDate, startDate.plusDays(1));
+    return HttpRequest.newBuilder(URI.create(baseUrl + "/api/properties/" + propertyId + "/bookings"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private record Result(long[] latencies, long elapsedNanos, Map<Integer, AtomicInteger> statuses) {
+
+  }
+
+}
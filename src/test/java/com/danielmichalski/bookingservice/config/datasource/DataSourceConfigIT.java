@@ -0,0 +1,67 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.controller.ControllerTestBase;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@SpringBootTest
+class DataSourceConfigIT extends ControllerTestBase {
+
+  private static final String BOOKINGS_URI = "/api/properties/{propertyId}/bookings";
+
+  @Autowired
+  private DataSource dataSource;
+  @Autowired
+  private MeterRegistry meterRegistry;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+
+  @Test
+  void dataSource_shouldWrapHikariPool() throws Exception {
+    assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+    assertThat(((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource())
+        .isInstanceOf(ConnectionAcquisitionMetricsDataSource.class);
+    assertThat(dataSource.unwrap(HikariDataSource.class)).isNotNull();
+    assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+  }
+
+  @Test
+  void bookProperty_shouldRecordConnectionAcquisitionOfEndpoint() throws Exception {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    long acquisitionsBefore = bookingAcquisitions();
+    BookPropertyRequest request = new BookPropertyRequest(
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        OffsetDateTime.now().plusDays(1),
+        OffsetDateTime.now().plusDays(2)
+    );
+
+    post(request, HttpStatus.CREATED, BOOKINGS_URI, propertyId);
+
+    assertThat(bookingAcquisitions()).isGreaterThan(acquisitionsBefore);
+  }
+
+  private long bookingAcquisitions() {
+    Timer timer = meterRegistry.find(ConnectionAcquisitionMetricsDataSource.ACQUIRE_TIMER)
+        .tag("method", "POST")
+        .tag("uri", BOOKINGS_URI)
+        .tag("outcome", "success")
+        .timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+}
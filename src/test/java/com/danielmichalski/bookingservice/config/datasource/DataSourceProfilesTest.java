@@ -0,0 +1,67 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import com.zaxxer.hikari.HikariConfig;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+class DataSourceProfilesTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"virtual-threads", "postgres"})
+  void profilePoolSettings_shouldBeAcceptedByValidator(String profile) throws IOException {
+    HikariConfig config = bindHikariConfig(profile);
+
+    assertThatCode(() -> HikariSettingsValidator.validate(config)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void postgresProfile_shouldUseFixedSizePoolWithDriverSideStatementCachingAndBatchRewriting() throws IOException {
+    HikariConfig config = bindHikariConfig("postgres");
+
+    assertThat(config.getMinimumIdle()).isEqualTo(config.getMaximumPoolSize());
+    assertThat(config.getLeakDetectionThreshold()).isPositive();
+    assertThat(config.getDataSourceProperties())
+        .containsEntry("reWriteBatchedInserts", "true")
+        .containsKeys("prepareThreshold", "preparedStatementCacheQueries", "preparedStatementCacheSizeMiB");
+  }
+
+  @Test
+  void postgresProfile_shouldUseReadOnlyReplicaPoolAcceptedByValidator() throws IOException {
+    HikariConfig config = bindHikariConfig("postgres", "booking.datasource.replica.hikari");
+
+    assertThat(config.isReadOnly()).isTrue();
+    assertThat(config.getPoolName()).isEqualTo("booking-replica-pool");
+    assertThatCode(() -> HikariSettingsValidator.validate(config)).doesNotThrowAnyException();
+  }
+
+  private static HikariConfig bindHikariConfig(String profile) throws IOException {
+    return bindHikariConfig(profile, "spring.datasource.hikari");
+  }
+
+  private static HikariConfig bindHikariConfig(String profile, String prefix) throws IOException {
+    List<PropertySource<?>> documents = new YamlPropertySourceLoader()
+        .load("application", new ClassPathResource("application.yaml"));
+    PropertySource<?> document = documents.stream()
+        .filter(source -> profile.equals(source.getProperty("spring.config.activate.on-profile")))
+        .findFirst()
+        .orElseThrow();
+    Binder binder = new Binder(
+        ConfigurationPropertySources.from(document),
+        new PropertySourcesPlaceholdersResolver(List.of(document))
+    );
+    return binder.bind(prefix, HikariConfig.class).get();
+  }
+
+}
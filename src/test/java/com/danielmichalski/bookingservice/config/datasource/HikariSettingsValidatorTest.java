@@ -0,0 +1,44 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Test;
+
+class HikariSettingsValidatorTest {
+
+  @Test
+  void defaultSettings_shouldPass() {
+    assertThatCode(() -> HikariSettingsValidator.validate(new HikariConfig())).doesNotThrowAnyException();
+  }
+
+  @Test
+  void leakDetectionThresholdNotShorterThanMaxLifetime_shouldThrowAnException() {
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("test-pool");
+    config.setMaxLifetime(60_000);
+    config.setLeakDetectionThreshold(60_000);
+
+    assertThatThrownBy(() -> HikariSettingsValidator.validate(config))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Invalid connection pool test-pool: "
+            + "leak-detection-threshold should be at least 2000 ms and shorter than max-lifetime");
+  }
+
+  @Test
+  void severalInvalidSettings_shouldReportAllOfThem() {
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("test-pool");
+    config.setMaximumPoolSize(5);
+    config.setMinimumIdle(10);
+    config.setMaxLifetime(60_000);
+    config.setKeepaliveTime(60_000);
+
+    assertThatThrownBy(() -> HikariSettingsValidator.validate(config))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Invalid connection pool test-pool: minimum-idle should not be greater than maximum-pool-size, "
+            + "keepalive-time should be shorter than max-lifetime");
+  }
+
+}
@@ -0,0 +1,101 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.repository.PropertiesRepository;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+    "booking.datasource.replica.enabled=true",
+    "booking.datasource.replica.url=jdbc:h2:mem:replica-routing-it;DB_CLOSE_DELAY=-1",
+    "booking.datasource.replica.username=sa"
+})
+class ReadReplicaRoutingIT {
+
+  @Autowired
+  private DataSource dataSource;
+  @Autowired
+  @Qualifier("replicaDataSource")
+  private DataSource replicaDataSource;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private PropertiesRepository propertiesRepository;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+
+  private UUID replicaPropertyId;
+
+  @BeforeEach
+  void setUp() {
+    JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+    replicaJdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS properties (id UUID PRIMARY KEY, name VARCHAR(255), city VARCHAR(255))
+        """);
+    replicaPropertyId = UUID.randomUUID();
+    replicaJdbcTemplate.update(
+        "INSERT INTO properties (id, name, city) VALUES (?, ?, ?)",
+        replicaPropertyId,
+        randomAlphanumeric(5),
+        randomAlphanumeric(5)
+    );
+  }
+
+  @Test
+  void dataSource_shouldConnectLazily() {
+    assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+  }
+
+  @Test
+  void replicaReadOutsideTransaction_shouldReadFromReplica() {
+    UUID primaryPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+
+    assertThat(propertiesRepository.propertyExists(replicaPropertyId)).isTrue();
+    assertThat(propertiesRepository.propertyExists(primaryPropertyId)).isFalse();
+  }
+
+  @Test
+  void unmarkedQueryOutsideTransaction_shouldReadFromPrimary() {
+    assertThat(countProperties(replicaPropertyId)).isZero();
+  }
+
+  @Test
+  void readOnlyTransaction_shouldReadFromReplica() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+
+    Integer count = transactionTemplate.execute(status -> countProperties(replicaPropertyId));
+
+    assertThat(count).isEqualTo(1);
+  }
+
+  @Test
+  void replicaReadInsideReadWriteTransaction_shouldReadFromPrimary() {
+    UUID primaryPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      assertThat(propertiesRepository.propertyExists(replicaPropertyId)).isFalse();
+      assertThat(propertiesRepository.propertyExists(primaryPropertyId)).isTrue();
+    });
+  }
+
+  private Integer countProperties(UUID propertyId) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM properties WHERE id = ?", Integer.class, propertyId);
+  }
+
+}
@@ -0,0 +1,44 @@
+package com.danielmichalski.bookingservice.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+class ReplicaDataSourcePropertiesTest {
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+      .withUserConfiguration(PropertiesConfig.class);
+
+  @Test
+  void enabledWithoutUrl_shouldFailOnStartup() {
+    contextRunner.withPropertyValues("booking.datasource.replica.enabled=true")
+        .run(context -> assertThat(context).hasFailed()
+            .getFailure()
+            .rootCause()
+            .hasMessageContaining("url must be set when the replica is enabled"));
+  }
+
+  @Test
+  void enabledWithUrl_shouldStart() {
+    contextRunner.withPropertyValues(
+            "booking.datasource.replica.enabled=true",
+            "booking.datasource.replica.url=jdbc:h2:mem:replica"
+        )
+        .run(context -> assertThat(context).hasNotFailed());
+  }
+
+  @Test
+  void disabledWithoutUrl_shouldStart() {
+    contextRunner.run(context -> assertThat(context).hasNotFailed());
+  }
+
+  @Configuration
+  @EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+  static class PropertiesConfig {
+
+  }
+
+}
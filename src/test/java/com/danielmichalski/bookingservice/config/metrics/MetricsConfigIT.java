@@ -0,0 +1,51 @@
+package com.danielmichalski.bookingservice.config.metrics;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsConfigIT {
+
+  @Autowired
+  private TestRestTemplate testRestTemplate;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+
+  @Test
+  void prometheusEndpoint_shouldExposeMapperServiceAndValidationMetrics() {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(1);
+    BookPropertyRequest request = new BookPropertyRequest(
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        startDate,
+        startDate.plusDays(2)
+    );
+    testRestTemplate.postForEntity("/api/properties/{propertyId}/bookings", request, String.class, propertyId);
+    testRestTemplate.postForEntity("/api/properties/{propertyId}/bookings", request, String.class, propertyId);
+
+    ResponseEntity<String> response = testRestTemplate.getForEntity("/actuator/prometheus", String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody())
+        .contains("mybatis_mapper_seconds_count{mapper=\"PropertyBookingsRepository\",method=\"bookProperties\"")
+        .contains("booking_service_seconds_bucket{class=\"com.danielmichalski.bookingservice.property.service"
+            + ".PropertyBookingsBatchService\"")
+        .contains("booking_coalescing_batch_size_count")
+        .containsPattern("booking_validation_failures_total\\{reason=\"overlap\",} [1-9]");
+  }
+
+}
@@ -0,0 +1,60 @@
+package com.danielmichalski.bookingservice.config.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarQuery;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyCalendarEntryEntity;
+import com.danielmichalski.bookingservice.property.repository.PropertyCalendarRepository;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+class MapperRuntimeHintsAotProcessorTest {
+
+  private final MapperRuntimeHintsAotProcessor underTest = new MapperRuntimeHintsAotProcessor();
+
+  @Test
+  void scannedMapper_shouldRegisterProxyAndTypesOfItsMethods() {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerBeanDefinition("propertyCalendarRepository", BeanDefinitionBuilder
+        .genericBeanDefinition(MapperFactoryBean.class)
+        .addPropertyValue("mapperInterface", PropertyCalendarRepository.class)
+        .getBeanDefinition());
+    RuntimeHints hints = new RuntimeHints();
+    GenerationContext generationContext = mock(GenerationContext.class);
+    when(generationContext.getRuntimeHints()).thenReturn(hints);
+
+    BeanFactoryInitializationAotContribution contribution = underTest.processAheadOfTime(beanFactory);
+    contribution.applyTo(generationContext, null);
+
+    assertThat(RuntimeHintsPredicates.proxies().forInterfaces(PropertyCalendarRepository.class)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(PropertyCalendarRepository.class)
+        .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+    for (Class<?> type : new Class<?>[] {
+        PropertyCalendarQuery.class,
+        PropertyCalendarEntryEntity.class,
+        CalendarEntryType.class
+    }) {
+      assertThat(RuntimeHintsPredicates.reflection().onType(type)
+          .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS))
+          .accepts(hints);
+    }
+    assertThat(RuntimeHintsPredicates.reflection().onType(UUID.class)).rejects(hints);
+  }
+
+  @Test
+  void noMappers_shouldNotContribute() {
+    assertThat(underTest.processAheadOfTime(new DefaultListableBeanFactory())).isNull();
+  }
+
+}
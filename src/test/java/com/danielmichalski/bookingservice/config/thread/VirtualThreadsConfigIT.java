@@ -0,0 +1,59 @@
+package com.danielmichalski.bookingservice.config.thread;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VirtualThreadsConfigIT {
+
+  @Autowired
+  private TestRestTemplate testRestTemplate;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  void dataSource_shouldHandOutConnectionsLazily() {
+    assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+  }
+
+  @Test
+  void bookProperty_shouldSucceedWithVirtualThreadsEnabled() {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    BookPropertyRequest request = new BookPropertyRequest(
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        OffsetDateTime.now().plusDays(1),
+        OffsetDateTime.now().plusDays(2)
+    );
+
+    ResponseEntity<PropertyBookingDto> response = testRestTemplate.postForEntity(
+        "/api/properties/{propertyId}/bookings",
+        request,
+        PropertyBookingDto.class,
+        propertyId
+    );
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(response.getBody()).isNotNull();
+    assertThat(response.getBody().propertyId()).isEqualTo(propertyId);
+  }
+
+}
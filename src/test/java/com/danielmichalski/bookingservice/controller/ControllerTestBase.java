@@ -12,6 +12,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -152,6 +153,19 @@ public class ControllerTestBase {
         .andExpect(MockMvcResultMatchers.status().is(status.value()));
   }
 
+  protected ResultActions getStreamed(HttpStatus status, String url, Map<String, String> queryParams,
+                                      Object... pathArgs) throws Exception {
+    MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+    queryParams.forEach(params::add);
+
+    MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(url, pathArgs)
+            .queryParams(params))
+        .andExpect(MockMvcResultMatchers.request().asyncStarted())
+        .andReturn();
+    return mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+        .andExpect(MockMvcResultMatchers.status().is(status.value()));
+  }
+
   protected ResultActions delete(HttpStatus status, String url, Object... pathArgs) throws Exception {
     return mockMvc.perform(MockMvcRequestBuilders.delete(url, pathArgs))
         .andExpect(MockMvcResultMatchers.status().is(status.value()));
@@ -0,0 +1,85 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyArchiveJobTest {
+
+  private static final OffsetDateTime NOW = OffsetDateTime.now();
+  private static final Duration RETENTION = Duration.ofDays(30);
+  private static final OffsetDateTime CUTOFF = NOW.minus(RETENTION);
+
+  @Mock
+  private PropertyArchiver propertyArchiver;
+  @Mock
+  private PropertyArchiveRepository propertyArchiveRepository;
+  @Mock
+  private ArchiveMetrics archiveMetrics;
+  @Mock
+  private CurrentDateTimeService currentDateTimeService;
+
+  @BeforeEach
+  void setUp() {
+    when(currentDateTimeService.currentDateTime()).thenReturn(NOW);
+  }
+
+  @Test
+  void happyPath() {
+    PropertyArchiveJob underTest = job(Duration.ofMinutes(1));
+    when(propertyArchiver.archiveBookings(CUTOFF, 2, NOW)).thenReturn(2, 2, 1);
+    when(propertyArchiver.archiveBlocks(CUTOFF, 2, NOW)).thenReturn(1);
+    when(propertyArchiveRepository.findBookingsBacklog(CUTOFF)).thenReturn(null);
+    when(propertyArchiveRepository.findBlocksBacklog(CUTOFF)).thenReturn(null);
+
+    int archived = underTest.archive();
+
+    assertThat(archived).isEqualTo(6);
+    verify(propertyArchiver, times(3)).archiveBookings(CUTOFF, 2, NOW);
+    verify(propertyArchiver, times(1)).archiveBlocks(CUTOFF, 2, NOW);
+    verify(archiveMetrics, times(2)).rowsArchived(ArchivedTable.BOOKINGS, 2);
+    verify(archiveMetrics).rowsArchived(ArchivedTable.BOOKINGS, 1);
+    verify(archiveMetrics).rowsArchived(ArchivedTable.BLOCKS, 1);
+    verify(archiveMetrics).lag(ArchivedTable.BOOKINGS, Duration.ZERO);
+    verify(archiveMetrics).lag(ArchivedTable.BLOCKS, Duration.ZERO);
+  }
+
+  @Test
+  void runtimeWindowOver_shouldLeaveRowsForNextRunAndReportLag() {
+    PropertyArchiveJob underTest = job(Duration.ZERO);
+    when(propertyArchiveRepository.findBookingsBacklog(CUTOFF))
+        .thenReturn(new ArchiveBacklogEntity(NOW.minusHours(2), CUTOFF.minusDays(1)));
+    when(propertyArchiveRepository.findBlocksBacklog(CUTOFF))
+        .thenReturn(new ArchiveBacklogEntity(NOW.minusMinutes(5), null));
+
+    int archived = underTest.archive();
+
+    assertThat(archived).isZero();
+    verify(propertyArchiver, never()).archiveBookings(any(), anyInt(), any());
+    verify(propertyArchiver, never()).archiveBlocks(any(), anyInt(), any());
+    verify(archiveMetrics).lag(ArchivedTable.BOOKINGS, Duration.ofDays(1));
+    verify(archiveMetrics).lag(ArchivedTable.BLOCKS, Duration.ofMinutes(5));
+  }
+
+  private PropertyArchiveJob job(Duration maxRuntime) {
+    ArchiveProperties properties = new ArchiveProperties(true, Duration.ofHours(1), RETENTION, 2, Duration.ZERO,
+        maxRuntime);
+    return new PropertyArchiveJob(propertyArchiver, propertyArchiveRepository, properties, archiveMetrics,
+        currentDateTimeService);
+  }
+
+}
@@ -0,0 +1,116 @@
+package com.danielmichalski.bookingservice.property.archive;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBlocksTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class PropertyArchiverTest {
+
+  private static final OffsetDateTime NOW = OffsetDateTime.now().truncatedTo(ChronoUnit.DAYS);
+  private static final OffsetDateTime CUTOFF = NOW.minusDays(30);
+  private static final int CHUNK_SIZE = 10_000;
+
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private PropertyBookingsTestDataHelper propertyBookingsTestDataHelper;
+  @Autowired
+  private PropertyBlocksTestDataHelper propertyBlocksTestDataHelper;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private PropertyArchiveRepository propertyArchiveRepository;
+  @Autowired
+  private PropertyArchiver underTest;
+
+  private UUID propertyId;
+
+  @BeforeEach
+  void setUp() {
+    propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(10), randomAlphanumeric(7));
+  }
+
+  @Test
+  void archiveBookings_shouldMoveCancelledAndLongPastBookings() {
+    UUID cancelled = propertyBookingsTestDataHelper.insertPropertyBooking(booking(NOW.plusDays(5)));
+    propertyBookingsTestDataHelper.cancelBooking(cancelled, NOW);
+    UUID longPast = propertyBookingsTestDataHelper.insertPropertyBooking(booking(CUTOFF.minusDays(10)));
+    UUID recentlyEnded = propertyBookingsTestDataHelper.insertPropertyBooking(booking(CUTOFF.plusDays(1)));
+    UUID upcoming = propertyBookingsTestDataHelper.insertPropertyBooking(booking(NOW.plusDays(10)));
+
+    int archived = underTest.archiveBookings(CUTOFF, CHUNK_SIZE, NOW);
+
+    assertThat(archived).isGreaterThanOrEqualTo(2);
+    assertThat(ids("property_bookings")).containsExactlyInAnyOrder(recentlyEnded, upcoming);
+    assertThat(ids("property_bookings_archive")).containsExactlyInAnyOrder(cancelled, longPast);
+  }
+
+  @Test
+  void archiveBlocks_shouldMoveCancelledAndLongPastBlocks() {
+    UUID cancelled = propertyBlocksTestDataHelper.insertPropertyBlock(block(NOW.plusDays(5)));
+    propertyBlocksTestDataHelper.cancelPropertyBlock(cancelled, NOW);
+    UUID longPast = propertyBlocksTestDataHelper.insertPropertyBlock(block(CUTOFF.minusDays(10)));
+    UUID upcoming = propertyBlocksTestDataHelper.insertPropertyBlock(block(NOW.plusDays(10)));
+
+    int archived = underTest.archiveBlocks(CUTOFF, CHUNK_SIZE, NOW);
+
+    assertThat(archived).isGreaterThanOrEqualTo(2);
+    assertThat(ids("property_blocks")).containsExactly(upcoming);
+    assertThat(ids("property_blocks_archive")).containsExactlyInAnyOrder(cancelled, longPast);
+  }
+
+  @Test
+  void archiveBookings_shouldMoveAtMostOneChunk() {
+    for (int i = 0; i < 3; i++) {
+      propertyBookingsTestDataHelper.insertPropertyBooking(booking(CUTOFF.minusDays(10 + i * 5L)));
+    }
+
+    int archived = underTest.archiveBookings(CUTOFF, 2, NOW);
+
+    assertThat(archived).isEqualTo(2);
+  }
+
+  @Test
+  void findBookingsBacklog_shouldReturnOldestArchivableRows() {
+    UUID cancelled = propertyBookingsTestDataHelper.insertPropertyBooking(booking(NOW.plusDays(5)));
+    propertyBookingsTestDataHelper.cancelBooking(cancelled, NOW.minusDays(3));
+    propertyBookingsTestDataHelper.insertPropertyBooking(booking(CUTOFF.minusDays(10)));
+
+    ArchiveBacklogEntity backlog = propertyArchiveRepository.findBookingsBacklog(CUTOFF);
+
+    assertThat(backlog.oldestDateDeleted()).isBeforeOrEqualTo(NOW.minusDays(3));
+    assertThat(backlog.oldestEndDate()).isBeforeOrEqualTo(CUTOFF.minusDays(8));
+  }
+
+  private PropertyBookingEntity booking(OffsetDateTime startDate) {
+    return new PropertyBookingEntity(UUID.randomUUID(), randomAlphanumeric(4), randomAlphanumeric(3),
+        startDate.minusDays(30), startDate, startDate.plusDays(2), propertyId, 0);
+  }
+
+  private PropertyBlockEntity block(OffsetDateTime startDate) {
+    return new PropertyBlockEntity(UUID.randomUUID(), startDate.minusDays(30), startDate, startDate.plusDays(2),
+        propertyId, 0);
+  }
+
+  private List<UUID> ids(String table) {
+    return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE property_id = ?", UUID.class, propertyId);
+  }
+
+}
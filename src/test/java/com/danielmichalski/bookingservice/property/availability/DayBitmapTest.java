@@ -0,0 +1,91 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class DayBitmapTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+  private final DayBitmap underTest = DayBitmap.of(List.of(
+      interval(IntervalType.BOOKING, 0, 2),
+      interval(IntervalType.BOOKING, 60, 70),
+      interval(IntervalType.BLOCK, 5, 6),
+      interval(IntervalType.BOOKING, 400, 400)
+  ), IntervalType.BOOKING);
+
+  @Test
+  void intersects_shouldCheckOnlyDaysWithinRange() {
+    assertThat(underTest.intersects(day(2), day(4))).isTrue();
+    assertThat(underTest.intersects(day(3), day(59))).isFalse();
+    assertThat(underTest.intersects(day(65), day(65))).isTrue();
+    assertThat(underTest.intersects(day(71), day(399))).isFalse();
+    assertThat(underTest.intersects(day(-100), day(1_000))).isTrue();
+  }
+
+  @Test
+  void intersects_shouldIgnoreOtherIntervalTypes() {
+    assertThat(underTest.intersects(day(5), day(6))).isFalse();
+  }
+
+  @Test
+  void get_shouldReturnDaysRelativeToFirstDay() {
+    BitSet expected = new BitSet();
+    expected.set(0, 3);
+    expected.set(60, 71);
+
+    assertThat(underTest.get(day(0), 365)).isEqualTo(expected);
+    assertThat(underTest.get(day(62), 3)).isEqualTo(BitSet.valueOf(new long[] {0b111}));
+  }
+
+  @Test
+  void yearOfDailyBookings_shouldTakeSixWords() {
+    List<AvailabilityInterval> intervals = new ArrayList<>();
+    for (int i = 0; i < 365; i++) {
+      intervals.add(interval(IntervalType.BOOKING, i, i));
+    }
+
+    DayBitmap bitmap = DayBitmap.of(intervals, IntervalType.BOOKING);
+
+    assertThat(bitmap.wordCount()).isLessThanOrEqualTo(7);
+    assertThat(bitmap.get(day(0), 365).cardinality()).isEqualTo(365);
+  }
+
+  @Test
+  void with_shouldMatchBitmapBuiltFromAllIntervals() {
+    List<AvailabilityInterval> intervals = List.of(
+        interval(IntervalType.BOOKING, 100, 300),
+        interval(IntervalType.BOOKING, 5, 10),
+        interval(IntervalType.BOOKING, 63, 64),
+        interval(IntervalType.BOOKING, 1_000, 1_001)
+    );
+    DayBitmap bitmap = DayBitmap.EMPTY;
+    for (AvailabilityInterval interval : intervals) {
+      bitmap = bitmap.with(interval);
+    }
+
+    assertThat(bitmap.get(day(0), 1_100)).isEqualTo(DayBitmap.of(intervals, IntervalType.BOOKING).get(day(0), 1_100));
+    assertThat(bitmap.wordCount()).isEqualTo(DayBitmap.of(intervals, IntervalType.BOOKING).wordCount());
+  }
+
+  private static AvailabilityInterval interval(IntervalType type, int firstDay, int lastDay) {
+    return AvailabilityInterval.of(UUID.randomUUID(), type, dateTime(firstDay), dateTime(lastDay));
+  }
+
+  private static OffsetDateTime dateTime(int day) {
+    return FIRST_DAY.plusDays(day).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+  }
+
+  private static long day(int day) {
+    return FIRST_DAY.plusDays(day).toEpochDay();
+  }
+
+}
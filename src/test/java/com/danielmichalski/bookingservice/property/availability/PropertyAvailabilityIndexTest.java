@@ -0,0 +1,160 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.mother.PropertyBlockEntityMother;
+import com.danielmichalski.bookingservice.property.mother.PropertyBookingEntityMother;
+import com.danielmichalski.bookingservice.property.repository.PropertyBlocksRepository;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyAvailabilityIndexTest {
+
+  @Mock
+  private PropertyBookingsRepository propertyBookingsRepository;
+  @Mock
+  private PropertyBlocksRepository propertyBlocksRepository;
+
+  private PropertyAvailabilityIndex underTest;
+
+  @BeforeEach
+  void setUp() {
+    underTest = new PropertyAvailabilityIndex(
+        new AvailabilityIndexProperties(true),
+        propertyBookingsRepository,
+        propertyBlocksRepository
+    );
+  }
+
+  @Test
+  void bookingSaved_shouldMakeRangeUnavailable() {
+    UUID propertyId = UUID.randomUUID();
+    PropertyBookingEntity booking = PropertyBookingEntityMother.complete(propertyId);
+
+    underTest.bookingSaved(booking);
+
+    assertThat(underTest.overlaps(propertyId, booking.startDate(), booking.endDate())).isTrue();
+    assertThat(underTest.overlaps(UUID.randomUUID(), booking.startDate(), booking.endDate())).isFalse();
+  }
+
+  @Test
+  void blockSaved_shouldMakeRangeUnavailable() {
+    UUID propertyId = UUID.randomUUID();
+    PropertyBlockEntity block = PropertyBlockEntityMother.complete(propertyId);
+
+    underTest.blockSaved(block);
+
+    assertThat(underTest.findOverlap(propertyId, block.startDate(), block.endDate()))
+        .hasValueSatisfying(interval -> assertThat(interval.type()).isEqualTo(IntervalType.BLOCK));
+  }
+
+  @Test
+  void intervalRemoved_shouldMakeRangeAvailableAgain() {
+    UUID propertyId = UUID.randomUUID();
+    PropertyBookingEntity booking = PropertyBookingEntityMother.complete(propertyId);
+    underTest.bookingSaved(booking);
+
+    underTest.intervalRemoved(propertyId, booking.id());
+
+    assertThat(underTest.overlaps(propertyId, booking.startDate(), booking.endDate())).isFalse();
+  }
+
+  @Test
+  void storedDatesAreTruncatedToDays_likeInTheDatabase() {
+    UUID propertyId = UUID.randomUUID();
+    OffsetDateTime day = OffsetDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS);
+    PropertyBookingEntity booking = new PropertyBookingEntity(
+        UUID.randomUUID(),
+        "John",
+        "Doe",
+        OffsetDateTime.now(),
+        day.plusHours(15),
+        day.plusDays(3).plusHours(11),
+        propertyId,
+        0
+    );
+    underTest.bookingSaved(booking);
+
+    assertThat(underTest.overlaps(propertyId, day.plusDays(3), day.plusDays(5))).isTrue();
+    assertThat(underTest.overlaps(propertyId, day.plusDays(3).plusHours(1), day.plusDays(5))).isFalse();
+    assertThat(underTest.overlaps(propertyId, day.minusDays(2), day)).isTrue();
+  }
+
+  @Test
+  void rebuild_shouldCoverOnlyRangesStartingOnOrAfterTheLoadedDay() {
+    LocalDate today = LocalDate.now();
+
+    assertThat(underTest.covers(today)).isFalse();
+
+    underTest.rebuild();
+
+    verify(propertyBookingsRepository).findAllUpcoming(eq(today), any());
+    verify(propertyBlocksRepository).findAllUpcoming(eq(today), any());
+    assertThat(underTest.covers(today)).isTrue();
+    assertThat(underTest.covers(OffsetDateTime.now().plusDays(3))).isTrue();
+    assertThat(underTest.covers(today.minusDays(1))).isFalse();
+    assertThat(underTest.covers(OffsetDateTime.now().minusDays(3))).isFalse();
+  }
+
+  @Test
+  void disabledIndex_shouldIgnoreWrites() {
+    PropertyAvailabilityIndex disabledIndex = new PropertyAvailabilityIndex(
+        new AvailabilityIndexProperties(false),
+        propertyBookingsRepository,
+        propertyBlocksRepository
+    );
+    UUID propertyId = UUID.randomUUID();
+    PropertyBookingEntity booking = PropertyBookingEntityMother.complete(propertyId);
+
+    disabledIndex.bookingSaved(booking);
+
+    assertThat(disabledIndex.overlaps(propertyId, booking.startDate(), booking.endDate())).isFalse();
+  }
+
+  @Nested
+  class TransactionalWriteTests {
+
+    @BeforeEach
+    void setUp() {
+      TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void write_shouldBeAppliedOnlyAfterCommit() {
+      UUID propertyId = UUID.randomUUID();
+      PropertyBookingEntity booking = PropertyBookingEntityMother.complete(propertyId);
+
+      underTest.bookingSaved(booking);
+
+      assertThat(underTest.overlaps(propertyId, booking.startDate(), booking.endDate())).isFalse();
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+      assertThat(underTest.overlaps(propertyId, booking.startDate(), booking.endDate())).isTrue();
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+package com.danielmichalski.bookingservice.property.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class PropertyIntervalsTest {
+
+  @Nested
+  class FindOverlapTests {
+
+    private PropertyIntervals underTest;
+
+    @BeforeEach
+    void setUp() {
+      underTest = PropertyIntervals.of(List.of(
+          new AvailabilityInterval(UUID.randomUUID(), IntervalType.BOOKING, 50, 60),
+          new AvailabilityInterval(UUID.randomUUID(), IntervalType.BLOCK, 10, 20),
+          new AvailabilityInterval(UUID.randomUUID(), IntervalType.BOOKING, 30, 40)
+      ));
+    }
+
+    @ParameterizedTest(name = "[{index}] => [{0}], start={1}, end={2}")
+    @MethodSource("provideOverlappingRanges")
+    void rangeOverlaps_shouldReturnOverlappingInterval(String testCaseDescription, long start, long end) {
+      Optional<AvailabilityInterval> result = underTest.findOverlap(start, end);
+
+      assertThat(result)
+          .as(testCaseDescription)
+          .hasValueSatisfying(interval -> assertThat(interval.overlaps(start, end)).isTrue());
+    }
+
+    @ParameterizedTest(name = "[{index}] => [{0}], start={1}, end={2}")
+    @MethodSource("provideFreeRanges")
+    void rangeDoesNotOverlap_shouldReturnEmptyOptional(String testCaseDescription, long start, long end) {
+      Optional<AvailabilityInterval> result = underTest.findOverlap(start, end);
+
+      assertThat(result)
+          .as(testCaseDescription)
+          .isEmpty();
+    }
+
+    private static Stream<Arguments> provideOverlappingRanges() {
+      return Stream.of(
+          Arguments.of("range contains existing interval", 5, 25),
+          Arguments.of("range inside existing interval", 32, 38),
+          Arguments.of("range starts inside existing interval", 55, 70),
+          Arguments.of("range ends inside existing interval", 45, 52),
+          Arguments.of("range ends on existing start", 0, 10),
+          Arguments.of("range starts on existing end", 40, 45),
+          Arguments.of("range spans all intervals", 0, 100)
+      );
+    }
+
+    private static Stream<Arguments> provideFreeRanges() {
+      return Stream.of(
+          Arguments.of("range before all intervals", 0, 9),
+          Arguments.of("range between intervals", 21, 29),
+          Arguments.of("range after all intervals", 61, 100)
+      );
+    }
+  }
+
+  @Test
+  void longIntervalBeforeShortOnes_shouldStillBeFound() {
+    AvailabilityInterval longInterval = new AvailabilityInterval(UUID.randomUUID(), IntervalType.BLOCK, 0, 1000);
+    PropertyIntervals underTest = PropertyIntervals.of(List.of(
+        longInterval,
+        new AvailabilityInterval(UUID.randomUUID(), IntervalType.BOOKING, 10, 20),
+        new AvailabilityInterval(UUID.randomUUID(), IntervalType.BOOKING, 30, 40)
+    ));
+
+    assertThat(underTest.findOverlap(500, 600)).contains(longInterval);
+  }
+
+  @Test
+  void with_shouldReplaceIntervalWithTheSameId() {
+    UUID id = UUID.randomUUID();
+    PropertyIntervals underTest = PropertyIntervals.EMPTY
+        .with(new AvailabilityInterval(id, IntervalType.BOOKING, 10, 20))
+        .with(new AvailabilityInterval(id, IntervalType.BOOKING, 30, 40));
+
+    assertThat(underTest.size()).isEqualTo(1);
+    assertThat(underTest.findOverlap(10, 20)).isEmpty();
+    assertThat(underTest.findOverlap(30, 40)).isPresent();
+  }
+
+  @Test
+  void without_shouldRemoveInterval() {
+    UUID id = UUID.randomUUID();
+    PropertyIntervals underTest = PropertyIntervals.EMPTY
+        .with(new AvailabilityInterval(id, IntervalType.BOOKING, 10, 20))
+        .without(id);
+
+    assertThat(underTest.isEmpty()).isTrue();
+    assertThat(underTest.findOverlap(0, 100)).isEmpty();
+  }
+
+  @Test
+  void manyIntervals_shouldMatchLinearScan() {
+    List<AvailabilityInterval> intervals = new ArrayList<>();
+    PropertyIntervals underTest = PropertyIntervals.EMPTY;
+    for (int i = 0; i < 2_000; i++) {
+      long start = (i * 7919L) % 10_000;
+      AvailabilityInterval interval =
+          new AvailabilityInterval(UUID.randomUUID(), IntervalType.BOOKING, start, start + (i % 13));
+      intervals.add(interval);
+      underTest = underTest.with(interval);
+    }
+
+    for (long queryStart = 0; queryStart < 10_100; queryStart += 37) {
+      long start = queryStart;
+      long end = queryStart + 5;
+      boolean expected = intervals.stream().anyMatch(interval -> interval.overlaps(start, end));
+
+      assertThat(underTest.findOverlap(start, end).isPresent()).isEqualTo(expected);
+    }
+  }
+
+}
@@ -0,0 +1,153 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.BookingServiceApplication;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Books properties over HTTP from many concurrent clients, once with the default platform thread
+ * pool and once with the {@code virtual-threads} profile, and logs throughput and latency
+ * percentiles of both runs. Run with {@code ./mvnw test -Pbenchmark -Dtest=BookingLoadBenchmark},
+ * the load can be changed with {@code -Dbenchmark.clients} and {@code -Dbenchmark.requestsPerClient}.
+ */
+@Slf4j
+class BookingLoadBenchmark {
+
+  private static final int CLIENTS = Integer.getInteger("benchmark.clients", 5_000);
+  private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requestsPerClient", 10);
+  private static final int PROPERTIES = Integer.getInteger("benchmark.properties", 1_000);
+  private static final int BOOKABLE_DAYS = 3_650;
+
+  @Test
+  void platformThreads() throws Exception {
+    run("platform threads");
+  }
+
+  @Test
+  void virtualThreads() throws Exception {
+    run("virtual threads", "virtual-threads");
+  }
+
+  private void run(String mode, String... profiles) throws Exception {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingServiceApplication.class)
+        .profiles(profiles)
+        .properties("server.port=0")
+        .run()) {
+      List<UUID> propertyIds = insertProperties(context.getBean(JdbcTemplate.class));
+      String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+      // warm up the JIT and the connection pool before measuring
+      runClients(baseUrl, propertyIds, Math.min(CLIENTS, 200), REQUESTS_PER_CLIENT);
+      Result result = runClients(baseUrl, propertyIds, CLIENTS, REQUESTS_PER_CLIENT);
+
+      long[] latencies = result.latencies();
+      Arrays.sort(latencies);
+      log.info("[{}] clients={}, requests={}, throughput={} req/s, p50={} ms, p99={} ms, max={} ms, statuses={}",
+          mode,
+          CLIENTS,
+          latencies.length,
+          latencies.length * 1_000_000_000L / result.elapsedNanos(),
+          latencies[latencies.length / 2] / 1_000_000.0,
+          latencies[latencies.length * 99 / 100] / 1_000_000.0,
+          latencies[latencies.length - 1] / 1_000_000.0,
+          result.statuses());
+      assertThat(latencies).hasSize(CLIENTS * REQUESTS_PER_CLIENT);
+    }
+  }
+
+  private static List<UUID> insertProperties(JdbcTemplate jdbcTemplate) {
+    List<UUID> propertyIds = new ArrayList<>(PROPERTIES);
+    for (int i = 0; i < PROPERTIES; i++) {
+      propertyIds.add(UUID.randomUUID());
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO properties (id, name, city) VALUES (?, ?, ?)",
+        propertyIds,
+        1_000,
+        (ps, propertyId) -> {
+          ps.setObject(1, propertyId);
+          ps.setString(2, "Benchmark");
+          ps.setString(3, "Benchmark");
+        }
+    );
+    return propertyIds;
+  }
+
+  private static Result runClients(String baseUrl, List<UUID> propertyIds, int clients, int requestsPerClient)
+      throws Exception {
+    Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+    CountDownLatch startGate = new CountDownLatch(1);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+         HttpClient httpClient = HttpClient.newBuilder()
+             .version(HttpClient.Version.HTTP_1_1)
+             .executor(executor)
+             .build()) {
+      List<Future<long[]>> futures = new ArrayList<>(clients);
+      for (int client = 0; client < clients; client++) {
+        futures.add(executor.submit(() -> {
+          startGate.await();
+          long[] latencies = new long[requestsPerClient];
+          for (int i = 0; i < requestsPerClient; i++) {
+            HttpRequest request = bookingRequest(baseUrl, propertyIds);
+            long startedAt = System.nanoTime();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - startedAt;
+            statuses.computeIfAbsent(response.statusCode(), status -> new AtomicInteger()).incrementAndGet();
+          }
+          return latencies;
+        }));
+      }
+
+      long startedAt = System.nanoTime();
+      startGate.countDown();
+      long[] latencies = new long[clients * requestsPerClient];
+      int offset = 0;
+      for (Future<long[]> future : futures) {
+        long[] clientLatencies = future.get();
+        System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+        offset += clientLatencies.length;
+      }
+      return new Result(latencies, System.nanoTime() - startedAt, statuses);
+    }
+  }
+
+  private static HttpRequest bookingRequest(String baseUrl, List<UUID> propertyIds) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    UUID propertyId = propertyIds.get(random.nextInt(propertyIds.size()));
+    LocalDate startDate = LocalDate.now().plusDays(1 + random.nextInt(BOOKABLE_DAYS));
+    String body = """
+        {"guestFirstName": "John", "guestLastName": "Doe", "startDate": "%sT12:00:00Z", "endDate": "%sT10:00:00Z"}
+        """.formatted(startDate, startDate.plusDays(1));
+    return HttpRequest.newBuilder(URI.create(baseUrl + "/api/properties/" + propertyId + "/bookings"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private record Result(long[] latencies, long elapsedNanos, Map<Integer, AtomicInteger> statuses) {
+
+  }
+
+}
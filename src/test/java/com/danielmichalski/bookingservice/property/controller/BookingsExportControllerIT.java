@@ -0,0 +1,141 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import com.danielmichalski.bookingservice.controller.ControllerTestBase;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+@SpringBootTest
+class BookingsExportControllerIT extends ControllerTestBase {
+
+  private static final String CONTROLLER_URL = "/api/bookings/export";
+  private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(10);
+
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private PropertyBookingsTestDataHelper propertyBookingsTestDataHelper;
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private UUID propertyId;
+  private PropertyBookingEntity archivedBooking;
+  private PropertyBookingEntity booking;
+  private PropertyBookingEntity cancelledBooking;
+
+  @BeforeEach
+  void setUp() {
+    propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    archivedBooking = booking(LocalDate.now().minusYears(2), "Archived");
+    booking = booking(FIRST_DAY, "Doe");
+    cancelledBooking = booking(FIRST_DAY.plusDays(5), "Smith, Jr.");
+    propertyBookingsTestDataHelper.insertArchivedPropertyBooking(archivedBooking, OffsetDateTime.now());
+    propertyBookingsTestDataHelper.insertPropertyBooking(booking);
+    propertyBookingsTestDataHelper.insertPropertyBooking(cancelledBooking);
+    propertyBookingsTestDataHelper.cancelBooking(cancelledBooking.id(), OffsetDateTime.now());
+  }
+
+  @Test
+  void ndjson_shouldStreamLiveAndArchivedBookingsOfProperty() throws Exception {
+    String content = getStreamed(HttpStatus.OK, CONTROLLER_URL, Map.of("propertyId", propertyId.toString()))
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(header().string("Content-Disposition", equalTo("attachment; filename=\"bookings.ndjson\"")))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    List<String> lines = content.lines().toList();
+    assertThat(content).endsWith("\n");
+    assertThat(lines).hasSize(2);
+    JsonNode first = objectMapper.readTree(lines.get(0));
+    JsonNode second = objectMapper.readTree(lines.get(1));
+    assertThat(first.get("id").asText()).isEqualTo(archivedBooking.id().toString());
+    assertThat(second.get("id").asText()).isEqualTo(booking.id().toString());
+    assertThat(second.get("propertyId").asText()).isEqualTo(propertyId.toString());
+    assertThat(second.get("startDate").asText()).isEqualTo(FIRST_DAY.toString());
+    assertThat(second.get("dateCancelled").isNull()).isTrue();
+  }
+
+  @Test
+  void csvWithCancelled_shouldIncludeCancelledBookings() throws Exception {
+    Map<String, String> queryParams = Map.of(
+        "format", "csv",
+        "propertyId", propertyId.toString(),
+        "from", FIRST_DAY.toString(),
+        "includeCancelled", "true"
+    );
+
+    String content = getStreamed(HttpStatus.OK, CONTROLLER_URL, queryParams)
+        .andExpect(content().contentType("text/csv"))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    List<String> lines = content.lines().toList();
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0))
+        .isEqualTo("id,propertyId,guestFirstName,guestLastName,startDate,endDate,dateCreated,dateUpdated,"
+            + "dateCancelled,version");
+    assertThat(lines.get(1)).startsWith(booking.id() + "," + propertyId + ",");
+    assertThat(lines.get(2))
+        .startsWith(cancelledBooking.id() + "," + propertyId + ",John,\"Smith, Jr.\"," + FIRST_DAY.plusDays(5) + ",")
+        .doesNotEndWith(",,0");
+  }
+
+  @Test
+  void dateWindow_shouldExportOnlyOverlappingBookings() throws Exception {
+    Map<String, String> queryParams = Map.of(
+        "propertyId", propertyId.toString(),
+        "from", FIRST_DAY.minusDays(1).toString(),
+        "to", FIRST_DAY.toString()
+    );
+
+    getStreamed(HttpStatus.OK, CONTROLLER_URL, queryParams)
+        .andExpect(jsonPath("$.id", equalTo(booking.id().toString())));
+  }
+
+  @Test
+  void propertyDoesNotExist_shouldReturnNotFound() throws Exception {
+    get(HttpStatus.NOT_FOUND, CONTROLLER_URL, Map.of("propertyId", UUID.randomUUID().toString()))
+        .andExpect(jsonPath("$.message", equalTo("Property not found")));
+  }
+
+  private PropertyBookingEntity booking(LocalDate startDate, String guestLastName) {
+    return new PropertyBookingEntity(
+        UUID.randomUUID(),
+        "John",
+        guestLastName,
+        OffsetDateTime.now(),
+        toDateTime(startDate),
+        toDateTime(startDate.plusDays(2)),
+        propertyId,
+        0
+    );
+  }
+
+  private static OffsetDateTime toDateTime(LocalDate date) {
+    return date.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+  }
+
+}
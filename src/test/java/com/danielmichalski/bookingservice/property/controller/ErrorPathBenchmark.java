@@ -0,0 +1,112 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * Sends booking requests that end in an expected client error, for a missing property, overlapping
+ * an existing booking and with the end date before the start date, and logs the status codes,
+ * throughput and latency percentiles of each. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=ErrorPathBenchmark}, the number of requests per scenario can
+ * be changed with {@code -Dbenchmark.requests}.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+class ErrorPathBenchmark {
+
+  private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+  private static final String BOOKINGS_URI = "/api/properties/{propertyId}/bookings";
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+
+  @Test
+  void missingProperty() throws Exception {
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+
+    run("missing property", bookingRequest(UUID.randomUUID(), startDate, startDate.plusDays(2)));
+  }
+
+  @Test
+  void overlappingBooking() throws Exception {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+    MockHttpServletRequestBuilder request = bookingRequest(propertyId, startDate, startDate.plusDays(2));
+    mockMvc.perform(request);
+
+    run("overlapping booking", request);
+  }
+
+  @Test
+  void endDateBeforeStartDate() throws Exception {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+
+    run("end date before start date", bookingRequest(propertyId, startDate, startDate.minusDays(2)));
+  }
+
+  private void run(String scenario, MockHttpServletRequestBuilder request) throws Exception {
+    for (int i = 0; i < REQUESTS / 10; i++) {
+      mockMvc.perform(request);
+    }
+
+    Map<Integer, Integer> statuses = new TreeMap<>();
+    long[] latencies = new long[REQUESTS];
+    long startedAt = System.nanoTime();
+    for (int i = 0; i < REQUESTS; i++) {
+      long requestStartedAt = System.nanoTime();
+      int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+      latencies[i] = System.nanoTime() - requestStartedAt;
+      statuses.merge(status, 1, Integer::sum);
+    }
+    long elapsedNanos = System.nanoTime() - startedAt;
+
+    Arrays.sort(latencies);
+    log.info("[{}] requests={}, statuses={}, throughput={} req/s, p50={} us, p99={} us",
+        scenario,
+        REQUESTS,
+        statuses,
+        REQUESTS * 1_000_000_000L / elapsedNanos,
+        latencies[REQUESTS / 2] / 1_000,
+        latencies[REQUESTS * 99 / 100] / 1_000);
+    assertThat(statuses.keySet()).allMatch(status -> status >= 400);
+  }
+
+  private MockHttpServletRequestBuilder bookingRequest(UUID propertyId,
+                                                       OffsetDateTime startDate,
+                                                       OffsetDateTime endDate) throws Exception {
+    BookPropertyRequest request = new BookPropertyRequest(
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        startDate,
+        endDate
+    );
+    return MockMvcRequestBuilders.post(BOOKINGS_URI, propertyId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsBytes(request));
+  }
+
+}
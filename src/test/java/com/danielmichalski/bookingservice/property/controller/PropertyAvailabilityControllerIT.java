@@ -0,0 +1,95 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import com.danielmichalski.bookingservice.controller.ControllerTestBase;
+import com.danielmichalski.bookingservice.property.dto.BlockPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityRequest;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
+import com.danielmichalski.bookingservice.property.service.PropertyBlocksService;
+import com.danielmichalski.bookingservice.property.service.PropertyBookingsService;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+@SpringBootTest
+class PropertyAvailabilityControllerIT extends ControllerTestBase {
+
+  private static final String CONTROLLER_URL = "/api/properties/availability";
+
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private PropertyBookingsTestDataHelper propertyBookingsTestDataHelper;
+  @Autowired
+  private PropertyBookingsService propertyBookingsService;
+  @Autowired
+  private PropertyBlocksService propertyBlocksService;
+
+  @Test
+  void happyPath() throws Exception {
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(30);
+    UUID bookedPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    UUID blockedPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    UUID freePropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    propertyBookingsService.bookProperty(bookedPropertyId, new BookPropertyRequest(
+        randomAlphanumeric(5), randomAlphanumeric(5), startDate.plusDays(1), startDate.plusDays(3)));
+    propertyBlocksService.blockProperty(blockedPropertyId, new BlockPropertyRequest(
+        startDate.minusDays(2), startDate.plusDays(1)));
+    propertyBookingsService.bookProperty(freePropertyId, new BookPropertyRequest(
+        randomAlphanumeric(5), randomAlphanumeric(5), startDate.plusDays(10), startDate.plusDays(12)));
+
+    PropertyAvailabilityRequest request = new PropertyAvailabilityRequest(
+        List.of(bookedPropertyId, freePropertyId, UUID.randomUUID(), blockedPropertyId),
+        startDate,
+        startDate.plusDays(4)
+    );
+
+    post(request, HttpStatus.OK, CONTROLLER_URL)
+        .andExpect(jsonPath("$.availablePropertyIds", contains(freePropertyId.toString())));
+  }
+
+  @Test
+  void pastRange_shouldReportPropertyBookedBeforeIndexWasLoadedAsUnavailable() throws Exception {
+    OffsetDateTime startDate = OffsetDateTime.now().minusDays(10);
+    UUID bookedPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    UUID freePropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    propertyBookingsTestDataHelper.insertPropertyBooking(new PropertyBookingEntity(
+        UUID.randomUUID(),
+        randomAlphanumeric(5),
+        randomAlphanumeric(5),
+        startDate.minusDays(5),
+        startDate,
+        startDate.plusDays(3),
+        bookedPropertyId,
+        0
+    ));
+
+    PropertyAvailabilityRequest request = new PropertyAvailabilityRequest(
+        List.of(bookedPropertyId, freePropertyId),
+        startDate.plusDays(1),
+        startDate.plusDays(2)
+    );
+
+    post(request, HttpStatus.OK, CONTROLLER_URL)
+        .andExpect(jsonPath("$.availablePropertyIds", contains(freePropertyId.toString())));
+  }
+
+  @Test
+  void emptyPropertyIds_shouldReturnBadRequest() throws Exception {
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(30);
+    PropertyAvailabilityRequest request = new PropertyAvailabilityRequest(List.of(), startDate, startDate.plusDays(4));
+
+    post(request, HttpStatus.BAD_REQUEST, CONTROLLER_URL);
+  }
+
+}
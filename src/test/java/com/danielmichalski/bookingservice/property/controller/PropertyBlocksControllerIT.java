@@ -1,8 +1,11 @@
 package com.danielmichalski.bookingservice.property.controller;
 
+import static com.danielmichalski.bookingservice.common.idempotency.IdempotencyService.IDEMPOTENCY_KEY;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 import com.danielmichalski.bookingservice.controller.ControllerTestBase;
@@ -23,6 +26,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 @SpringBootTest
@@ -51,7 +55,9 @@ class PropertyBlocksControllerIT extends ControllerTestBase {
               jsonPath("$.dateCreated", notNullValue()),
               jsonPath("$.startDate", equalTo(formatDateToJsonDate(request.startDate()))),
               jsonPath("$.endDate", equalTo(formatDateToJsonDate(request.endDate()))),
-              jsonPath("$.propertyId", equalTo(propertyId.toString()))
+              jsonPath("$.propertyId", equalTo(propertyId.toString())),
+              jsonPath("$.version", equalTo(0)),
+              header().string(HttpHeaders.ETAG, "\"0\"")
           );
     }
 
@@ -68,6 +74,22 @@ class PropertyBlocksControllerIT extends ControllerTestBase {
           );
     }
 
+    @Test
+    void retryWithIdempotencyKey_shouldReplayTheFirstResponse() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      BlockPropertyRequest request = BlockPropertyRequestMother.complete();
+      HttpHeaders headers = new HttpHeaders();
+      headers.set(IDEMPOTENCY_KEY, UUID.randomUUID().toString());
+      String url = String.format(CONTROLLER_URL, propertyId);
+
+      String firstResponse = post(request, HttpStatus.CREATED, headers, url)
+          .andReturn().getResponse().getContentAsString();
+      String retriedResponse = post(request, HttpStatus.CREATED, headers, url)
+          .andReturn().getResponse().getContentAsString();
+
+      assertThat(retriedResponse).isEqualTo(firstResponse);
+    }
+
     @Nested
     class ValidationTests {
 
@@ -124,7 +146,67 @@ class PropertyBlocksControllerIT extends ControllerTestBase {
 
       String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBlockEntity.id();
       put(request, HttpStatus.NO_CONTENT, url)
-          .andReturn();
+          .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void ifMatchWithStaleVersion_shouldReturnPreconditionFailed() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBlockEntity propertyBlockEntity = PropertyBlockEntityMother.complete(propertyId);
+      propertyBlocksTestDataHelper.insertPropertyBlock(propertyBlockEntity);
+      UpdateBlockRequest request = new UpdateBlockRequest(
+          OffsetDateTime.now().plusDays(10),
+          OffsetDateTime.now().plusDays(14)
+      );
+      HttpHeaders headers = new HttpHeaders();
+      headers.setIfMatch("W/\"0\"");
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBlockEntity.id();
+      put(request, HttpStatus.NO_CONTENT, headers, url);
+
+      put(request, HttpStatus.PRECONDITION_FAILED, headers, url)
+          .andExpect(jsonPath("$.message", equalTo("Property block was modified by another request")));
+    }
+
+    @Test
+    void ifMatchWithStaleVersionAndOverlappingDates_shouldReturnPreconditionFailed() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBlockEntity propertyBlockEntity = PropertyBlockEntityMother.complete(propertyId);
+      propertyBlocksTestDataHelper.insertPropertyBlock(propertyBlockEntity);
+      PropertyBlockEntity otherBlockEntity = new PropertyBlockEntity(
+          UUID.randomUUID(),
+          OffsetDateTime.now(),
+          OffsetDateTime.now().plusDays(20),
+          OffsetDateTime.now().plusDays(24),
+          propertyId,
+          0
+      );
+      propertyBlocksTestDataHelper.insertPropertyBlock(otherBlockEntity);
+      UpdateBlockRequest request = new UpdateBlockRequest(
+          OffsetDateTime.now().plusDays(21),
+          OffsetDateTime.now().plusDays(23)
+      );
+      HttpHeaders headers = new HttpHeaders();
+      headers.setIfMatch("\"3\"");
+
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBlockEntity.id();
+      put(request, HttpStatus.PRECONDITION_FAILED, headers, url)
+          .andExpect(jsonPath("$.message", equalTo("Property block was modified by another request")));
+    }
+
+    @Test
+    void blockOfAnotherProperty_shouldReturnNotFound() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      UUID otherPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBlockEntity otherBlockEntity = PropertyBlockEntityMother.complete(otherPropertyId);
+      propertyBlocksTestDataHelper.insertPropertyBlock(otherBlockEntity);
+      UpdateBlockRequest request = new UpdateBlockRequest(
+          OffsetDateTime.now().plusDays(10),
+          OffsetDateTime.now().plusDays(14)
+      );
+
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + otherBlockEntity.id();
+      put(request, HttpStatus.NOT_FOUND, url)
+          .andExpect(jsonPath("$.message", equalTo("Property block not found")));
     }
 
     @Test
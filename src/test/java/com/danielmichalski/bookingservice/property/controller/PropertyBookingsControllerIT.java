@@ -1,11 +1,17 @@
 package com.danielmichalski.bookingservice.property.controller;
 
+import static com.danielmichalski.bookingservice.common.idempotency.IdempotencyService.IDEMPOTENCY_KEY;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 import com.danielmichalski.bookingservice.controller.ControllerTestBase;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyItem;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.UpdateBookingRequest;
 import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
@@ -13,6 +19,7 @@ import com.danielmichalski.bookingservice.property.mother.PropertyBookingEntityM
 import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
 import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Nested;
@@ -22,12 +29,14 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 @SpringBootTest
 class PropertyBookingsControllerIT extends ControllerTestBase {
 
   private static final String CONTROLLER_URL = "/api/properties/%s/bookings";
+  private static final String BATCH_URL = "/api/properties/bookings/batch";
 
   @Autowired
   private PropertiesTestDataHelper propertiesTestDataHelper;
@@ -58,7 +67,9 @@ class PropertyBookingsControllerIT extends ControllerTestBase {
               jsonPath("$.dateCreated", notNullValue()),
               jsonPath("$.startDate", equalTo(formatDateToJsonDate(request.startDate()))),
               jsonPath("$.endDate", equalTo(formatDateToJsonDate(request.endDate()))),
-              jsonPath("$.propertyId", equalTo(propertyId.toString()))
+              jsonPath("$.propertyId", equalTo(propertyId.toString())),
+              jsonPath("$.version", equalTo(0)),
+              header().string(HttpHeaders.ETAG, "\"0\"")
           );
     }
 
@@ -80,6 +91,79 @@ class PropertyBookingsControllerIT extends ControllerTestBase {
           );
     }
 
+    @Test
+    void overlappingBooking_shouldReturnConflict() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      BookPropertyRequest request = new BookPropertyRequest(
+          randomAlphanumeric(5),
+          randomAlphanumeric(10),
+          OffsetDateTime.now().plusDays(1),
+          OffsetDateTime.now().plusDays(3)
+      );
+      String url = String.format(CONTROLLER_URL, propertyId);
+      post(request, HttpStatus.CREATED, url);
+
+      post(request, HttpStatus.CONFLICT, url)
+          .andExpect(
+              jsonPath("$.message", equalTo("Booking overlaps with existing booking"))
+          );
+    }
+
+    @Test
+    void endDateBeforeStartDate_shouldReturnBadRequest() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      BookPropertyRequest request = new BookPropertyRequest(
+          randomAlphanumeric(5),
+          randomAlphanumeric(10),
+          OffsetDateTime.now().plusDays(3),
+          OffsetDateTime.now().plusDays(1)
+      );
+
+      post(request, HttpStatus.BAD_REQUEST, String.format(CONTROLLER_URL, propertyId))
+          .andExpect(
+              jsonPath("$.message", equalTo("Start date should be before end date"))
+          );
+    }
+
+    @Test
+    void retryWithIdempotencyKey_shouldReplayTheFirstResponse() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      BookPropertyRequest request = new BookPropertyRequest(
+          randomAlphanumeric(5),
+          randomAlphanumeric(10),
+          OffsetDateTime.now().plusDays(1),
+          OffsetDateTime.now().plusDays(2)
+      );
+      HttpHeaders headers = new HttpHeaders();
+      headers.set(IDEMPOTENCY_KEY, UUID.randomUUID().toString());
+      String url = String.format(CONTROLLER_URL, propertyId);
+
+      String firstResponse = post(request, HttpStatus.CREATED, headers, url)
+          .andReturn().getResponse().getContentAsString();
+      String retriedResponse = post(request, HttpStatus.CREATED, headers, url)
+          .andReturn().getResponse().getContentAsString();
+
+      assertThat(retriedResponse).isEqualTo(firstResponse);
+    }
+
+    @Test
+    void idempotencyKeyReusedForAnotherRequest_shouldReturnUnprocessableEntity() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      OffsetDateTime startDate = OffsetDateTime.now().plusDays(1);
+      HttpHeaders headers = new HttpHeaders();
+      headers.set(IDEMPOTENCY_KEY, UUID.randomUUID().toString());
+      String url = String.format(CONTROLLER_URL, propertyId);
+
+      post(new BookPropertyRequest(randomAlphanumeric(5), randomAlphanumeric(10), startDate, startDate.plusDays(1)),
+          HttpStatus.CREATED, headers, url);
+
+      post(new BookPropertyRequest(randomAlphanumeric(5), randomAlphanumeric(10), startDate.plusDays(5),
+          startDate.plusDays(6)), HttpStatus.UNPROCESSABLE_ENTITY, headers, url)
+          .andExpect(
+              jsonPath("$.message", equalTo("Idempotency key was already used for a different request"))
+          );
+    }
+
     @Nested
     class ValidationTests {
 
@@ -162,7 +246,118 @@ class PropertyBookingsControllerIT extends ControllerTestBase {
 
       String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBookingEntity.id();
       put(request, HttpStatus.NO_CONTENT, url)
-          .andReturn();
+          .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void movingBookingByADay_shouldUpdateBooking() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBookingEntity propertyBookingEntity = PropertyBookingEntityMother.complete(propertyId);
+      propertyBookingsTestDataHelper.insertPropertyBooking(propertyBookingEntity);
+
+      UpdateBookingRequest request = new UpdateBookingRequest(
+          propertyBookingEntity.guestFirstName(),
+          propertyBookingEntity.guestLastName(),
+          propertyBookingEntity.startDate().plusDays(1),
+          propertyBookingEntity.endDate().plusDays(1)
+      );
+
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBookingEntity.id();
+      put(request, HttpStatus.NO_CONTENT, url)
+          .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void ifMatchWithCurrentVersion_shouldUpdateBooking() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBookingEntity propertyBookingEntity = PropertyBookingEntityMother.complete(propertyId);
+      propertyBookingsTestDataHelper.insertPropertyBooking(propertyBookingEntity);
+      UpdateBookingRequest request = new UpdateBookingRequest(
+          randomAlphanumeric(3),
+          randomAlphanumeric(7),
+          OffsetDateTime.now().plusDays(10),
+          OffsetDateTime.now().plusDays(14)
+      );
+      HttpHeaders headers = new HttpHeaders();
+      headers.setIfMatch("\"0\"");
+
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBookingEntity.id();
+      put(request, HttpStatus.NO_CONTENT, headers, url)
+          .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void ifMatchWithStaleVersion_shouldReturnPreconditionFailed() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBookingEntity propertyBookingEntity = PropertyBookingEntityMother.complete(propertyId);
+      propertyBookingsTestDataHelper.insertPropertyBooking(propertyBookingEntity);
+      UpdateBookingRequest request = new UpdateBookingRequest(
+          randomAlphanumeric(3),
+          randomAlphanumeric(7),
+          OffsetDateTime.now().plusDays(10),
+          OffsetDateTime.now().plusDays(14)
+      );
+      HttpHeaders headers = new HttpHeaders();
+      headers.setIfMatch("\"0\"");
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBookingEntity.id();
+      put(request, HttpStatus.NO_CONTENT, headers, url);
+
+      UpdateBookingRequest staleRequest = new UpdateBookingRequest(
+          randomAlphanumeric(3),
+          randomAlphanumeric(7),
+          OffsetDateTime.now().plusDays(20),
+          OffsetDateTime.now().plusDays(24)
+      );
+      put(staleRequest, HttpStatus.PRECONDITION_FAILED, headers, url)
+          .andExpect(jsonPath("$.message", equalTo("Booking was modified by another request")));
+    }
+
+    @Test
+    void ifMatchWithStaleVersionAndOverlappingDates_shouldReturnPreconditionFailed() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBookingEntity propertyBookingEntity = PropertyBookingEntityMother.complete(propertyId);
+      propertyBookingsTestDataHelper.insertPropertyBooking(propertyBookingEntity);
+      PropertyBookingEntity otherBookingEntity = new PropertyBookingEntity(
+          UUID.randomUUID(),
+          randomAlphanumeric(4),
+          randomAlphanumeric(3),
+          OffsetDateTime.now(),
+          OffsetDateTime.now().plusDays(20),
+          OffsetDateTime.now().plusDays(24),
+          propertyId,
+          0
+      );
+      propertyBookingsTestDataHelper.insertPropertyBooking(otherBookingEntity);
+      UpdateBookingRequest request = new UpdateBookingRequest(
+          randomAlphanumeric(3),
+          randomAlphanumeric(7),
+          OffsetDateTime.now().plusDays(21),
+          OffsetDateTime.now().plusDays(23)
+      );
+      HttpHeaders headers = new HttpHeaders();
+      headers.setIfMatch("\"3\"");
+
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + propertyBookingEntity.id();
+      put(request, HttpStatus.PRECONDITION_FAILED, headers, url)
+          .andExpect(jsonPath("$.message", equalTo("Booking was modified by another request")));
+    }
+
+    @Test
+    void bookingOfAnotherProperty_shouldReturnNotFound() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      UUID otherPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      PropertyBookingEntity otherBookingEntity = PropertyBookingEntityMother.complete(otherPropertyId);
+      propertyBookingsTestDataHelper.insertPropertyBooking(otherBookingEntity);
+      UpdateBookingRequest request = new UpdateBookingRequest(
+          randomAlphanumeric(3),
+          randomAlphanumeric(7),
+          OffsetDateTime.now().plusDays(10),
+          OffsetDateTime.now().plusDays(14)
+      );
+
+      String url = String.format(CONTROLLER_URL, propertyId) + "/" + otherBookingEntity.id();
+      put(request, HttpStatus.NOT_FOUND, url)
+          .andExpect(jsonPath("$.message", equalTo("Booking not found")));
     }
 
     @Test
@@ -295,4 +490,82 @@ class PropertyBookingsControllerIT extends ControllerTestBase {
           );
     }
   }
+
+  @Nested
+  class BookPropertiesTests {
+
+    @Test
+    void happyPath() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      UUID otherPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      OffsetDateTime startDate = OffsetDateTime.now().plusDays(30);
+      BatchBookPropertyRequest request = new BatchBookPropertyRequest(List.of(
+          batchItem(propertyId, startDate, startDate.plusDays(2)),
+          batchItem(otherPropertyId, startDate, startDate.plusDays(2))
+      ));
+
+      post(request, HttpStatus.OK, BATCH_URL)
+          .andExpectAll(
+              jsonPath("$", hasSize(2)),
+              jsonPath("$[0].index", equalTo(0)),
+              jsonPath("$[0].status", equalTo("CREATED")),
+              jsonPath("$[0].booking.id", notNullValue()),
+              jsonPath("$[0].booking.propertyId", equalTo(propertyId.toString())),
+              jsonPath("$[1].index", equalTo(1)),
+              jsonPath("$[1].status", equalTo("CREATED")),
+              jsonPath("$[1].booking.propertyId", equalTo(otherPropertyId.toString()))
+          );
+    }
+
+    @Test
+    void invalidItems_shouldBeRejectedWithoutFailingTheBatch() throws Exception {
+      UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+      OffsetDateTime startDate = OffsetDateTime.now().plusDays(30);
+      BookPropertyRequest existingBooking = new BookPropertyRequest(
+          randomAlphanumeric(5),
+          randomAlphanumeric(10),
+          startDate.plusDays(10),
+          startDate.plusDays(12)
+      );
+      post(existingBooking, HttpStatus.CREATED, String.format(CONTROLLER_URL, propertyId));
+      BatchBookPropertyRequest request = new BatchBookPropertyRequest(List.of(
+          batchItem(propertyId, startDate, startDate.plusDays(2)),
+          batchItem(propertyId, startDate.plusDays(1), startDate.plusDays(3)),
+          batchItem(propertyId, existingBooking.startDate(), existingBooking.endDate()),
+          batchItem(UUID.randomUUID(), startDate, startDate.plusDays(2)),
+          batchItem(propertyId, startDate.plusDays(5), startDate.plusDays(4))
+      ));
+
+      post(request, HttpStatus.OK, BATCH_URL)
+          .andExpectAll(
+              jsonPath("$", hasSize(5)),
+              jsonPath("$[0].status", equalTo("CREATED")),
+              jsonPath("$[1].status", equalTo("REJECTED")),
+              jsonPath("$[1].error", equalTo("Bookings cannot overlap with other bookings in the same batch")),
+              jsonPath("$[2].status", equalTo("REJECTED")),
+              jsonPath("$[2].error", equalTo("Booking overlaps with existing booking")),
+              jsonPath("$[3].status", equalTo("REJECTED")),
+              jsonPath("$[3].error", equalTo("Property not found")),
+              jsonPath("$[4].status", equalTo("REJECTED")),
+              jsonPath("$[4].error", equalTo("Start date should be before end date"))
+          );
+    }
+
+    @Test
+    void emptyBatch_shouldReturnBadRequest() throws Exception {
+      post(new BatchBookPropertyRequest(List.of()), HttpStatus.BAD_REQUEST, BATCH_URL)
+          .andExpect(
+              jsonPath("$.bookings", equalTo("must not be empty"))
+          );
+    }
+
+    private static BatchBookPropertyItem batchItem(UUID propertyId,
+                                                   OffsetDateTime startDate,
+                                                   OffsetDateTime endDate) {
+      return new BatchBookPropertyItem(
+          propertyId,
+          new BookPropertyRequest(randomAlphanumeric(5), randomAlphanumeric(10), startDate, endDate)
+      );
+    }
+  }
 }
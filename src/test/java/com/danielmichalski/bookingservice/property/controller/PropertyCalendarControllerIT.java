@@ -0,0 +1,165 @@
+package com.danielmichalski.bookingservice.property.controller;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import com.danielmichalski.bookingservice.controller.ControllerTestBase;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBlocksTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+@SpringBootTest
+class PropertyCalendarControllerIT extends ControllerTestBase {
+
+  private static final String CONTROLLER_URL = "/api/properties/%s/calendar";
+  private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(10);
+
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private PropertyBookingsTestDataHelper propertyBookingsTestDataHelper;
+  @Autowired
+  private PropertyBlocksTestDataHelper propertyBlocksTestDataHelper;
+  @Autowired
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+
+  private UUID propertyId;
+  private PropertyBookingEntity booking;
+  private PropertyBlockEntity block;
+
+  @BeforeEach
+  void setUp() {
+    propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(3), randomAlphanumeric(5));
+    booking = new PropertyBookingEntity(
+        UUID.randomUUID(),
+        randomAlphanumeric(4),
+        randomAlphanumeric(3),
+        OffsetDateTime.now(),
+        toDateTime(FIRST_DAY),
+        toDateTime(FIRST_DAY.plusDays(2)),
+        propertyId,
+        0
+    );
+    block = new PropertyBlockEntity(
+        UUID.randomUUID(),
+        OffsetDateTime.now(),
+        toDateTime(FIRST_DAY.plusDays(4)),
+        toDateTime(FIRST_DAY.plusDays(5)),
+        propertyId,
+        0
+    );
+    propertyBookingsTestDataHelper.insertPropertyBooking(booking);
+    propertyBlocksTestDataHelper.insertPropertyBlock(block);
+  }
+
+  @Test
+  void happyPath() throws Exception {
+    String url = String.format(CONTROLLER_URL, propertyId);
+    Map<String, String> queryParams = Map.of(
+        "from", FIRST_DAY.toString(),
+        "to", FIRST_DAY.plusDays(30).toString()
+    );
+
+    getStreamed(HttpStatus.OK, url, queryParams)
+        .andExpectAll(
+            jsonPath("$", hasSize(2)),
+            jsonPath("$[0].id", equalTo(booking.id().toString())),
+            jsonPath("$[0].type", equalTo("BOOKING")),
+            jsonPath("$[0].startDate", equalTo(FIRST_DAY.toString())),
+            jsonPath("$[0].endDate", equalTo(FIRST_DAY.plusDays(2).toString())),
+            jsonPath("$[0].guestFirstName", equalTo(booking.guestFirstName())),
+            jsonPath("$[1].id", equalTo(block.id().toString())),
+            jsonPath("$[1].type", equalTo("BLOCK")),
+            jsonPath("$[1].guestFirstName", nullValue())
+        );
+  }
+
+  @Test
+  void nextPage_shouldStartAfterTheGivenKey() throws Exception {
+    String url = String.format(CONTROLLER_URL, propertyId);
+    Map<String, String> queryParams = Map.of(
+        "from", FIRST_DAY.toString(),
+        "to", FIRST_DAY.plusDays(30).toString(),
+        "afterStartDate", FIRST_DAY.toString(),
+        "afterId", booking.id().toString(),
+        "limit", "1"
+    );
+
+    getStreamed(HttpStatus.OK, url, queryParams)
+        .andExpectAll(
+            jsonPath("$", hasSize(1)),
+            jsonPath("$[0].id", equalTo(block.id().toString()))
+        );
+  }
+
+  @Test
+  void propertyDoesNotExist_shouldReturnNotFound() throws Exception {
+    String url = String.format(CONTROLLER_URL, UUID.randomUUID());
+    Map<String, String> queryParams = Map.of(
+        "from", FIRST_DAY.toString(),
+        "to", FIRST_DAY.plusDays(30).toString()
+    );
+
+    get(HttpStatus.NOT_FOUND, url, queryParams)
+        .andExpect(
+            jsonPath("$.message", equalTo("Property not found"))
+        );
+  }
+
+  @Test
+  void calendarDays_shouldReturnTakenDaysFromAvailabilityIndex() throws Exception {
+    propertyAvailabilityIndex.rebuild();
+    String url = String.format(CONTROLLER_URL + "/days", propertyId);
+
+    get(HttpStatus.OK, url, Map.of("from", FIRST_DAY.toString(), "days", "30"))
+        .andExpectAll(
+            jsonPath("$.from", equalTo(FIRST_DAY.toString())),
+            jsonPath("$.days", equalTo(30)),
+            jsonPath("$.booked", equalTo(encodeDays(0, 2))),
+            jsonPath("$.blocked", equalTo(encodeDays(4, 5)))
+        );
+  }
+
+  @Test
+  void calendarDaysFromThePast_shouldReturnTakenDaysFromDatabase() throws Exception {
+    LocalDate from = LocalDate.now().minusDays(1);
+    int offset = (int) (FIRST_DAY.toEpochDay() - from.toEpochDay());
+    String url = String.format(CONTROLLER_URL + "/days", propertyId);
+
+    get(HttpStatus.OK, url, Map.of("from", from.toString()))
+        .andExpectAll(
+            jsonPath("$.days", equalTo(365)),
+            jsonPath("$.booked", equalTo(encodeDays(offset, offset + 2))),
+            jsonPath("$.blocked", equalTo(encodeDays(offset + 4, offset + 5)))
+        );
+  }
+
+  private static String encodeDays(int first, int last) {
+    BitSet days = new BitSet();
+    days.set(first, last + 1);
+    return Base64.getEncoder().encodeToString(days.toByteArray());
+  }
+
+  private static OffsetDateTime toDateTime(LocalDate date) {
+    return date.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+  }
+
+}
@@ -0,0 +1,111 @@
+package com.danielmichalski.bookingservice.property.lock;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.service.PropertyBookingsService;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class PropertyWriteLocksIT {
+
+  @Autowired
+  private PropertyWriteLocks propertyWriteLocks;
+  @Autowired
+  private PropertyBookingsService propertyBookingsService;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private DataSource dataSource;
+
+  private ExecutorService executorService;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void writersWaitingForOneProperty_shouldNotStarveWritersOfAnotherProperty() throws Exception {
+    int waiters = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() + 2;
+    executorService = Executors.newFixedThreadPool(waiters + 2);
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    UUID otherPropertyId = insertPropertyInAnotherStripe(propertyId);
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> lockHolder = executorService.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+      propertyWriteLocks.lockForTransaction(propertyId);
+      locked.countDown();
+      awaitUninterruptibly(release);
+    }));
+    assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+    List<Future<PropertyBookingDto>> waitingWriters = IntStream.range(0, waiters)
+        .mapToObj(index -> executorService.submit(() -> book(propertyId, startDate.plusDays(index * 2L))))
+        .toList();
+    Thread.sleep(500);
+
+    try {
+      PropertyBookingDto otherBooking = executorService.submit(() -> book(otherPropertyId, startDate))
+          .get(5, TimeUnit.SECONDS);
+      assertThat(otherBooking.propertyId()).isEqualTo(otherPropertyId);
+    } finally {
+      release.countDown();
+    }
+
+    lockHolder.get(5, TimeUnit.SECONDS);
+    for (Future<PropertyBookingDto> waitingWriter : waitingWriters) {
+      assertThat(waitingWriter.get(10, TimeUnit.SECONDS).propertyId()).isEqualTo(propertyId);
+    }
+  }
+
+  private UUID insertPropertyInAnotherStripe(UUID propertyId) {
+    UUID otherPropertyId;
+    do {
+      otherPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    } while (propertyWriteLocks.stripeIndex(otherPropertyId) == propertyWriteLocks.stripeIndex(propertyId));
+    return otherPropertyId;
+  }
+
+  private PropertyBookingDto book(UUID propertyId, OffsetDateTime startDate) {
+    BookPropertyRequest request = new BookPropertyRequest(
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        startDate,
+        startDate.plusDays(1)
+    );
+    return propertyBookingsService.bookProperty(propertyId, request);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,134 @@
+package com.danielmichalski.bookingservice.property.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PropertyWriteLocksTest {
+
+  @ParameterizedTest(name = "[{index}] => configured={0}, expected={1}")
+  @MethodSource("provideStripeCounts")
+  void stripeCount_shouldBeRoundedUpToPowerOfTwo(int configured, int expected) {
+    PropertyWriteLocks underTest = new PropertyWriteLocks(new PropertyWriteLocksProperties(configured));
+
+    assertThat(underTest.stripeCount()).isEqualTo(expected);
+  }
+
+  @Test
+  void noActiveTransaction_shouldThrowAnException() {
+    PropertyWriteLocks underTest = new PropertyWriteLocks(new PropertyWriteLocksProperties(16));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> underTest.lockForTransaction(UUID.randomUUID()),
+        "Property write lock requires an active transaction"
+    );
+  }
+
+  @Test
+  void stripeIndex_shouldSpreadPropertiesOverAllStripes() {
+    PropertyWriteLocks underTest = new PropertyWriteLocks(new PropertyWriteLocksProperties(64));
+
+    long usedStripes = Stream.generate(UUID::randomUUID)
+        .limit(10_000)
+        .mapToInt(underTest::stripeIndex)
+        .distinct()
+        .count();
+
+    assertThat(usedStripes).isEqualTo(64);
+  }
+
+  private static Stream<Arguments> provideStripeCounts() {
+    return Stream.of(
+        Arguments.of(1, 1),
+        Arguments.of(2, 2),
+        Arguments.of(1000, 1024),
+        Arguments.of(1024, 1024)
+    );
+  }
+
+  @Nested
+  class LockForTransactionTests {
+
+    private final PropertyWriteLocks underTest = new PropertyWriteLocks(new PropertyWriteLocksProperties(16));
+
+    @AfterEach
+    void tearDown() {
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.clearSynchronization();
+      }
+    }
+
+    @Test
+    void lockedProperty_shouldBlockOtherWritersUntilTransactionCompletes() throws Exception {
+      UUID propertyId = UUID.randomUUID();
+      TransactionSynchronizationManager.initSynchronization();
+      underTest.lockForTransaction(propertyId);
+
+      CompletableFuture<Void> otherWriter = CompletableFuture.runAsync(() -> inTransaction(propertyId));
+
+      assertThrows(TimeoutException.class, () -> otherWriter.get(200, TimeUnit.MILLISECONDS));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+      otherWriter.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lockedProperty_shouldNotBlockWritersOfPropertyInAnotherStripe() throws Exception {
+      UUID propertyId = UUID.randomUUID();
+      UUID otherPropertyId = Stream.generate(UUID::randomUUID)
+          .filter(id -> underTest.stripeIndex(id) != underTest.stripeIndex(propertyId))
+          .findFirst()
+          .orElseThrow();
+      TransactionSynchronizationManager.initSynchronization();
+      underTest.lockForTransaction(propertyId);
+
+      CompletableFuture.runAsync(() -> inTransaction(otherPropertyId))
+          .get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lockedProperties_shouldBlockWritersOfAnyOfThemUntilTransactionCompletes() throws Exception {
+      List<UUID> propertyIds = Stream.generate(UUID::randomUUID).limit(5).toList();
+      TransactionSynchronizationManager.initSynchronization();
+      underTest.lockAllForTransaction(propertyIds);
+
+      CompletableFuture<Void> otherWriter = CompletableFuture.runAsync(() -> inTransaction(propertyIds.get(3)));
+
+      assertThrows(TimeoutException.class, () -> otherWriter.get(200, TimeUnit.MILLISECONDS));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+      otherWriter.get(5, TimeUnit.SECONDS);
+    }
+
+    private void inTransaction(UUID propertyId) {
+      TransactionSynchronizationManager.initSynchronization();
+      try {
+        underTest.lockForTransaction(propertyId);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+      } finally {
+        TransactionSynchronizationManager.clearSynchronization();
+      }
+    }
+  }
+
+}
@@ -15,7 +15,8 @@ public final class PropertyBlockEntityMother {
         OffsetDateTime.now(),
         OffsetDateTime.now().plusDays(4),
         OffsetDateTime.now().plusDays(6),
-        propertyId
+        propertyId,
+        0
     );
   }
 }
@@ -19,7 +19,8 @@ public final class PropertyBookingEntityMother {
         OffsetDateTime.now(),
         OffsetDateTime.now().plusDays(4),
         OffsetDateTime.now().plusDays(6),
-        propertyId
+        propertyId,
+        0
     );
   }
 }
@@ -0,0 +1,208 @@
+package com.danielmichalski.bookingservice.property.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares the legacy three-way BETWEEN overlap predicate with the range predicate backed by
+ * {@code idx_property_*_property_id_range}, and the per-table range queries with the single
+ * {@link PropertyBookingsRepository#findConflictExcluding} round-trip that replaced them. Run with
+ * {@code ./mvnw test -Pbenchmark}, the number of rows per table can be changed with
+ * {@code -Dbenchmark.rows}.
+ */
+@Slf4j
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OverlapQueryBenchmark {
+
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+  private static final int ROWS_PER_PROPERTY = 100;
+  private static final int QUERIES = Integer.getInteger("benchmark.queries", 20_000);
+  private static final int BATCH_SIZE = 10_000;
+  private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+
+  private static final String LEGACY_QUERY = """
+          SELECT EXISTS(
+              SELECT 1 FROM %s
+              WHERE property_id = ?
+                  AND date_deleted IS NULL
+                  AND (
+                      ? BETWEEN start_date AND end_date
+                      OR ? BETWEEN start_date AND end_date
+                      OR start_date BETWEEN ? AND ?
+                  )
+          )
+      """;
+  private static final String RANGE_QUERY = """
+          SELECT EXISTS(
+              SELECT 1 FROM %s
+              WHERE property_id = ?
+                  AND date_deleted IS NULL
+                  AND start_date <= ?
+                  AND end_date >= ?
+          )
+      """;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private PropertyBookingsRepository propertyBookingsRepository;
+
+  private final List<UUID> propertyIds = new ArrayList<>();
+
+  @BeforeAll
+  void setUp() {
+    int properties = ROWS / ROWS_PER_PROPERTY;
+    for (int i = 0; i < properties; i++) {
+      propertyIds.add(UUID.randomUUID());
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO properties (id, name, city) VALUES (?, ?, ?)",
+        propertyIds,
+        BATCH_SIZE,
+        (ps, propertyId) -> {
+          ps.setObject(1, propertyId);
+          ps.setString(2, "Benchmark");
+          ps.setString(3, "Benchmark");
+        }
+    );
+
+    long startedAt = System.nanoTime();
+    insertRows("""
+            INSERT INTO property_bookings
+                (id, guest_first_name, guest_last_name, date_created, date_deleted, start_date, end_date, property_id)
+            VALUES (?, 'John', 'Doe', ?, ?, ?, ?, ?)
+        """);
+    insertRows("""
+            INSERT INTO property_blocks
+                (id, date_created, date_deleted, start_date, end_date, property_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+        """);
+    jdbcTemplate.execute("ANALYZE");
+    log.info("Inserted {} rows per table in {} ms", ROWS, (System.nanoTime() - startedAt) / 1_000_000);
+  }
+
+  @Test
+  void bookingsOverlapQuery() {
+    compare("property_bookings");
+  }
+
+  @Test
+  void blocksOverlapQuery() {
+    compare("property_blocks");
+  }
+
+  @Test
+  void conflictQuery() {
+    String bookingsQuery = String.format(RANGE_QUERY, "property_bookings");
+    String blocksQuery = String.format(RANGE_QUERY, "property_blocks");
+
+    measure("property_bookings, property_blocks", "range predicate per table", (propertyId, range) -> {
+      if (!jdbcTemplate.queryForObject(bookingsQuery, Boolean.class, propertyId, range[1], range[0])) {
+        jdbcTemplate.queryForObject(blocksQuery, Boolean.class, propertyId, range[1], range[0]);
+      }
+    });
+    measure("property_bookings, property_blocks", "findConflictExcluding via mapper", (propertyId, range) ->
+        propertyBookingsRepository.findConflictExcluding(propertyId, range[0], range[1], null));
+  }
+
+  private void compare(String table) {
+    String legacyQuery = String.format(LEGACY_QUERY, table);
+    String rangeQuery = String.format(RANGE_QUERY, table);
+    UUID samplePropertyId = propertyIds.get(0);
+    OffsetDateTime sampleStart = FIRST_DAY.plusDays(40).atStartOfDay().atOffset(ZoneOffset.UTC);
+    OffsetDateTime sampleEnd = sampleStart.plusDays(3);
+
+    log.info("[{}] legacy predicate plan:\n{}", table, explain(legacyQuery,
+        samplePropertyId, sampleStart, sampleEnd, sampleStart, sampleEnd));
+    String rangePlan = explain(rangeQuery, samplePropertyId, sampleEnd, sampleStart);
+    log.info("[{}] range predicate plan:\n{}", table, rangePlan);
+    assertThat(rangePlan).containsIgnoringCase(table + "_property_id_range");
+
+    measure(table, "legacy predicate", (propertyId, range) -> jdbcTemplate.queryForObject(
+        legacyQuery, Boolean.class, propertyId, range[0], range[1], range[0], range[1]));
+    measure(table, "range predicate", (propertyId, range) -> jdbcTemplate.queryForObject(
+        rangeQuery, Boolean.class, propertyId, range[1], range[0]));
+  }
+
+  private void measure(String table, String variant, BiConsumer<UUID, OffsetDateTime[]> query) {
+    Random random = new Random(42);
+    for (int i = 0; i < QUERIES / 10; i++) {
+      query.accept(randomPropertyId(random), randomRange(random));
+    }
+
+    long[] latencies = new long[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      UUID propertyId = randomPropertyId(random);
+      OffsetDateTime[] range = randomRange(random);
+      long startedAt = System.nanoTime();
+      query.accept(propertyId, range);
+      latencies[i] = System.nanoTime() - startedAt;
+    }
+
+    Arrays.sort(latencies);
+    log.info("[{}] {}: rows={}, queries={}, mean={} us, p50={} us, p99={} us, max={} us",
+        table,
+        variant,
+        ROWS,
+        QUERIES,
+        Arrays.stream(latencies).average().orElse(0) / 1_000,
+        latencies[QUERIES / 2] / 1_000,
+        latencies[QUERIES * 99 / 100] / 1_000,
+        latencies[QUERIES - 1] / 1_000);
+  }
+
+  private String explain(String query, Object... args) {
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE " + query, String.class, args));
+  }
+
+  private void insertRows(String sql) {
+    Timestamp dateCreated = Timestamp.valueOf(FIRST_DAY.atStartOfDay());
+    List<Integer> rows = new ArrayList<>(BATCH_SIZE);
+    for (int row = 0; row < ROWS; row++) {
+      rows.add(row);
+      if (rows.size() == BATCH_SIZE || row == ROWS - 1) {
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, (ps, index) -> {
+          LocalDate startDate = FIRST_DAY.plusDays((index % ROWS_PER_PROPERTY) * 4L);
+          ps.setObject(1, UUID.randomUUID());
+          ps.setTimestamp(2, dateCreated);
+          ps.setTimestamp(3, index % 10 == 0 ? dateCreated : null);
+          ps.setDate(4, Date.valueOf(startDate));
+          ps.setDate(5, Date.valueOf(startDate.plusDays(2)));
+          ps.setObject(6, propertyIds.get(index / ROWS_PER_PROPERTY));
+        });
+        rows.clear();
+      }
+    }
+  }
+
+  private UUID randomPropertyId(Random random) {
+    return propertyIds.get(random.nextInt(propertyIds.size()));
+  }
+
+  private static OffsetDateTime[] randomRange(Random random) {
+    OffsetDateTime startDate = FIRST_DAY.plusDays(random.nextInt(ROWS_PER_PROPERTY * 4))
+        .atStartOfDay()
+        .atOffset(ZoneOffset.UTC);
+    return new OffsetDateTime[] {startDate, startDate.plusDays(1 + random.nextInt(5))};
+  }
+
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyConflictEntity;
 import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
 import com.danielmichalski.bookingservice.property.repository.helper.PropertyBlocksTestDataHelper;
 import java.time.OffsetDateTime;
@@ -31,6 +32,8 @@ class PropertyBlocksRepositoryTest {
   @Autowired
   private PropertyBlocksTestDataHelper propertyBlocksTestDataHelper;
   @Autowired
+  private PropertyBookingsRepository propertyBookingsRepository;
+  @Autowired
   private PropertyBlocksRepository underTest;
 
   @Nested
@@ -40,7 +43,7 @@ class PropertyBlocksRepositoryTest {
     void propertyBlocksNotExists_shouldReturnEmptyOptional() {
       UUID notExistingPropertyId = UUID.randomUUID();
 
-      Optional<PropertyBlockEntity> result = underTest.findById(notExistingPropertyId);
+      Optional<PropertyBlockEntity> result = underTest.findById(UUID.randomUUID(), notExistingPropertyId);
 
       assertThat(result).isNotPresent();
     }
@@ -63,11 +66,12 @@ class PropertyBlocksRepositoryTest {
           OffsetDateTime.now(),
           startDate,
           endDate,
-          propertyId
+          propertyId,
+          0
       );
       UUID returnedPropertyBlocksId = propertyBlocksTestDataHelper.insertPropertyBlock(entity);
 
-      Optional<PropertyBlockEntity> result = underTest.findById(returnedPropertyBlocksId);
+      Optional<PropertyBlockEntity> result = underTest.findById(propertyId, returnedPropertyBlocksId);
 
       assertThat(result)
           .isPresent()
@@ -77,7 +81,7 @@ class PropertyBlocksRepositoryTest {
   }
 
   @Nested
-  class BlocksExistsWithinRangeTests {
+  class FindConflictWithinRangeTests {
 
     private UUID propertyId;
     private static final OffsetDateTime EXISTING_BLOCK_START_DATE = OffsetDateTime.now()
@@ -99,33 +103,36 @@ class PropertyBlocksRepositoryTest {
           OffsetDateTime.now(),
           EXISTING_BLOCK_START_DATE,
           EXISTING_BLOCK_END_DATE,
-          propertyId
+          propertyId,
+          0
       );
       propertyBlocksTestDataHelper.insertPropertyBlock(entity);
     }
 
     @ParameterizedTest(name = "[{index}] => [{0}], startDate={1}, endDate={1}")
     @MethodSource("provideRangesWithingExistingBlocksRange")
-    void blockAlreadyExistsWithingTheRange_shouldReturnTrue(String testCaseDescription,
+    void blockAlreadyExistsWithingTheRange_shouldReturnConflict(String testCaseDescription,
                                                             OffsetDateTime startDate,
                                                             OffsetDateTime endDate) {
-      boolean result = underTest.blockExistsWithinRange(propertyId, startDate, endDate);
+      Optional<PropertyConflictEntity> result =
+          propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null);
 
       assertThat(result)
           .as(testCaseDescription)
-          .isTrue();
+          .isPresent();
     }
 
     @ParameterizedTest(name = "[{index}] => [{0}], startDate={1}, endDate={1}")
     @MethodSource("provideRangesNotWithingExistingBlocksRange")
-    void blockNotExistsWithingTheRange_shouldReturnFalse(String testCaseDescription,
+    void blockNotExistsWithingTheRange_shouldReturnEmptyOptional(String testCaseDescription,
                                                          OffsetDateTime startDate,
                                                          OffsetDateTime endDate) {
-      boolean result = underTest.blockExistsWithinRange(propertyId, startDate, endDate);
+      Optional<PropertyConflictEntity> result =
+          propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null);
 
       assertThat(result)
           .as(testCaseDescription)
-          .isFalse();
+          .isNotPresent();
     }
 
     private static Stream<Arguments> provideRangesWithingExistingBlocksRange() {
@@ -182,7 +189,8 @@ class PropertyBlocksRepositoryTest {
         dateCreated,
         startDate,
         endDate,
-        propertyId
+        propertyId,
+        0
     );
 
     underTest.blockProperty(propertyBlocksEntity);
@@ -199,7 +207,8 @@ class PropertyBlocksRepositoryTest {
         OffsetDateTime.now(),
         OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS),
         OffsetDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS),
-        propertyId
+        propertyId,
+        0
     );
     UUID propertyBlocksId = propertyBlocksTestDataHelper.insertPropertyBlock(blockEntity);
 
@@ -208,11 +217,13 @@ class PropertyBlocksRepositoryTest {
         blockEntity.dateCreated(),
         OffsetDateTime.now().plusDays(6).truncatedTo(ChronoUnit.DAYS),
         OffsetDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS),
-        blockEntity.propertyId()
+        blockEntity.propertyId(),
+        0
     );
 
-    underTest.updateBlock(blockEntityToUpdate);
+    boolean updated = underTest.updateBlock(blockEntityToUpdate);
 
+    assertThat(updated).isTrue();
     PropertyBlockEntity storedPropertyBlocks = propertyBlocksTestDataHelper.getPropertyBlock(propertyBlocksId);
     assertThat(storedPropertyBlocks)
         .extracting(
@@ -220,16 +231,48 @@ class PropertyBlocksRepositoryTest {
             PropertyBlockEntity::dateCreated,
             PropertyBlockEntity::startDate,
             PropertyBlockEntity::endDate,
-            PropertyBlockEntity::propertyId
+            PropertyBlockEntity::propertyId,
+            PropertyBlockEntity::version
         ).containsExactly(
             blockEntity.id(),
             blockEntity.dateCreated(),
             blockEntityToUpdate.startDate(),
             blockEntityToUpdate.endDate(),
-            blockEntity.propertyId()
+            blockEntity.propertyId(),
+            1L
         );
   }
 
+  @Test
+  void updateBlock_withStaleVersion_shouldNotUpdateRecord() {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(7), randomAlphanumeric(10));
+    PropertyBlockEntity blockEntity = new PropertyBlockEntity(
+        UUID.randomUUID(),
+        OffsetDateTime.now(),
+        OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS),
+        OffsetDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS),
+        propertyId,
+        2
+    );
+    UUID propertyBlocksId = propertyBlocksTestDataHelper.insertPropertyBlock(blockEntity);
+
+    PropertyBlockEntity blockEntityToUpdate = new PropertyBlockEntity(
+        blockEntity.id(),
+        blockEntity.dateCreated(),
+        OffsetDateTime.now().plusDays(6).truncatedTo(ChronoUnit.DAYS),
+        OffsetDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS),
+        blockEntity.propertyId(),
+        1
+    );
+
+    boolean updated = underTest.updateBlock(blockEntityToUpdate);
+
+    assertThat(updated).isFalse();
+    assertThat(propertyBlocksTestDataHelper.getPropertyBlock(propertyBlocksId))
+        .extracting(PropertyBlockEntity::startDate, PropertyBlockEntity::version)
+        .containsExactly(blockEntity.startDate(), 2L);
+  }
+
   @Test
   @Transactional
   void cancelBlocks_shouldUpdateTheRecordBySettingDateDeleted() {
@@ -240,7 +283,8 @@ class PropertyBlocksRepositoryTest {
         OffsetDateTime.now(),
         OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS),
         OffsetDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS),
-        propertyId
+        propertyId,
+        0
     );
     propertyBlocksTestDataHelper.insertPropertyBlock(propertyBlocks);
     propertyBlocks = propertyBlocksTestDataHelper.getPropertyBlock(propertyBlocksId);
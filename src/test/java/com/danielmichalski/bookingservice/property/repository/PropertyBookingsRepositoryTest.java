@@ -4,11 +4,16 @@ import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
 import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyConflictEntity;
 import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBlocksTestDataHelper;
 import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -31,6 +36,8 @@ class PropertyBookingsRepositoryTest {
   @Autowired
   private PropertyBookingsTestDataHelper propertyBookingsTestDataHelper;
   @Autowired
+  private PropertyBlocksTestDataHelper propertyBlocksTestDataHelper;
+  @Autowired
   private PropertyBookingsRepository underTest;
 
   @Nested
@@ -40,7 +47,7 @@ class PropertyBookingsRepositoryTest {
     void propertyBookingNotExists_shouldReturnEmptyOptional() {
       UUID notExistingPropertyId = UUID.randomUUID();
 
-      Optional<PropertyBookingEntity> result = underTest.findById(notExistingPropertyId);
+      Optional<PropertyBookingEntity> result = underTest.findById(UUID.randomUUID(), notExistingPropertyId);
 
       assertThat(result).isNotPresent();
     }
@@ -65,11 +72,12 @@ class PropertyBookingsRepositoryTest {
           OffsetDateTime.now(),
           startDate,
           endDate,
-          propertyId
+          propertyId,
+          0
       );
       UUID returnedPropertyBookingId = propertyBookingsTestDataHelper.insertPropertyBooking(entity);
 
-      Optional<PropertyBookingEntity> result = underTest.findById(returnedPropertyBookingId);
+      Optional<PropertyBookingEntity> result = underTest.findById(propertyId, returnedPropertyBookingId);
 
       assertThat(result).isPresent();
       assertThat(result.get()).isEqualTo(entity);
@@ -77,7 +85,7 @@ class PropertyBookingsRepositoryTest {
   }
 
   @Nested
-  class BookingExistsWithinRangeTests {
+  class FindConflictWithinRangeTests {
 
     private UUID propertyId;
     private static final OffsetDateTime EXISTING_BOOKING_START_DATE = OffsetDateTime.now()
@@ -101,33 +109,34 @@ class PropertyBookingsRepositoryTest {
           OffsetDateTime.now(),
           EXISTING_BOOKING_START_DATE,
           EXISTING_BOOKING_END_DATE,
-          propertyId
+          propertyId,
+          0
       );
       propertyBookingsTestDataHelper.insertPropertyBooking(entity);
     }
 
     @ParameterizedTest(name = "[{index}] => [{0}], startDate={1}, endDate={1}")
     @MethodSource("provideRangesWithingExistingBookingRange")
-    void bookingAlreadyExistsWithingTheRange_shouldReturnTrue(String testCaseDescription,
+    void bookingAlreadyExistsWithingTheRange_shouldReturnConflict(String testCaseDescription,
                                                               OffsetDateTime startDate,
                                                               OffsetDateTime endDate) {
-      boolean result = underTest.bookingExistsWithinRange(propertyId, startDate, endDate);
+      Optional<PropertyConflictEntity> result = underTest.findConflictExcluding(propertyId, startDate, endDate, null);
 
       assertThat(result)
           .as(testCaseDescription)
-          .isTrue();
+          .isPresent();
     }
 
     @ParameterizedTest(name = "[{index}] => [{0}], startDate={1}, endDate={1}")
     @MethodSource("provideRangesNotWithingExistingBookingRange")
-    void bookingNotExistsWithingTheRange_shouldReturnFalse(String testCaseDescription,
+    void bookingNotExistsWithingTheRange_shouldReturnEmptyOptional(String testCaseDescription,
                                                            OffsetDateTime startDate,
                                                            OffsetDateTime endDate) {
-      boolean result = underTest.bookingExistsWithinRange(propertyId, startDate, endDate);
+      Optional<PropertyConflictEntity> result = underTest.findConflictExcluding(propertyId, startDate, endDate, null);
 
       assertThat(result)
           .as(testCaseDescription)
-          .isFalse();
+          .isNotPresent();
     }
 
     private static Stream<Arguments> provideRangesWithingExistingBookingRange() {
@@ -188,7 +197,8 @@ class PropertyBookingsRepositoryTest {
         dateCreated,
         startDate,
         endDate,
-        propertyId
+        propertyId,
+        0
     );
 
     underTest.bookProperty(propertyBookingEntity);
@@ -197,6 +207,31 @@ class PropertyBookingsRepositoryTest {
     assertThat(storedPropertyBooking).isEqualTo(propertyBookingEntity);
   }
 
+  @Test
+  void bookProperties_shouldInsertAllRecords() {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(7), randomAlphanumeric(10));
+    UUID otherPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(7), randomAlphanumeric(10));
+    OffsetDateTime dateCreated = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+    List<PropertyBookingEntity> propertyBookingEntities = List.of(
+        new PropertyBookingEntity(UUID.randomUUID(), randomAlphanumeric(5), randomAlphanumeric(7), dateCreated,
+            startDate, startDate.plusDays(2), propertyId,
+            0),
+        new PropertyBookingEntity(UUID.randomUUID(), randomAlphanumeric(5), randomAlphanumeric(7), dateCreated,
+            startDate.plusDays(3), startDate.plusDays(5), propertyId,
+            0),
+        new PropertyBookingEntity(UUID.randomUUID(), randomAlphanumeric(5), randomAlphanumeric(7), dateCreated,
+            startDate, startDate.plusDays(2), otherPropertyId,
+            0)
+    );
+
+    underTest.bookProperties(propertyBookingEntities);
+
+    assertThat(propertyBookingEntities)
+        .allSatisfy(entity -> assertThat(propertyBookingsTestDataHelper.getPropertyBooking(entity.id()))
+            .isEqualTo(entity));
+  }
+
   @Test
   void updateBooking_shouldUpdateRecord() {
     UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(7), randomAlphanumeric(10));
@@ -207,7 +242,8 @@ class PropertyBookingsRepositoryTest {
         OffsetDateTime.now(),
         OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS),
         OffsetDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS),
-        propertyId
+        propertyId,
+        0
     );
     UUID propertyBookingId = propertyBookingsTestDataHelper.insertPropertyBooking(bookingEntity);
 
@@ -218,11 +254,13 @@ class PropertyBookingsRepositoryTest {
         bookingEntity.dateCreated(),
         OffsetDateTime.now().plusDays(6).truncatedTo(ChronoUnit.DAYS),
         OffsetDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS),
-        bookingEntity.propertyId()
+        bookingEntity.propertyId(),
+        0
     );
 
-    underTest.updateBooking(bookingEntityToUpdate);
+    boolean updated = underTest.updateBooking(bookingEntityToUpdate);
 
+    assertThat(updated).isTrue();
     PropertyBookingEntity storedPropertyBooking = propertyBookingsTestDataHelper.getPropertyBooking(propertyBookingId);
     assertThat(storedPropertyBooking)
         .extracting(
@@ -232,7 +270,8 @@ class PropertyBookingsRepositoryTest {
             PropertyBookingEntity::dateCreated,
             PropertyBookingEntity::startDate,
             PropertyBookingEntity::endDate,
-            PropertyBookingEntity::propertyId
+            PropertyBookingEntity::propertyId,
+            PropertyBookingEntity::version
         ).containsExactly(
             bookingEntity.id(),
             bookingEntityToUpdate.guestFirstName(),
@@ -240,10 +279,109 @@ class PropertyBookingsRepositoryTest {
             bookingEntity.dateCreated(),
             bookingEntityToUpdate.startDate(),
             bookingEntityToUpdate.endDate(),
-            bookingEntity.propertyId()
+            bookingEntity.propertyId(),
+            1L
+        );
+  }
+
+  @Test
+  void updateBooking_withStaleVersion_shouldNotUpdateRecord() {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(7), randomAlphanumeric(10));
+    PropertyBookingEntity bookingEntity = new PropertyBookingEntity(
+        UUID.randomUUID(),
+        randomAlphanumeric(5),
+        randomAlphanumeric(7),
+        OffsetDateTime.now(),
+        OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS),
+        OffsetDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS),
+        propertyId,
+        2
+    );
+    UUID propertyBookingId = propertyBookingsTestDataHelper.insertPropertyBooking(bookingEntity);
+
+    PropertyBookingEntity bookingEntityToUpdate = new PropertyBookingEntity(
+        bookingEntity.id(),
+        randomAlphanumeric(3),
+        randomAlphanumeric(2),
+        bookingEntity.dateCreated(),
+        OffsetDateTime.now().plusDays(6).truncatedTo(ChronoUnit.DAYS),
+        OffsetDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS),
+        bookingEntity.propertyId(),
+        1
+    );
+
+    boolean updated = underTest.updateBooking(bookingEntityToUpdate);
+
+    assertThat(updated).isFalse();
+    assertThat(propertyBookingsTestDataHelper.getPropertyBooking(propertyBookingId))
+        .extracting(
+            PropertyBookingEntity::guestFirstName,
+            PropertyBookingEntity::startDate,
+            PropertyBookingEntity::version
+        ).containsExactly(
+            bookingEntity.guestFirstName(),
+            bookingEntity.startDate(),
+            2L
         );
   }
 
+  @Nested
+  class FindConflictTests {
+
+    private final OffsetDateTime firstDay = OffsetDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS);
+
+    private UUID propertyId;
+    private UUID bookingId;
+    private UUID blockId;
+
+    @BeforeEach
+    void setUp() {
+      propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(10), randomAlphanumeric(7));
+      bookingId = propertyBookingsTestDataHelper.insertPropertyBooking(new PropertyBookingEntity(
+          UUID.randomUUID(),
+          randomAlphanumeric(4),
+          randomAlphanumeric(3),
+          OffsetDateTime.now(),
+          firstDay,
+          firstDay.plusDays(2),
+          propertyId,
+          0
+      ));
+      blockId = propertyBlocksTestDataHelper.insertPropertyBlock(new PropertyBlockEntity(
+          UUID.randomUUID(),
+          OffsetDateTime.now(),
+          firstDay.plusDays(3),
+          firstDay.plusDays(4),
+          propertyId,
+          0
+      ));
+    }
+
+    @Test
+    void overlappingBookingOrBlock_shouldReturnTheEarliestOne() {
+      assertThat(underTest.findConflictExcluding(propertyId, firstDay.plusDays(4), firstDay.plusDays(6), null))
+          .contains(new PropertyConflictEntity(CalendarEntryType.BLOCK, blockId));
+      assertThat(underTest.findConflictExcluding(propertyId, firstDay.plusDays(1), firstDay.plusDays(3), null))
+          .contains(new PropertyConflictEntity(CalendarEntryType.BOOKING, bookingId));
+    }
+
+    @Test
+    void noOverlappingEntries_shouldReturnEmptyOptional() {
+      assertThat(underTest.findConflictExcluding(propertyId, firstDay.plusDays(8), firstDay.plusDays(9), null))
+          .isEmpty();
+    }
+
+    @Test
+    void excludedEntry_shouldBeIgnored() {
+      OffsetDateTime startDate = firstDay.plusDays(3);
+      OffsetDateTime endDate = firstDay.plusDays(4);
+
+      assertThat(underTest.findConflictExcluding(propertyId, startDate, endDate, blockId)).isEmpty();
+      assertThat(underTest.findConflictExcluding(propertyId, startDate, endDate, bookingId))
+          .contains(new PropertyConflictEntity(CalendarEntryType.BLOCK, blockId));
+    }
+  }
+
   @Test
   @Transactional
   void cancelBooking_shouldUpdateTheRecordBySettingDateDeleted() {
@@ -256,7 +394,8 @@ class PropertyBookingsRepositoryTest {
         OffsetDateTime.now(),
         OffsetDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS),
         OffsetDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS),
-        propertyId
+        propertyId,
+        0
     );
     propertyBookingsTestDataHelper.insertPropertyBooking(propertyBooking);
     propertyBooking = propertyBookingsTestDataHelper.getPropertyBooking(propertyBookingId);
@@ -0,0 +1,166 @@
+package com.danielmichalski.bookingservice.property.repository;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarQuery;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyCalendarEntryEntity;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBlocksTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class PropertyCalendarRepositoryTest {
+
+  private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(10);
+
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private PropertyBookingsTestDataHelper propertyBookingsTestDataHelper;
+  @Autowired
+  private PropertyBlocksTestDataHelper propertyBlocksTestDataHelper;
+  @Autowired
+  private PropertyCalendarRepository underTest;
+
+  private UUID propertyId;
+  private UUID firstBookingId;
+  private UUID blockId;
+  private UUID secondBookingId;
+
+  @BeforeEach
+  void setUp() {
+    propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(10), randomAlphanumeric(7));
+    firstBookingId = insertBooking(FIRST_DAY, FIRST_DAY.plusDays(2));
+    blockId = insertBlock(FIRST_DAY.plusDays(3), FIRST_DAY.plusDays(4));
+    secondBookingId = insertBooking(FIRST_DAY.plusDays(5), FIRST_DAY.plusDays(7));
+
+    UUID canceledBookingId = insertBooking(FIRST_DAY.plusDays(8), FIRST_DAY.plusDays(9));
+    propertyBookingsTestDataHelper.cancelBooking(canceledBookingId, OffsetDateTime.now());
+
+    UUID otherPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(10), randomAlphanumeric(7));
+    propertyBookingsTestDataHelper.insertPropertyBooking(new PropertyBookingEntity(
+        UUID.randomUUID(),
+        randomAlphanumeric(4),
+        randomAlphanumeric(3),
+        OffsetDateTime.now(),
+        toDateTime(FIRST_DAY),
+        toDateTime(FIRST_DAY.plusDays(1)),
+        otherPropertyId,
+        0
+    ));
+  }
+
+  @Test
+  void findCalendarEntries_shouldReturnBookingsAndBlocksOrderedByStartDate() {
+    List<PropertyCalendarEntryEntity> result = find(FIRST_DAY, FIRST_DAY.plusDays(30), null, null, 100);
+
+    assertThat(result)
+        .extracting(PropertyCalendarEntryEntity::id)
+        .containsExactly(firstBookingId, blockId, secondBookingId);
+    assertThat(result)
+        .extracting(PropertyCalendarEntryEntity::type)
+        .containsExactly(CalendarEntryType.BOOKING, CalendarEntryType.BLOCK, CalendarEntryType.BOOKING);
+    assertThat(result.get(1).startDate()).isEqualTo(FIRST_DAY.plusDays(3));
+    assertThat(result.get(1).guestFirstName()).isNull();
+    assertThat(result.get(0).guestFirstName()).isNotNull();
+  }
+
+  @Test
+  void findCalendarEntries_shouldReturnOnlyEntriesOverlappingTheWindow() {
+    List<PropertyCalendarEntryEntity> result = find(FIRST_DAY.plusDays(2), FIRST_DAY.plusDays(3), null, null, 100);
+
+    assertThat(result)
+        .extracting(PropertyCalendarEntryEntity::id)
+        .containsExactly(firstBookingId, blockId);
+  }
+
+  @Test
+  void findCalendarEntries_shouldContinueAfterTheGivenKey() {
+    List<PropertyCalendarEntryEntity> firstPage = find(FIRST_DAY, FIRST_DAY.plusDays(30), null, null, 2);
+    PropertyCalendarEntryEntity last = firstPage.get(firstPage.size() - 1);
+
+    List<PropertyCalendarEntryEntity> secondPage =
+        find(FIRST_DAY, FIRST_DAY.plusDays(30), last.startDate(), last.id(), 2);
+
+    assertThat(firstPage)
+        .extracting(PropertyCalendarEntryEntity::id)
+        .containsExactly(firstBookingId, blockId);
+    assertThat(secondPage)
+        .extracting(PropertyCalendarEntryEntity::id)
+        .containsExactly(secondBookingId);
+  }
+
+  @Test
+  void findUnavailablePropertyIds_shouldReturnPropertiesWithOverlappingBookingOrBlock() {
+    UUID freePropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(10), randomAlphanumeric(7));
+    List<UUID> propertyIds = List.of(propertyId, freePropertyId);
+
+    assertThat(underTest.findUnavailablePropertyIds(
+        propertyIds, toDateTime(FIRST_DAY.plusDays(3)), toDateTime(FIRST_DAY.plusDays(4))))
+        .containsExactly(propertyId);
+    assertThat(underTest.findUnavailablePropertyIds(
+        propertyIds, toDateTime(FIRST_DAY.plusDays(8)), toDateTime(FIRST_DAY.plusDays(9))))
+        .isEmpty();
+  }
+
+  private List<PropertyCalendarEntryEntity> find(LocalDate from,
+                                                 LocalDate to,
+                                                 LocalDate afterStartDate,
+                                                 UUID afterId,
+                                                 int limit) {
+    PropertyCalendarQuery query = new PropertyCalendarQuery(propertyId, from, to, afterStartDate, afterId, limit);
+    List<PropertyCalendarEntryEntity> result = new ArrayList<>();
+    try (Cursor<PropertyCalendarEntryEntity> cursor = underTest.findCalendarEntries(query)) {
+      cursor.forEach(result::add);
+    } catch (Exception exception) {
+      throw new IllegalStateException(exception);
+    }
+    return result;
+  }
+
+  private UUID insertBooking(LocalDate startDate, LocalDate endDate) {
+    return propertyBookingsTestDataHelper.insertPropertyBooking(new PropertyBookingEntity(
+        UUID.randomUUID(),
+        randomAlphanumeric(4),
+        randomAlphanumeric(3),
+        OffsetDateTime.now(),
+        toDateTime(startDate),
+        toDateTime(endDate),
+        propertyId,
+        0
+    ));
+  }
+
+  private UUID insertBlock(LocalDate startDate, LocalDate endDate) {
+    return propertyBlocksTestDataHelper.insertPropertyBlock(new PropertyBlockEntity(
+        UUID.randomUUID(),
+        OffsetDateTime.now(),
+        toDateTime(startDate),
+        toDateTime(endDate),
+        propertyId,
+        0
+    ));
+  }
+
+  private static OffsetDateTime toDateTime(LocalDate date) {
+    return date.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+  }
+
+}
@@ -18,9 +18,9 @@ public class PropertyBlocksTestDataHelper {
   public UUID insertPropertyBlock(PropertyBlockEntity entity) {
     String sql = """
             INSERT INTO property_blocks
-                 (id, date_created, start_date, end_date, property_id)
+                 (id, date_created, start_date, end_date, property_id, version)
              VALUES
-                 (:id, :dateCreated, :startDate, :endDate, :propertyId)
+                 (:id, :dateCreated, :startDate, :endDate, :propertyId, :version)
         """;
 
     MapSqlParameterSource parameters = new MapSqlParameterSource()
@@ -28,7 +28,8 @@ public class PropertyBlocksTestDataHelper {
         .addValue("dateCreated", entity.dateCreated())
         .addValue("startDate", entity.startDate())
         .addValue("endDate", entity.endDate())
-        .addValue("propertyId", entity.propertyId());
+        .addValue("propertyId", entity.propertyId())
+        .addValue("version", entity.version());
 
     namedJdbcTemplate.update(sql, parameters);
     return entity.id();
@@ -50,7 +51,7 @@ public class PropertyBlocksTestDataHelper {
 
   public PropertyBlockEntity getPropertyBlock(UUID propertyBlockId) {
     String sql = """
-            SELECT id, date_created, start_date, end_date, property_id
+            SELECT id, date_created, start_date, end_date, property_id, version
             FROM property_blocks
             WHERE id = :id
                 AND date_deleted IS NULL
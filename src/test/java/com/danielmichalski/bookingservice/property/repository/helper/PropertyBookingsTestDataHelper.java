@@ -18,9 +18,9 @@ public class PropertyBookingsTestDataHelper {
   public UUID insertPropertyBooking(PropertyBookingEntity entity) {
     String sql = """
             INSERT INTO property_bookings
-                 (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id)
+                 (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id, version)
              VALUES
-                 (:id, :guestFirstName, :guestLastName, :dateCreated, :startDate, :endDate, :propertyId)
+                 (:id, :guestFirstName, :guestLastName, :dateCreated, :startDate, :endDate, :propertyId, :version)
         """;
 
     MapSqlParameterSource parameters = new MapSqlParameterSource()
@@ -30,7 +30,33 @@ public class PropertyBookingsTestDataHelper {
         .addValue("dateCreated", entity.dateCreated())
         .addValue("startDate", entity.startDate())
         .addValue("endDate", entity.endDate())
-        .addValue("propertyId", entity.propertyId());
+        .addValue("propertyId", entity.propertyId())
+        .addValue("version", entity.version());
+
+    namedJdbcTemplate.update(sql, parameters);
+    return entity.id();
+  }
+
+  public UUID insertArchivedPropertyBooking(PropertyBookingEntity entity, OffsetDateTime dateArchived) {
+    String sql = """
+            INSERT INTO property_bookings_archive
+                 (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id, version,
+                  date_archived)
+             VALUES
+                 (:id, :guestFirstName, :guestLastName, :dateCreated, :startDate, :endDate, :propertyId, :version,
+                  :dateArchived)
+        """;
+
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+        .addValue("id", entity.id())
+        .addValue("guestFirstName", entity.guestFirstName())
+        .addValue("guestLastName", entity.guestLastName())
+        .addValue("dateCreated", entity.dateCreated())
+        .addValue("startDate", entity.startDate())
+        .addValue("endDate", entity.endDate())
+        .addValue("propertyId", entity.propertyId())
+        .addValue("version", entity.version())
+        .addValue("dateArchived", dateArchived);
 
     namedJdbcTemplate.update(sql, parameters);
     return entity.id();
@@ -52,7 +78,7 @@ public class PropertyBookingsTestDataHelper {
 
   public PropertyBookingEntity getPropertyBooking(UUID propertyBookingId) {
     String sql = """
-            SELECT id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id
+            SELECT id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id, version
             FROM property_bookings
             WHERE id = :id
                 AND date_deleted IS NULL
@@ -0,0 +1,143 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityRequest;
+import com.danielmichalski.bookingservice.property.repository.PropertyCalendarRepository;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Measures bulk availability searches over many properties, once from the availability index and
+ * once with the set-based query. Run with {@code ./mvnw test -Pbenchmark -Dtest=AvailabilitySearchBenchmark},
+ * the data set and the request size can be changed with {@code -Dbenchmark.properties} and
+ * {@code -Dbenchmark.idsPerRequest}.
+ */
+@Slf4j
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AvailabilitySearchBenchmark {
+
+  private static final int PROPERTIES = Integer.getInteger("benchmark.properties", 100_000);
+  private static final int IDS_PER_REQUEST = Integer.getInteger("benchmark.idsPerRequest", 5_000);
+  private static final int BOOKINGS_PER_PROPERTY = 10;
+  private static final int REQUESTS = Integer.getInteger("benchmark.requests", 200);
+  private static final int BATCH_SIZE = 10_000;
+  private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private PropertyAvailabilityService propertyAvailabilityService;
+  @Autowired
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+  @Autowired
+  private PropertyCalendarRepository propertyCalendarRepository;
+
+  private final List<UUID> propertyIds = new ArrayList<>();
+
+  @BeforeAll
+  void setUp() {
+    for (int i = 0; i < PROPERTIES; i++) {
+      propertyIds.add(UUID.randomUUID());
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO properties (id, name, city) VALUES (?, ?, ?)",
+        propertyIds,
+        BATCH_SIZE,
+        (ps, propertyId) -> {
+          ps.setObject(1, propertyId);
+          ps.setString(2, "Benchmark");
+          ps.setString(3, "Benchmark");
+        }
+    );
+
+    Timestamp dateCreated = Timestamp.valueOf(FIRST_DAY.atStartOfDay());
+    List<Integer> rows = new ArrayList<>(BATCH_SIZE);
+    for (int row = 0; row < PROPERTIES * BOOKINGS_PER_PROPERTY; row++) {
+      rows.add(row);
+      if (rows.size() == BATCH_SIZE || row == PROPERTIES * BOOKINGS_PER_PROPERTY - 1) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO property_bookings
+                    (id, guest_first_name, guest_last_name, date_created, start_date, end_date, property_id)
+                VALUES (?, 'John', 'Doe', ?, ?, ?, ?)
+            """, rows, BATCH_SIZE, (ps, index) -> {
+            LocalDate startDate = FIRST_DAY.plusDays((index % BOOKINGS_PER_PROPERTY) * 6L + index % 3);
+            ps.setObject(1, UUID.randomUUID());
+            ps.setTimestamp(2, dateCreated);
+            ps.setDate(3, Date.valueOf(startDate));
+            ps.setDate(4, Date.valueOf(startDate.plusDays(2)));
+            ps.setObject(5, propertyIds.get(index / BOOKINGS_PER_PROPERTY));
+          });
+        rows.clear();
+      }
+    }
+    jdbcTemplate.execute("ANALYZE");
+    propertyAvailabilityIndex.rebuild();
+  }
+
+  @Test
+  void availabilitySearch() {
+    assertThat(propertyAvailabilityIndex.isEnabled()).isTrue();
+
+    measure("availability index via service", request ->
+        propertyAvailabilityService.findAvailableProperties(request));
+    measure("set-based query", request ->
+        propertyCalendarRepository.findUnavailablePropertyIds(request.propertyIds(), request.startDate(),
+            request.endDate()));
+  }
+
+  private void measure(String variant, Consumer<PropertyAvailabilityRequest> search) {
+    Random random = new Random(42);
+    for (int i = 0; i < REQUESTS / 10; i++) {
+      search.accept(randomRequest(random));
+    }
+
+    long[] latencies = new long[REQUESTS];
+    for (int i = 0; i < REQUESTS; i++) {
+      PropertyAvailabilityRequest request = randomRequest(random);
+      long startedAt = System.nanoTime();
+      search.accept(request);
+      latencies[i] = System.nanoTime() - startedAt;
+    }
+
+    Arrays.sort(latencies);
+    log.info("{}: properties={}, idsPerRequest={}, requests={}, p50={} ms, p99={} ms, max={} ms",
+        variant,
+        PROPERTIES,
+        IDS_PER_REQUEST,
+        REQUESTS,
+        latencies[REQUESTS / 2] / 1_000_000.0,
+        latencies[REQUESTS * 99 / 100] / 1_000_000.0,
+        latencies[REQUESTS - 1] / 1_000_000.0);
+  }
+
+  private PropertyAvailabilityRequest randomRequest(Random random) {
+    List<UUID> ids = new ArrayList<>(IDS_PER_REQUEST);
+    for (int i = 0; i < IDS_PER_REQUEST; i++) {
+      ids.add(propertyIds.get(random.nextInt(propertyIds.size())));
+    }
+    OffsetDateTime startDate = FIRST_DAY.plusDays(random.nextInt(BOOKINGS_PER_PROPERTY * 6))
+        .atStartOfDay()
+        .atOffset(ZoneOffset.UTC);
+    return new PropertyAvailabilityRequest(ids, startDate, startDate.plusDays(1 + random.nextInt(3)));
+  }
+
+}
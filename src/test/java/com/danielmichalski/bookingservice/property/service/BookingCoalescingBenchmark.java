@@ -0,0 +1,117 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Books disjoint ranges of a single hot property from many threads, once booking every request in
+ * its own transaction and once through {@link PropertyBookingsCoalescer}, and logs throughput,
+ * latency percentiles and the mean number of bookings per transaction. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=BookingCoalescingBenchmark}, the load can be changed with
+ * {@code -Dbenchmark.threads} and {@code -Dbenchmark.requestsPerThread}.
+ */
+@Slf4j
+@SpringBootTest
+class BookingCoalescingBenchmark {
+
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 200);
+  private static final int REQUESTS_PER_THREAD = Integer.getInteger("benchmark.requestsPerThread", 50);
+
+  @Autowired
+  private PropertyBookingsService propertyBookingsService;
+  @Autowired
+  private PropertyBookingsCoalescer propertyBookingsCoalescer;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void transactionPerBooking() throws Exception {
+    run("transaction per booking", propertyBookingsService::bookProperty);
+  }
+
+  @Test
+  void coalescedBookings() throws Exception {
+    DistributionSummary batchSize = meterRegistry.get(PropertyBookingsCoalescer.BATCH_SIZE).summary();
+    long batchesBefore = batchSize.count();
+    double bookingsBefore = batchSize.totalAmount();
+
+    run("coalesced", propertyBookingsCoalescer::bookProperty);
+
+    log.info("[coalesced] mean bookings per transaction={}",
+        (batchSize.totalAmount() - bookingsBefore) / (batchSize.count() - batchesBefore));
+  }
+
+  private void run(String mode, BiConsumer<UUID, BookPropertyRequest> booking) throws Exception {
+    // warm up the JIT on another property before measuring
+    measure(propertiesTestDataHelper.insertProperty("Warm-up", "Benchmark"), booking);
+    UUID propertyId = propertiesTestDataHelper.insertProperty("Benchmark", "Benchmark");
+
+    long startedAt = System.nanoTime();
+    long[] latencies = measure(propertyId, booking);
+    long elapsedNanos = System.nanoTime() - startedAt;
+
+    Arrays.sort(latencies);
+    log.info("[{}] threads={}, bookings={}, throughput={} bookings/s, p50={} ms, p99={} ms",
+        mode,
+        THREADS,
+        latencies.length,
+        latencies.length * 1_000_000_000L / elapsedNanos,
+        latencies[latencies.length / 2] / 1_000_000.0,
+        latencies[latencies.length * 99 / 100] / 1_000_000.0);
+    assertThat(latencies).hasSize(THREADS * REQUESTS_PER_THREAD);
+  }
+
+  private static long[] measure(UUID propertyId, BiConsumer<UUID, BookPropertyRequest> booking) throws Exception {
+    OffsetDateTime firstDay = OffsetDateTime.now().plusDays(1);
+    CountDownLatch startGate = new CountDownLatch(1);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<long[]>> futures = new ArrayList<>(THREADS);
+      for (int thread = 0; thread < THREADS; thread++) {
+        int firstSlot = thread * REQUESTS_PER_THREAD;
+        futures.add(executor.submit(() -> {
+          startGate.await();
+          long[] latencies = new long[REQUESTS_PER_THREAD];
+          for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+            OffsetDateTime startDate = firstDay.plusDays((firstSlot + i) * 2L);
+            BookPropertyRequest request = new BookPropertyRequest("John", "Doe", startDate, startDate.plusHours(12));
+            long startedAt = System.nanoTime();
+            booking.accept(propertyId, request);
+            latencies[i] = System.nanoTime() - startedAt;
+          }
+          return latencies;
+        }));
+      }
+
+      startGate.countDown();
+      long[] latencies = new long[THREADS * REQUESTS_PER_THREAD];
+      int offset = 0;
+      for (Future<long[]> future : futures) {
+        long[] threadLatencies = future.get();
+        System.arraycopy(threadLatencies, 0, latencies, offset, threadLatencies.length);
+        offset += threadLatencies.length;
+      }
+      return latencies;
+    }
+  }
+
+}
@@ -1,11 +1,22 @@
 package com.danielmichalski.bookingservice.property.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
 import com.danielmichalski.bookingservice.property.repository.PropertiesRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -13,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,6 +32,10 @@ class PropertiesServiceTest {
 
   @Mock
   private PropertiesRepository propertiesRepository;
+  @Spy
+  private Cache<UUID, Boolean> propertyExistsCache = Caffeine.newBuilder().build();
+  @Mock
+  private ValidationMetrics validationMetrics;
   @InjectMocks
   private PropertiesService underTest;
 
@@ -54,6 +70,64 @@ class PropertiesServiceTest {
           "Property not found"
       );
     }
+
+    @Test
+    void propertyAlreadyChecked_shouldNotQueryRepositoryAgain() {
+      when(propertiesRepository.propertyExists(propertyId)).thenReturn(true);
+
+      underTest.validatePropertyExists(propertyId);
+      underTest.validatePropertyExists(propertyId);
+
+      verify(propertiesRepository).propertyExists(propertyId);
+    }
+
+    @Test
+    void missingPropertyAlreadyChecked_shouldNotQueryRepositoryAgain() {
+      when(propertiesRepository.propertyExists(propertyId)).thenReturn(false);
+
+      assertThrows(NotFoundException.class, () -> underTest.validatePropertyExists(propertyId));
+      assertThrows(NotFoundException.class, () -> underTest.validatePropertyExists(propertyId));
+
+      verify(propertiesRepository).propertyExists(propertyId);
+    }
+
+    @Test
+    void evictedProperty_shouldBeQueriedAgain() {
+      when(propertiesRepository.propertyExists(propertyId)).thenReturn(false, true);
+
+      assertThrows(NotFoundException.class, () -> underTest.validatePropertyExists(propertyId));
+      underTest.evictProperty(propertyId);
+
+      assertThatNoException()
+          .isThrownBy(
+              () -> underTest.validatePropertyExists(propertyId)
+          );
+      verify(propertiesRepository, times(2)).propertyExists(propertyId);
+    }
+  }
+
+  @Nested
+  class FindExistingPropertyIdsTests {
+
+    @Test
+    void shouldQueryOnlyPropertiesMissingInCache() {
+      UUID cachedPropertyId = UUID.randomUUID();
+      UUID existingPropertyId = UUID.randomUUID();
+      UUID missingPropertyId = UUID.randomUUID();
+      when(propertiesRepository.propertyExists(cachedPropertyId)).thenReturn(true);
+      when(propertiesRepository.findExistingIds(anyCollection()))
+          .thenReturn(List.of(existingPropertyId));
+      underTest.validatePropertyExists(cachedPropertyId);
+
+      Set<UUID> result =
+          underTest.findExistingPropertyIds(Set.of(cachedPropertyId, existingPropertyId, missingPropertyId));
+
+      assertThat(result).containsExactlyInAnyOrder(cachedPropertyId, existingPropertyId);
+      verify(propertiesRepository).propertyExists(cachedPropertyId);
+      verify(propertiesRepository).findExistingIds(argThat(ids ->
+          ids.size() == 2 && ids.containsAll(Set.of(existingPropertyId, missingPropertyId))));
+      verifyNoMoreInteractions(propertiesRepository);
+    }
   }
 
 }
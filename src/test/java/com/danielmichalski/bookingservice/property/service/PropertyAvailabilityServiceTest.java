@@ -0,0 +1,106 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityDto;
+import com.danielmichalski.bookingservice.property.dto.PropertyAvailabilityRequest;
+import com.danielmichalski.bookingservice.property.repository.PropertyCalendarRepository;
+import com.danielmichalski.bookingservice.property.validator.DateValidator;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyAvailabilityServiceTest {
+
+  @Mock
+  private PropertiesService propertiesService;
+  @Mock
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+  @Mock
+  private PropertyCalendarRepository propertyCalendarRepository;
+  @Mock
+  private DateValidator dateValidator;
+  @InjectMocks
+  private PropertyAvailabilityService underTest;
+
+  private UUID freePropertyId;
+  private UUID bookedPropertyId;
+  private UUID missingPropertyId;
+  private PropertyAvailabilityRequest request;
+
+  @BeforeEach
+  void setUp() {
+    freePropertyId = UUID.randomUUID();
+    bookedPropertyId = UUID.randomUUID();
+    missingPropertyId = UUID.randomUUID();
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(3);
+    request = new PropertyAvailabilityRequest(
+        List.of(bookedPropertyId, missingPropertyId, freePropertyId),
+        startDate,
+        startDate.plusDays(2)
+    );
+  }
+
+  @Test
+  void indexCoversRange_shouldAnswerFromIndex() {
+    when(propertiesService.findExistingPropertyIds(any())).thenReturn(Set.of(freePropertyId, bookedPropertyId));
+    when(propertyAvailabilityIndex.covers(request.startDate())).thenReturn(true);
+    when(propertyAvailabilityIndex.overlaps(bookedPropertyId, request.startDate(), request.endDate())).thenReturn(true);
+    when(propertyAvailabilityIndex.overlaps(freePropertyId, request.startDate(), request.endDate())).thenReturn(false);
+
+    PropertyAvailabilityDto availability = underTest.findAvailableProperties(request);
+
+    assertThat(availability.availablePropertyIds()).containsExactly(freePropertyId);
+    verifyNoInteractions(propertyCalendarRepository);
+  }
+
+  @Test
+  void indexDoesNotCoverRange_shouldQueryAllPropertiesAtOnce() {
+    when(propertiesService.findExistingPropertyIds(any())).thenReturn(Set.of(freePropertyId, bookedPropertyId));
+    when(propertyCalendarRepository.findUnavailablePropertyIds(
+        Set.of(bookedPropertyId, freePropertyId),
+        request.startDate(),
+        request.endDate()
+    )).thenReturn(List.of(bookedPropertyId));
+
+    PropertyAvailabilityDto availability = underTest.findAvailableProperties(request);
+
+    assertThat(availability.availablePropertyIds()).containsExactly(freePropertyId);
+  }
+
+  @Test
+  void noExistingProperties_shouldReturnEmptyList() {
+    when(propertiesService.findExistingPropertyIds(any())).thenReturn(Set.of());
+
+    PropertyAvailabilityDto availability = underTest.findAvailableProperties(request);
+
+    assertThat(availability.availablePropertyIds()).isEmpty();
+    verifyNoInteractions(propertyAvailabilityIndex, propertyCalendarRepository);
+  }
+
+  @Test
+  void invalidDates_shouldThrowAnException() {
+    IllegalArgumentException exception = new IllegalArgumentException("Start date should be before end date");
+    doThrow(exception).when(dateValidator).validateStartDateBeforeEndDate(request.startDate(), request.endDate());
+
+    assertThrows(IllegalArgumentException.class, () -> underTest.findAvailableProperties(request));
+    verify(dateValidator).validateStartDateBeforeEndDate(request.startDate(), request.endDate());
+    verifyNoInteractions(propertiesService, propertyAvailabilityIndex, propertyCalendarRepository);
+  }
+
+}
@@ -2,23 +2,49 @@ package com.danielmichalski.bookingservice.property.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
 import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import com.danielmichalski.bookingservice.common.exception.PreconditionFailedException;
+import com.danielmichalski.bookingservice.common.id.IdGenerator;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventType;
+import com.danielmichalski.bookingservice.common.outbox.OutboxService;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.availability.AvailabilityIndexProperties;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
 import com.danielmichalski.bookingservice.property.dto.BlockPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.PropertyBlockDto;
 import com.danielmichalski.bookingservice.property.dto.UpdateBlockRequest;
 import com.danielmichalski.bookingservice.property.entity.PropertyBlockEntity;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.lock.PropertyWriteLocks;
+import com.danielmichalski.bookingservice.property.mapper.PropertyBlockMapper;
+import com.danielmichalski.bookingservice.property.mother.PropertyBlockEntityMother;
 import com.danielmichalski.bookingservice.property.repository.PropertyBlocksRepository;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import com.danielmichalski.bookingservice.property.validator.BlockOverlapPolicy;
+import com.danielmichalski.bookingservice.property.validator.DateValidator;
+import com.danielmichalski.bookingservice.property.validator.PropertyBlocksProperties;
 import com.danielmichalski.bookingservice.property.validator.PropertyBlocksValidator;
+import com.danielmichalski.bookingservice.property.validator.PropertyConflictChecker;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.Objects;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,7 +64,21 @@ class PropertyBlocksServiceTest {
   @Mock
   private CurrentDateTimeService currentDateTimeService;
   @Mock
+  private IdGenerator idGenerator;
+  @Mock
   private PropertyBlocksValidator propertyBlocksValidator;
+  @Mock
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+  @Mock
+  private PropertyWriteLocks propertyWriteLocks;
+  @Mock
+  private OutboxService outboxService;
+  @Mock
+  private PropertiesService propertiesService;
+  @Mock
+  private PropertyBookingsRepository propertyBookingsRepository;
+  @Mock
+  private ValidationMetrics validationMetrics;
   @InjectMocks
   private PropertyBlocksService underTest;
 
@@ -64,36 +104,43 @@ class PropertyBlocksServiceTest {
 
     @Test
     void happyPath() {
+      UUID id = UUID.randomUUID();
       when(currentDateTimeService.currentDateTime()).thenReturn(currentDateTime);
+      when(idGenerator.generateId()).thenReturn(id);
 
       PropertyBlockDto returnedDto = underTest.blockProperty(propertyId, blockPropertyRequest);
 
       ArgumentCaptor<PropertyBlockEntity> entityToStoreCaptor =
           ArgumentCaptor.forClass(PropertyBlockEntity.class);
       verify(propertyBlocksRepository).blockProperty(entityToStoreCaptor.capture());
+      verify(propertyWriteLocks).lockForTransaction(propertyId);
+      verify(propertyAvailabilityIndex).blockSaved(entityToStoreCaptor.getValue());
+      verify(outboxService).append(propertyId, OutboxEventType.BLOCK_CREATED, id, returnedDto);
       assertThat(entityToStoreCaptor.getValue())
           .extracting(
-              (entity) -> Objects.nonNull(entity.id()),
+              PropertyBlockEntity::id,
               PropertyBlockEntity::dateCreated,
               PropertyBlockEntity::startDate,
               PropertyBlockEntity::endDate,
-              PropertyBlockEntity::propertyId
+              PropertyBlockEntity::propertyId,
+              PropertyBlockEntity::version
           ).containsExactly(
-              true,
+              id,
               currentDateTime,
               blockPropertyRequest.startDate(),
               blockPropertyRequest.endDate(),
-              propertyId
+              propertyId,
+              0L
           );
       assertThat(returnedDto)
           .extracting(
-              (dto) -> Objects.nonNull(dto.id()),
+              PropertyBlockDto::id,
               PropertyBlockDto::dateCreated,
               PropertyBlockDto::startDate,
               PropertyBlockDto::endDate,
               PropertyBlockDto::propertyId
           ).containsExactly(
-              true,
+              id,
               currentDateTime,
               blockPropertyRequest.startDate(),
               blockPropertyRequest.endDate(),
@@ -113,7 +160,7 @@ class PropertyBlocksServiceTest {
           () -> underTest.blockProperty(propertyId, blockPropertyRequest),
           exception.getMessage()
       );
-      verifyNoInteractions(propertyBlocksRepository);
+      verifyNoInteractions(propertyBlocksRepository, propertyAvailabilityIndex);
     }
   }
 
@@ -148,54 +195,106 @@ class PropertyBlocksServiceTest {
           dateCreated,
           startDate,
           endDate,
-          propertyId
+          propertyId,
+          3
+      );
+
+      PropertyBlockEntity storedEntity = new PropertyBlockEntity(
+          id,
+          dateCreated,
+          updateBlockRequest.startDate(),
+          updateBlockRequest.endDate(),
+          propertyId,
+          4
       );
 
-      when(propertyBlocksRepository.findById(blockId)).thenReturn(Optional.of(originalEntity));
+      when(propertyBlocksRepository.findById(propertyId, blockId))
+          .thenReturn(Optional.of(originalEntity), Optional.of(storedEntity));
+      when(propertyBlocksRepository.updateBlock(any())).thenReturn(true);
 
-      underTest.updateBlock(propertyId, blockId, updateBlockRequest);
+      long version = underTest.updateBlock(propertyId, blockId, 3L, updateBlockRequest);
+
+      assertThat(version).isEqualTo(4);
 
       ArgumentCaptor<PropertyBlockEntity> entityToStoreCaptor =
           ArgumentCaptor.forClass(PropertyBlockEntity.class);
       verify(propertyBlocksRepository).updateBlock(entityToStoreCaptor.capture());
+      verify(propertyAvailabilityIndex).blockSaved(storedEntity);
+      verify(outboxService).append(
+          propertyId,
+          OutboxEventType.BLOCK_UPDATED,
+          id,
+          PropertyBlockMapper.mapTaskDto(storedEntity)
+      );
       assertThat(entityToStoreCaptor.getValue())
           .extracting(
               PropertyBlockEntity::id,
               PropertyBlockEntity::dateCreated,
               PropertyBlockEntity::startDate,
               PropertyBlockEntity::endDate,
-              PropertyBlockEntity::propertyId
+              PropertyBlockEntity::propertyId,
+              PropertyBlockEntity::version
           ).containsExactly(
               id,
               dateCreated,
               updateBlockRequest.startDate(),
               updateBlockRequest.endDate(),
-              propertyId
+              propertyId,
+              3L
           );
     }
 
+    @Test
+    void staleExpectedVersion_shouldThrowPreconditionFailedException_andNotUpdateBlock() {
+      PropertyBlockEntity originalEntity = PropertyBlockEntityMother.complete(propertyId);
+      when(propertyBlocksRepository.findById(propertyId, blockId)).thenReturn(Optional.of(originalEntity));
+
+      assertThrows(
+          PreconditionFailedException.class,
+          () -> underTest.updateBlock(propertyId, blockId, 7L, updateBlockRequest)
+      );
+      verifyNoMoreInteractions(propertyBlocksRepository);
+      verifyNoInteractions(propertyBlocksValidator, propertyAvailabilityIndex);
+    }
+
+    @Test
+    void concurrentUpdate_shouldThrowPreconditionFailedException() {
+      PropertyBlockEntity originalEntity = PropertyBlockEntityMother.complete(propertyId);
+      when(propertyBlocksRepository.findById(propertyId, blockId)).thenReturn(Optional.of(originalEntity));
+      when(propertyBlocksRepository.updateBlock(any())).thenReturn(false);
+
+      assertThrows(
+          PreconditionFailedException.class,
+          () -> underTest.updateBlock(propertyId, blockId, null, updateBlockRequest)
+      );
+      verifyNoInteractions(propertyAvailabilityIndex);
+    }
+
     @Test
     void validatorTrowsAnException_shouldNotUpdateBlock() {
+      PropertyBlockEntity originalEntity = PropertyBlockEntityMother.complete(propertyId);
+      when(propertyBlocksRepository.findById(propertyId, blockId)).thenReturn(Optional.of(originalEntity));
       IllegalArgumentException exception = new IllegalArgumentException("Blocking exception");
       doThrow(exception)
           .when(propertyBlocksValidator)
-          .validateBlock(propertyId, updateBlockRequest.startDate(), updateBlockRequest.endDate());
+          .validateBlockUpdate(propertyId, blockId, updateBlockRequest.startDate(), updateBlockRequest.endDate());
 
       assertThrows(
           exception.getClass(),
-          () -> underTest.updateBlock(propertyId, blockId, updateBlockRequest),
+          () -> underTest.updateBlock(propertyId, blockId, null, updateBlockRequest),
           exception.getMessage()
       );
-      verifyNoInteractions(propertyBlocksRepository);
+      verifyNoMoreInteractions(propertyBlocksRepository);
+      verifyNoInteractions(propertyAvailabilityIndex);
     }
 
     @Test
     void propertyBlockEntityNotFound_shouldThrowNotFoundException_andNotUpdateBlock() {
-      when(propertyBlocksRepository.findById(blockId)).thenReturn(Optional.empty());
+      when(propertyBlocksRepository.findById(propertyId, blockId)).thenReturn(Optional.empty());
 
       assertThrows(
           NotFoundException.class,
-          () -> underTest.updateBlock(propertyId, blockId, updateBlockRequest),
+          () -> underTest.updateBlock(propertyId, blockId, null, updateBlockRequest),
           "Property block not found"
       );
       verifyNoMoreInteractions(propertyBlocksRepository);
@@ -228,6 +327,104 @@ class PropertyBlocksServiceTest {
           .isThrownBy(
               () -> underTest.cancelBlock(propertyId, blockId)
           );
+      verify(propertyAvailabilityIndex).intervalRemoved(propertyId, blockId);
+      verify(outboxService).append(
+          propertyId,
+          OutboxEventType.BLOCK_CANCELLED,
+          blockId,
+          Map.of("id", blockId, "propertyId", propertyId)
+      );
+    }
+  }
+
+  @Nested
+  class OverlapWithManyIntervalsTests {
+
+    private static final int PROPERTIES = 1_000;
+    private static final int BOOKINGS_PER_PROPERTY = 100;
+    private static final LocalDate FIRST_DAY = LocalDate.now().plusDays(10);
+
+    private final List<UUID> propertyIds = new ArrayList<>();
+    private PropertyAvailabilityIndex availabilityIndex;
+    private PropertyBlocksService underTest;
+
+    // every property is booked for three days out of every four, day 3 of each cycle stays free
+    @BeforeEach
+    void setUp() {
+      availabilityIndex = new PropertyAvailabilityIndex(
+          new AvailabilityIndexProperties(true),
+          mock(PropertyBookingsRepository.class),
+          mock(PropertyBlocksRepository.class)
+      );
+      availabilityIndex.rebuild();
+      for (int property = 0; property < PROPERTIES; property++) {
+        UUID propertyId = UUID.randomUUID();
+        propertyIds.add(propertyId);
+        for (int booking = 0; booking < BOOKINGS_PER_PROPERTY; booking++) {
+          availabilityIndex.bookingSaved(new PropertyBookingEntity(UUID.randomUUID(), "John", "Doe",
+              OffsetDateTime.now(), day(booking * 4), day(booking * 4 + 2), propertyId, 0));
+        }
+      }
+
+      lenient().when(propertiesService.checkPropertyExists(any())).thenReturn(ValidationResult.valid());
+      PropertyBlocksValidator validator = new PropertyBlocksValidator(
+          new DateValidator(validationMetrics),
+          propertiesService,
+          new PropertyConflictChecker(propertyBookingsRepository, availabilityIndex, validationMetrics),
+          new PropertyBlocksProperties(BlockOverlapPolicy.REJECT)
+      );
+      underTest = new PropertyBlocksService(propertyBlocksRepository, propertiesService, currentDateTimeService,
+          idGenerator, validator, availabilityIndex, propertyWriteLocks, outboxService);
+    }
+
+    @Test
+    void blockOverlappingBooking_shouldBeRejectedForEveryProperty() {
+      for (int i = 0; i < propertyIds.size(); i++) {
+        UUID propertyId = propertyIds.get(i);
+        int booking = i % BOOKINGS_PER_PROPERTY;
+        BlockPropertyRequest request = new BlockPropertyRequest(day(booking * 4 + 1), day(booking * 4 + 5));
+
+        assertThatThrownBy(() -> underTest.blockProperty(propertyId, request))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageStartingWith("Block overlaps with existing booking");
+      }
+      verifyNoInteractions(propertyBlocksRepository, propertyBookingsRepository);
+    }
+
+    @Test
+    void blockInFreeDay_shouldBeStored_andLaterBlocksShouldSeeIt() {
+      UUID propertyId = propertyIds.get(PROPERTIES / 2);
+      when(idGenerator.generateId()).thenReturn(UUID.randomUUID());
+      BlockPropertyRequest request = new BlockPropertyRequest(day(4 * 50 + 3), day(4 * 50 + 3).plusHours(12));
+
+      underTest.blockProperty(propertyId, request);
+
+      verify(propertyBlocksRepository).blockProperty(any());
+      assertThatThrownBy(() -> underTest.blockProperty(propertyId, request))
+          .isInstanceOf(ConflictException.class)
+          .hasMessage("Block overlaps with existing block");
+    }
+
+    @Test
+    void updatedBlock_shouldNotConflictWithItself() {
+      UUID propertyId = propertyIds.get(0);
+      UUID blockId = UUID.randomUUID();
+      PropertyBlockEntity block =
+          new PropertyBlockEntity(blockId, OffsetDateTime.now(), day(-10), day(-5), propertyId, 0);
+      PropertyBlockEntity storedBlock =
+          new PropertyBlockEntity(blockId, block.dateCreated(), day(-8), day(-1), propertyId, 1);
+      availabilityIndex.blockSaved(block);
+      when(propertyBlocksRepository.findById(propertyId, blockId))
+          .thenReturn(Optional.of(block), Optional.of(storedBlock));
+      when(propertyBlocksRepository.updateBlock(any())).thenReturn(true);
+
+      long version = underTest.updateBlock(propertyId, blockId, null, new UpdateBlockRequest(day(-8), day(-1)));
+
+      assertThat(version).isEqualTo(1);
+    }
+
+    private OffsetDateTime day(int day) {
+      return FIRST_DAY.plusDays(day).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
     }
   }
 
@@ -0,0 +1,195 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
+import com.danielmichalski.bookingservice.common.id.IdGenerator;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.outbox.NewOutboxEvent;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventType;
+import com.danielmichalski.bookingservice.common.outbox.OutboxService;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyItem;
+import com.danielmichalski.bookingservice.property.dto.BatchBookingResultDto;
+import com.danielmichalski.bookingservice.property.dto.BatchBookingStatus;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.lock.PropertyWriteLocks;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
+import com.danielmichalski.bookingservice.property.validator.PropertyBookingsValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyBookingsBatchServiceTest {
+
+  @Mock
+  private PropertyBookingsRepository propertyBookingsRepository;
+  @Mock
+  private CurrentDateTimeService currentDateTimeService;
+  @Mock
+  private IdGenerator idGenerator;
+  @Mock
+  private PropertiesService propertiesService;
+  @Mock
+  private PropertyBookingsValidator propertyBookingsValidator;
+  @Mock
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+  @Mock
+  private PropertyWriteLocks propertyWriteLocks;
+  @Spy
+  private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+  @Mock
+  private ValidationMetrics validationMetrics;
+  @Mock
+  private OutboxService outboxService;
+  @InjectMocks
+  private PropertyBookingsBatchService underTest;
+
+  private UUID propertyId;
+  private UUID otherPropertyId;
+  private OffsetDateTime startDate;
+
+  @BeforeEach
+  void setUp() {
+    propertyId = UUID.randomUUID();
+    otherPropertyId = UUID.randomUUID();
+    startDate = OffsetDateTime.now().plusDays(5);
+    lenient().when(propertyBookingsValidator.checkBookingOfExistingProperty(any(), any(), any()))
+        .thenReturn(ValidationResult.valid());
+  }
+
+  @Test
+  void happyPath() {
+    OffsetDateTime currentDateTime = OffsetDateTime.now();
+    List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    when(currentDateTimeService.currentDateTime()).thenReturn(currentDateTime);
+    when(idGenerator.generateId()).thenReturn(ids.get(0), ids.get(1), ids.get(2));
+    when(propertiesService.findExistingPropertyIds(Set.of(propertyId, otherPropertyId)))
+        .thenReturn(Set.of(propertyId, otherPropertyId));
+    List<BatchBookPropertyItem> items = List.of(
+        item(propertyId, startDate, startDate.plusDays(2)),
+        item(otherPropertyId, startDate, startDate.plusDays(2)),
+        item(propertyId, startDate.plusDays(4), startDate.plusDays(6))
+    );
+
+    List<BatchBookingResultDto> results = underTest.bookProperties(items);
+
+    assertThat(results)
+        .extracting(BatchBookingResultDto::status)
+        .containsExactly(BatchBookingStatus.CREATED, BatchBookingStatus.CREATED, BatchBookingStatus.CREATED);
+    assertThat(results)
+        .extracting(result -> result.booking().propertyId())
+        .containsExactly(propertyId, otherPropertyId, propertyId);
+    assertThat(results)
+        .extracting(result -> result.booking().id())
+        .containsExactlyElementsOf(ids);
+
+    ArgumentCaptor<List<PropertyBookingEntity>> captor = ArgumentCaptor.forClass(List.class);
+    verify(propertyWriteLocks).lockAllForTransaction(Set.of(propertyId, otherPropertyId));
+    verify(propertyBookingsRepository).bookProperties(captor.capture());
+    assertThat(captor.getValue())
+        .hasSize(3)
+        .allSatisfy(entity -> assertThat(entity.dateCreated()).isEqualTo(currentDateTime));
+    verify(propertyAvailabilityIndex, times(3)).bookingSaved(any());
+    verify(outboxService).appendAll(results.stream()
+        .map(result -> new NewOutboxEvent(
+            result.booking().propertyId(),
+            OutboxEventType.BOOKING_CREATED,
+            result.booking().id(),
+            result.booking()
+        ))
+        .toList());
+  }
+
+  @Test
+  void itemsOverlappingEachOther_shouldRejectLaterItem() {
+    when(propertiesService.findExistingPropertyIds(Set.of(propertyId))).thenReturn(Set.of(propertyId));
+    List<BatchBookPropertyItem> items = List.of(
+        item(propertyId, startDate, startDate.plusDays(3)),
+        item(propertyId, startDate.plusDays(1), startDate.plusDays(2))
+    );
+
+    List<BatchBookingResultDto> results = underTest.bookProperties(items);
+
+    assertThat(results.get(0).status()).isEqualTo(BatchBookingStatus.CREATED);
+    assertThat(results.get(1)).isEqualTo(BatchBookingResultDto.rejected(
+        1,
+        "Bookings cannot overlap with other bookings in the same batch"
+    ));
+  }
+
+  @Test
+  void propertyDoesNotExist_shouldRejectItem() {
+    when(propertiesService.findExistingPropertyIds(Set.of(propertyId, otherPropertyId))).thenReturn(Set.of(propertyId));
+    List<BatchBookPropertyItem> items = List.of(
+        item(otherPropertyId, startDate, startDate.plusDays(2)),
+        item(propertyId, startDate, startDate.plusDays(2))
+    );
+
+    List<BatchBookingResultDto> results = underTest.bookProperties(items);
+
+    assertThat(results.get(0)).isEqualTo(BatchBookingResultDto.rejected(0, "Property not found"));
+    assertThat(results.get(1).status()).isEqualTo(BatchBookingStatus.CREATED);
+  }
+
+  @Test
+  void itemOverlappingStoredBooking_shouldRejectItem() {
+    OffsetDateTime endDate = startDate.plusDays(2);
+    String conflict = "Booking overlaps with existing booking";
+    when(propertiesService.findExistingPropertyIds(Set.of(propertyId))).thenReturn(Set.of(propertyId));
+    when(propertyBookingsValidator.checkBookingOfExistingProperty(propertyId, startDate, endDate))
+        .thenReturn(ValidationResult.conflict(conflict));
+
+    List<BatchBookingResultDto> results = underTest.bookProperties(List.of(item(propertyId, startDate, endDate)));
+
+    assertThat(results).containsExactly(BatchBookingResultDto.rejected(0, conflict));
+    verify(propertyBookingsRepository, never()).bookProperties(any());
+    verify(propertyAvailabilityIndex, never()).bookingSaved(any());
+    verify(outboxService, never()).appendAll(any());
+  }
+
+  @Test
+  void invalidItem_shouldRejectItemWithViolations() {
+    BatchBookPropertyItem invalidItem = new BatchBookPropertyItem(
+        propertyId,
+        new BookPropertyRequest(randomAlphanumeric(31), "", startDate, startDate.plusDays(2))
+    );
+
+    List<BatchBookingResultDto> results = underTest.bookProperties(List.of(invalidItem));
+
+    assertThat(results).containsExactly(BatchBookingResultDto.rejected(
+        0,
+        "booking.guestFirstName: size must be between 0 and 30, booking.guestLastName: must not be blank"
+    ));
+    verify(propertyBookingsValidator, never()).checkBookingOfExistingProperty(any(), any(), any());
+  }
+
+  private static BatchBookPropertyItem item(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    return new BatchBookPropertyItem(
+        propertyId,
+        new BookPropertyRequest(randomAlphanumeric(5), randomAlphanumeric(10), startDate, endDate)
+    );
+  }
+
+}
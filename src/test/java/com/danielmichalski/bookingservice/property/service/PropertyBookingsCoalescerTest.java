@@ -0,0 +1,201 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.property.dto.BatchBookPropertyItem;
+import com.danielmichalski.bookingservice.property.dto.BatchBookingResultDto;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
+import com.danielmichalski.bookingservice.property.validator.DateValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyBookingsCoalescerTest {
+
+  @Mock
+  private PropertyBookingsService propertyBookingsService;
+  @Mock
+  private PropertyBookingsBatchService propertyBookingsBatchService;
+  @Mock
+  private PropertiesService propertiesService;
+  @Mock
+  private DateValidator dateValidator;
+
+  private PropertyBookingsCoalescer underTest;
+  private UUID propertyId;
+
+  @BeforeEach
+  void setUp() {
+    underTest = coalescer(true);
+    propertyId = UUID.randomUUID();
+  }
+
+  @Test
+  void happyPath() {
+    when(propertyBookingsBatchService.bookProperties(anyList())).then(invocation -> created(invocation.getArgument(0)));
+    BookPropertyRequest request = request(0);
+
+    PropertyBookingDto result = underTest.bookProperty(propertyId, request);
+
+    assertThat(result.propertyId()).isEqualTo(propertyId);
+    assertThat(result.startDate()).isEqualTo(request.startDate());
+    verify(propertiesService).validatePropertyExists(propertyId);
+    verify(propertyBookingsService, never()).bookProperty(any(), any());
+  }
+
+  @Test
+  void rejectedBooking_shouldThrowAnException() {
+    when(propertyBookingsBatchService.bookProperties(anyList()))
+        .thenReturn(List.of(BatchBookingResultDto.rejected(0, "Booking overlaps with existing booking")));
+
+    assertThatThrownBy(() -> underTest.bookProperty(propertyId, request(0)))
+        .isInstanceOf(ConflictException.class)
+        .hasMessage("Booking overlaps with existing booking");
+  }
+
+  @Test
+  void bookingOverlappingAnotherQueuedBooking_shouldThrowTheSameExceptionAsAStoredOverlap() {
+    when(propertyBookingsBatchService.bookProperties(anyList()))
+        .thenReturn(List.of(BatchBookingResultDto.rejected(0, PropertyBookingsBatchService.BATCH_OVERLAP_ERROR)));
+
+    assertThatThrownBy(() -> underTest.bookProperty(propertyId, request(0)))
+        .isInstanceOf(ConflictException.class)
+        .hasMessage("Booking overlaps with existing booking");
+  }
+
+  @Test
+  void bookingsArrivingDuringABatch_shouldBeBookedTogetherInTheNextBatch() throws Exception {
+    int followers = 20;
+    CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    when(propertyBookingsBatchService.bookProperties(anyList())).then(invocation -> {
+      List<BatchBookPropertyItem> items = invocation.getArgument(0);
+      batchSizes.add(items.size());
+      if (batchSizes.size() == 1) {
+        firstBatchStarted.countDown();
+        releaseFirstBatch.await();
+      }
+      return created(items);
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(followers + 1);
+    try {
+      Future<PropertyBookingDto> leader = executor.submit(() -> underTest.bookProperty(propertyId, request(0)));
+      assertThat(firstBatchStarted.await(10, TimeUnit.SECONDS)).isTrue();
+      List<Future<PropertyBookingDto>> results = new ArrayList<>();
+      for (int i = 1; i <= followers; i++) {
+        BookPropertyRequest request = request(i);
+        results.add(executor.submit(() -> underTest.bookProperty(propertyId, request)));
+      }
+      while (underTest.queuedBookings(propertyId) < followers) {
+        Thread.onSpinWait();
+      }
+      releaseFirstBatch.countDown();
+
+      assertThat(leader.get(10, TimeUnit.SECONDS).startDate()).isEqualTo(request(0).startDate());
+      for (int i = 0; i < followers; i++) {
+        assertThat(results.get(i).get(10, TimeUnit.SECONDS).startDate()).isEqualTo(request(i + 1).startDate());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(batchSizes).containsExactly(1, followers);
+    assertThat(underTest.queuedBookings(propertyId)).isZero();
+  }
+
+  @Test
+  void failedBatch_shouldFailEveryBookingOfTheBatch() {
+    IllegalStateException failure = new IllegalStateException("Database unavailable");
+    when(propertyBookingsBatchService.bookProperties(anyList())).thenThrow(failure);
+
+    assertThatThrownBy(() -> underTest.bookProperty(propertyId, request(0))).isSameAs(failure);
+    assertThat(underTest.queuedBookings(propertyId)).isZero();
+  }
+
+  @Test
+  void coalescingDisabled_shouldBookDirectly() {
+    underTest = coalescer(false);
+    BookPropertyRequest request = request(0);
+
+    underTest.bookProperty(propertyId, request);
+
+    verify(propertyBookingsService).bookProperty(propertyId, request);
+    verify(propertyBookingsBatchService, never()).bookProperties(any());
+  }
+
+  @Test
+  void callerInTransaction_shouldBookDirectly() {
+    BookPropertyRequest request = request(0);
+
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      underTest.bookProperty(propertyId, request);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    verify(propertyBookingsService).bookProperty(propertyId, request);
+    verify(propertyBookingsBatchService, never()).bookProperties(any());
+  }
+
+  private PropertyBookingsCoalescer coalescer(boolean enabled) {
+    return new PropertyBookingsCoalescer(
+        propertyBookingsService,
+        propertyBookingsBatchService,
+        propertiesService,
+        dateValidator,
+        new PropertyBookingsCoalescingProperties(enabled, 256, Duration.ZERO),
+        new SimpleMeterRegistry()
+    );
+  }
+
+  private static BookPropertyRequest request(int day) {
+    OffsetDateTime startDate = OffsetDateTime.parse("2030-01-01T12:00:00Z").plusDays(day * 2L);
+    return new BookPropertyRequest(randomAlphanumeric(5), randomAlphanumeric(10), startDate, startDate.plusDays(1));
+  }
+
+  private static List<BatchBookingResultDto> created(List<BatchBookPropertyItem> items) {
+    List<BatchBookingResultDto> results = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      BatchBookPropertyItem item = items.get(i);
+      results.add(BatchBookingResultDto.created(i, new PropertyBookingDto(
+          UUID.randomUUID(),
+          item.booking().guestFirstName(),
+          item.booking().guestLastName(),
+          OffsetDateTime.now(),
+          item.booking().startDate(),
+          item.booking().endDate(),
+          item.propertyId(),
+          0
+      )));
+    }
+    return results;
+  }
+
+}
@@ -0,0 +1,200 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class PropertyBookingsServiceConcurrencyIT {
+
+  private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+
+  @Autowired
+  private PropertyBookingsService propertyBookingsService;
+  @Autowired
+  private PropertyBookingsCoalescer propertyBookingsCoalescer;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private ExecutorService executorService;
+
+  @BeforeEach
+  void setUp() {
+    executorService = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void concurrentOverlappingBookingsOfOneProperty_shouldStoreOnlyOneBooking() throws Exception {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+    int attempts = THREADS * 8;
+
+    List<Boolean> results = runConcurrently(attempts, attempt -> () -> book(
+        propertyId,
+        startDate.plusHours(attempt % 24),
+        startDate.plusDays(3)
+    ));
+
+    assertThat(results).filteredOn(Boolean::booleanValue).hasSize(1);
+    assertThat(countBookings(propertyId)).isEqualTo(1);
+  }
+
+  @Test
+  void concurrentBookingsOfDistinctProperties_shouldAllBeStored() throws Exception {
+    int properties = 2_000;
+    List<UUID> propertyIds = IntStream.range(0, properties)
+        .mapToObj(i -> propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5)))
+        .toList();
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+
+    List<Boolean> results = runConcurrently(properties, index -> () -> book(
+        propertyIds.get(index),
+        startDate,
+        startDate.plusDays(3)
+    ));
+
+    assertThat(results).containsOnly(true);
+    assertThat(propertyIds).allSatisfy(propertyId -> assertThat(countBookings(propertyId)).isEqualTo(1));
+  }
+
+  @Test
+  void mixedLoad_shouldSerializeHotPropertyAndKeepOtherPropertiesParallel() throws Exception {
+    UUID hotPropertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    List<UUID> coldPropertyIds = IntStream.range(0, 1_000)
+        .mapToObj(i -> propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5)))
+        .toList();
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(20);
+
+    List<Boolean> results = runConcurrently(coldPropertyIds.size() * 2, index -> () -> index % 2 == 0
+        ? book(hotPropertyId, startDate, startDate.plusDays(2))
+        : book(coldPropertyIds.get(index / 2), startDate, startDate.plusDays(2)));
+
+    assertThat(results).filteredOn(Boolean::booleanValue).hasSize(coldPropertyIds.size() + 1);
+    assertThat(countBookings(hotPropertyId)).isEqualTo(1);
+  }
+
+  @Test
+  void concurrentOverlappingBookingsThroughCoalescer_shouldStoreOnlyOneBooking() throws Exception {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+    int attempts = THREADS * 8;
+
+    List<Boolean> results = runConcurrently(attempts, attempt -> () -> coalesce(
+        propertyId,
+        startDate.plusHours(attempt % 24),
+        startDate.plusDays(3)
+    ));
+
+    assertThat(results).filteredOn(Boolean::booleanValue).hasSize(1);
+    assertThat(countBookings(propertyId)).isEqualTo(1);
+  }
+
+  @Test
+  void concurrentDisjointBookingsOfOnePropertyThroughCoalescer_shouldAllBeStored() throws Exception {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().plusDays(10);
+    int attempts = THREADS * 8;
+
+    List<Boolean> results = runConcurrently(attempts, attempt -> () -> coalesce(
+        propertyId,
+        startDate.plusDays(attempt * 3L),
+        startDate.plusDays(attempt * 3L + 1)
+    ));
+
+    assertThat(results).containsOnly(true);
+    assertThat(countBookings(propertyId)).isEqualTo(attempts);
+  }
+
+  private boolean book(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    try {
+      propertyBookingsService.bookProperty(propertyId, request(startDate, endDate));
+      return true;
+    } catch (ConflictException exception) {
+      return false;
+    }
+  }
+
+  private boolean coalesce(UUID propertyId, OffsetDateTime startDate, OffsetDateTime endDate) {
+    try {
+      propertyBookingsCoalescer.bookProperty(propertyId, request(startDate, endDate));
+      return true;
+    } catch (ConflictException exception) {
+      return false;
+    }
+  }
+
+  private static BookPropertyRequest request(OffsetDateTime startDate, OffsetDateTime endDate) {
+    return new BookPropertyRequest(
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        startDate,
+        endDate
+    );
+  }
+
+  private List<Boolean> runConcurrently(int tasks, TaskFactory taskFactory)
+      throws InterruptedException, ExecutionException {
+    CountDownLatch startGate = new CountDownLatch(1);
+    List<Future<Boolean>> futures = new ArrayList<>(tasks);
+    for (int i = 0; i < tasks; i++) {
+      Callable<Boolean> task = taskFactory.create(i);
+      futures.add(executorService.submit(() -> {
+        startGate.await();
+        return task.call();
+      }));
+    }
+
+    startGate.countDown();
+
+    List<Boolean> results = new ArrayList<>(tasks);
+    for (Future<Boolean> future : futures) {
+      results.add(future.get());
+    }
+    return results;
+  }
+
+  private int countBookings(UUID propertyId) {
+    Integer count = jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM property_bookings WHERE property_id = ? AND date_deleted IS NULL",
+        Integer.class,
+        propertyId
+    );
+    return count == null ? 0 : count;
+  }
+
+  @FunctionalInterface
+  private interface TaskFactory {
+
+    Callable<Boolean> create(int index);
+  }
+
+}
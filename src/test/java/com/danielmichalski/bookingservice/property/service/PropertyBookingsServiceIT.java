@@ -0,0 +1,52 @@
+package com.danielmichalski.bookingservice.property.service;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
+import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertiesTestDataHelper;
+import com.danielmichalski.bookingservice.property.repository.helper.PropertyBookingsTestDataHelper;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class PropertyBookingsServiceIT {
+
+  @Autowired
+  private PropertyBookingsService underTest;
+  @Autowired
+  private PropertiesTestDataHelper propertiesTestDataHelper;
+  @Autowired
+  private PropertyBookingsTestDataHelper propertyBookingsTestDataHelper;
+
+  @Test
+  void pastRangeOverlappingPastBooking_shouldThrowAnException() {
+    UUID propertyId = propertiesTestDataHelper.insertProperty(randomAlphanumeric(5), randomAlphanumeric(5));
+    OffsetDateTime startDate = OffsetDateTime.now().minusDays(10);
+    propertyBookingsTestDataHelper.insertPropertyBooking(new PropertyBookingEntity(
+        UUID.randomUUID(),
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        startDate.minusDays(5),
+        startDate,
+        startDate.plusDays(3),
+        propertyId,
+        0
+    ));
+    BookPropertyRequest request = new BookPropertyRequest(
+        randomAlphanumeric(5),
+        randomAlphanumeric(10),
+        startDate.plusDays(2),
+        startDate.plusDays(5)
+    );
+
+    assertThatThrownBy(() -> underTest.bookProperty(propertyId, request))
+        .isInstanceOf(ConflictException.class);
+  }
+
+}
@@ -3,6 +3,7 @@ package com.danielmichalski.bookingservice.property.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -11,14 +12,22 @@ import static org.mockito.Mockito.when;
 
 import com.danielmichalski.bookingservice.common.date.CurrentDateTimeService;
 import com.danielmichalski.bookingservice.common.exception.NotFoundException;
+import com.danielmichalski.bookingservice.common.exception.PreconditionFailedException;
+import com.danielmichalski.bookingservice.common.id.IdGenerator;
+import com.danielmichalski.bookingservice.common.outbox.OutboxEventType;
+import com.danielmichalski.bookingservice.common.outbox.OutboxService;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
 import com.danielmichalski.bookingservice.property.dto.BookPropertyRequest;
 import com.danielmichalski.bookingservice.property.dto.PropertyBookingDto;
 import com.danielmichalski.bookingservice.property.dto.UpdateBookingRequest;
 import com.danielmichalski.bookingservice.property.entity.PropertyBookingEntity;
+import com.danielmichalski.bookingservice.property.lock.PropertyWriteLocks;
+import com.danielmichalski.bookingservice.property.mapper.PropertyBookingMapper;
+import com.danielmichalski.bookingservice.property.mother.PropertyBookingEntityMother;
 import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
 import com.danielmichalski.bookingservice.property.validator.PropertyBookingsValidator;
 import java.time.OffsetDateTime;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -37,9 +46,19 @@ class PropertyBookingsServiceTest {
   @Mock
   private PropertyBookingsRepository propertyBookingsRepository;
   @Mock
+  private PropertiesService propertiesService;
+  @Mock
   private CurrentDateTimeService currentDateTimeService;
   @Mock
+  private IdGenerator idGenerator;
+  @Mock
   private PropertyBookingsValidator propertyBookingsValidator;
+  @Mock
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+  @Mock
+  private PropertyWriteLocks propertyWriteLocks;
+  @Mock
+  private OutboxService outboxService;
   @InjectMocks
   private PropertyBookingsService underTest;
 
@@ -69,34 +88,41 @@ class PropertyBookingsServiceTest {
 
     @Test
     void happyPath() {
+      UUID id = UUID.randomUUID();
       when(currentDateTimeService.currentDateTime()).thenReturn(currentDateTime);
+      when(idGenerator.generateId()).thenReturn(id);
 
       PropertyBookingDto returnedDto = underTest.bookProperty(propertyId, bookPropertyRequest);
 
       ArgumentCaptor<PropertyBookingEntity> entityToStoreCaptor =
           ArgumentCaptor.forClass(PropertyBookingEntity.class);
       verify(propertyBookingsRepository).bookProperty(entityToStoreCaptor.capture());
+      verify(propertyWriteLocks).lockForTransaction(propertyId);
+      verify(propertyAvailabilityIndex).bookingSaved(entityToStoreCaptor.getValue());
+      verify(outboxService).append(propertyId, OutboxEventType.BOOKING_CREATED, id, returnedDto);
       assertThat(entityToStoreCaptor.getValue())
           .extracting(
-              (entity) -> Objects.nonNull(entity.id()),
+              PropertyBookingEntity::id,
               PropertyBookingEntity::guestFirstName,
               PropertyBookingEntity::guestLastName,
               PropertyBookingEntity::dateCreated,
               PropertyBookingEntity::startDate,
               PropertyBookingEntity::endDate,
-              PropertyBookingEntity::propertyId
+              PropertyBookingEntity::propertyId,
+              PropertyBookingEntity::version
           ).containsExactly(
-              true,
+              id,
               bookPropertyRequest.guestFirstName(),
               bookPropertyRequest.guestLastName(),
               currentDateTime,
               bookPropertyRequest.startDate(),
               bookPropertyRequest.endDate(),
-              propertyId
+              propertyId,
+              0L
           );
       assertThat(returnedDto)
           .extracting(
-              (dto) -> Objects.nonNull(dto.id()),
+              PropertyBookingDto::id,
               PropertyBookingDto::guestFirstName,
               PropertyBookingDto::guestLastName,
               PropertyBookingDto::dateCreated,
@@ -104,7 +130,7 @@ class PropertyBookingsServiceTest {
               PropertyBookingDto::endDate,
               PropertyBookingDto::propertyId
           ).containsExactly(
-              true,
+              id,
               bookPropertyRequest.guestFirstName(),
               bookPropertyRequest.guestLastName(),
               currentDateTime,
@@ -126,7 +152,7 @@ class PropertyBookingsServiceTest {
           () -> underTest.bookProperty(propertyId, bookPropertyRequest),
           exception.getMessage()
       );
-      verifyNoInteractions(propertyBookingsRepository);
+      verifyNoInteractions(propertyBookingsRepository, propertyAvailabilityIndex);
     }
   }
 
@@ -169,16 +195,39 @@ class PropertyBookingsServiceTest {
           dateCreated,
           startDate,
           endDate,
-          propertyId
+          propertyId,
+          3
+      );
+
+      PropertyBookingEntity storedEntity = new PropertyBookingEntity(
+          id,
+          updateBookingRequest.guestFirstName(),
+          updateBookingRequest.guestLastName(),
+          dateCreated,
+          updateBookingRequest.startDate(),
+          updateBookingRequest.endDate(),
+          propertyId,
+          4
       );
 
-      when(propertyBookingsRepository.findById(bookingId)).thenReturn(Optional.of(originalEntity));
+      when(propertyBookingsRepository.findById(propertyId, bookingId))
+          .thenReturn(Optional.of(originalEntity), Optional.of(storedEntity));
+      when(propertyBookingsRepository.updateBooking(any())).thenReturn(true);
+
+      long version = underTest.updateBooking(propertyId, bookingId, 3L, updateBookingRequest);
 
-      underTest.updateBooking(propertyId, bookingId, updateBookingRequest);
+      assertThat(version).isEqualTo(4);
 
       ArgumentCaptor<PropertyBookingEntity> entityToStoreCaptor =
           ArgumentCaptor.forClass(PropertyBookingEntity.class);
       verify(propertyBookingsRepository).updateBooking(entityToStoreCaptor.capture());
+      verify(propertyAvailabilityIndex).bookingSaved(storedEntity);
+      verify(outboxService).append(
+          propertyId,
+          OutboxEventType.BOOKING_UPDATED,
+          id,
+          PropertyBookingMapper.mapTaskDto(storedEntity)
+      );
       assertThat(entityToStoreCaptor.getValue())
           .extracting(
               PropertyBookingEntity::id,
@@ -187,7 +236,8 @@ class PropertyBookingsServiceTest {
               PropertyBookingEntity::dateCreated,
               PropertyBookingEntity::startDate,
               PropertyBookingEntity::endDate,
-              PropertyBookingEntity::propertyId
+              PropertyBookingEntity::propertyId,
+              PropertyBookingEntity::version
           ).containsExactly(
               id,
               updateBookingRequest.guestFirstName(),
@@ -195,32 +245,63 @@ class PropertyBookingsServiceTest {
               dateCreated,
               updateBookingRequest.startDate(),
               updateBookingRequest.endDate(),
-              propertyId
+              propertyId,
+              3L
           );
     }
 
+    @Test
+    void staleExpectedVersion_shouldThrowPreconditionFailedException_andNotUpdateBooking() {
+      PropertyBookingEntity originalEntity = PropertyBookingEntityMother.complete(propertyId);
+      when(propertyBookingsRepository.findById(propertyId, bookingId)).thenReturn(Optional.of(originalEntity));
+
+      assertThrows(
+          PreconditionFailedException.class,
+          () -> underTest.updateBooking(propertyId, bookingId, 7L, updateBookingRequest)
+      );
+      verifyNoMoreInteractions(propertyBookingsRepository);
+      verifyNoInteractions(propertyBookingsValidator, propertyAvailabilityIndex);
+    }
+
+    @Test
+    void concurrentUpdate_shouldThrowPreconditionFailedException() {
+      PropertyBookingEntity originalEntity = PropertyBookingEntityMother.complete(propertyId);
+      when(propertyBookingsRepository.findById(propertyId, bookingId)).thenReturn(Optional.of(originalEntity));
+      when(propertyBookingsRepository.updateBooking(any())).thenReturn(false);
+
+      assertThrows(
+          PreconditionFailedException.class,
+          () -> underTest.updateBooking(propertyId, bookingId, null, updateBookingRequest)
+      );
+      verifyNoInteractions(propertyAvailabilityIndex);
+    }
+
     @Test
     void validatorTrowsAnException_shouldNotUpdateBooking() {
+      PropertyBookingEntity originalEntity = PropertyBookingEntityMother.complete(propertyId);
+      when(propertyBookingsRepository.findById(propertyId, bookingId)).thenReturn(Optional.of(originalEntity));
       IllegalArgumentException exception = new IllegalArgumentException("Bookings exception");
       doThrow(exception)
           .when(propertyBookingsValidator)
-          .validateBooking(propertyId, updateBookingRequest.startDate(), updateBookingRequest.endDate());
+          .validateBookingUpdate(
+              propertyId, bookingId, updateBookingRequest.startDate(), updateBookingRequest.endDate());
 
       assertThrows(
           exception.getClass(),
-          () -> underTest.updateBooking(propertyId, bookingId, updateBookingRequest),
+          () -> underTest.updateBooking(propertyId, bookingId, null, updateBookingRequest),
           exception.getMessage()
       );
-      verifyNoInteractions(propertyBookingsRepository);
+      verifyNoMoreInteractions(propertyBookingsRepository);
+      verifyNoInteractions(propertyAvailabilityIndex);
     }
 
     @Test
     void propertyBookingEntityNotFound_shouldThrowNotFoundException_andNotUpdateBooking() {
-      when(propertyBookingsRepository.findById(bookingId)).thenReturn(Optional.empty());
+      when(propertyBookingsRepository.findById(propertyId, bookingId)).thenReturn(Optional.empty());
 
       assertThrows(
           NotFoundException.class,
-          () -> underTest.updateBooking(propertyId, bookingId, updateBookingRequest),
+          () -> underTest.updateBooking(propertyId, bookingId, null, updateBookingRequest),
           "Booking not found"
       );
       verifyNoMoreInteractions(propertyBookingsRepository);
@@ -253,6 +334,13 @@ class PropertyBookingsServiceTest {
           .isThrownBy(
               () -> underTest.cancelBooking(propertyId, bookingId)
           );
+      verify(propertyAvailabilityIndex).intervalRemoved(propertyId, bookingId);
+      verify(outboxService).append(
+          propertyId,
+          OutboxEventType.BOOKING_CANCELLED,
+          bookingId,
+          Map.of("id", bookingId, "propertyId", propertyId)
+      );
     }
   }
 
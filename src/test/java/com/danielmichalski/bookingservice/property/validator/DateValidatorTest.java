@@ -1,8 +1,14 @@
 package com.danielmichalski.bookingservice.property.validator;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.danielmichalski.bookingservice.common.exception.BadRequestException;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationProblem;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.OffsetDateTime;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +19,13 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 class DateValidatorTest {
 
+  private SimpleMeterRegistry meterRegistry;
   private DateValidator dateValidator;
 
   @BeforeEach
   void setUp() {
-    dateValidator = new DateValidator();
+    meterRegistry = new SimpleMeterRegistry();
+    dateValidator = new DateValidator(new ValidationMetrics(meterRegistry));
   }
 
   @Nested
@@ -36,10 +44,23 @@ class DateValidatorTest {
     @MethodSource("provideInvalidDates")
     void invalidDates_shouldThrowAnException(OffsetDateTime validFrom, OffsetDateTime validTo, String expectedMessage) {
       assertThrows(
-          IllegalArgumentException.class,
+          BadRequestException.class,
           () -> dateValidator.validateStartDateBeforeEndDate(validFrom, validTo),
           expectedMessage
       );
+      assertThat(meterRegistry.get(ValidationMetrics.VALIDATION_FAILURES).tag("reason", "bad_dates").counter().count())
+          .isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidDates")
+    void invalidDates_shouldReturnBadRequestResult(OffsetDateTime validFrom,
+                                                   OffsetDateTime validTo,
+                                                   String expectedMessage) {
+      ValidationResult result = dateValidator.checkStartDateBeforeEndDate(validFrom, validTo);
+
+      assertThat(result.problem()).isEqualTo(ValidationProblem.BAD_REQUEST);
+      assertThat(result.message()).isEqualTo(expectedMessage);
     }
 
     private static Stream<Arguments> provideValidDates() {
@@ -54,7 +75,7 @@ class DateValidatorTest {
     private static Stream<Arguments> provideInvalidDates() {
       OffsetDateTime currentDateTime = OffsetDateTime.now();
       String nullDatesMessage = "Start date and end date must be set";
-      String startDateIsNotBeforeEndDateMessage = "Start date and end date must be set";
+      String startDateIsNotBeforeEndDateMessage = "Start date should be before end date";
 
       return Stream.of(
           Arguments.of(currentDateTime.plusDays(3), null, nullDatesMessage),
@@ -1,13 +1,30 @@
 package com.danielmichalski.bookingservice.property.validator;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.availability.AvailabilityInterval;
+import com.danielmichalski.bookingservice.property.availability.IntervalType;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyConflictEntity;
+import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
 import com.danielmichalski.bookingservice.property.service.PropertiesService;
 import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -18,18 +35,102 @@ class PropertyBlocksValidatorTest {
   private DateValidator dateValidator;
   @Mock
   private PropertiesService propertiesService;
-  @InjectMocks
-  private PropertyBlocksValidator underTest;
+  @Mock
+  private PropertyBookingsRepository propertyBookingsRepository;
+  @Mock
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+  @Mock
+  private ValidationMetrics validationMetrics;
+
+  private UUID propertyId;
+  private OffsetDateTime startDate;
+  private OffsetDateTime endDate;
+
+  @BeforeEach
+  void setUp() {
+    propertyId = UUID.randomUUID();
+    startDate = OffsetDateTime.now().plusDays(1);
+    endDate = OffsetDateTime.now().plusDays(4);
+    when(dateValidator.checkStartDateBeforeEndDate(startDate, endDate)).thenReturn(ValidationResult.valid());
+    lenient().when(propertiesService.checkPropertyExists(propertyId)).thenReturn(ValidationResult.valid());
+  }
 
   @Test
   void validateBlock() {
-    UUID propertyId = UUID.randomUUID();
-    OffsetDateTime startDate = OffsetDateTime.now().plusDays(1);
-    OffsetDateTime endDate = OffsetDateTime.now().plusDays(4);
+    when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null))
+        .thenReturn(Optional.empty());
+
+    validator(BlockOverlapPolicy.REJECT).validateBlock(propertyId, startDate, endDate);
+
+    verify(dateValidator).checkStartDateBeforeEndDate(startDate, endDate);
+    verify(propertiesService).checkPropertyExists(propertyId);
+  }
+
+  @Test
+  void invalidDates_shouldReturnResultWithoutCheckingPropertyAndAvailability() {
+    ValidationResult badDates = ValidationResult.badRequest("Start date should be before end date");
+    when(dateValidator.checkStartDateBeforeEndDate(startDate, endDate)).thenReturn(badDates);
+
+    ValidationResult result = validator(BlockOverlapPolicy.REJECT).checkBlock(propertyId, startDate, endDate);
+
+    assertThat(result).isEqualTo(badDates);
+    verifyNoInteractions(propertiesService, propertyBookingsRepository, propertyAvailabilityIndex);
+  }
+
+  @Test
+  void blockUpdate_shouldNotCheckProperty() {
+    UUID blockId = UUID.randomUUID();
+    when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, blockId))
+        .thenReturn(Optional.empty());
+
+    ValidationResult result =
+        validator(BlockOverlapPolicy.REJECT).checkBlockUpdate(propertyId, blockId, startDate, endDate);
+
+    assertThat(result.isValid()).isTrue();
+    verifyNoInteractions(propertiesService);
+  }
+
+  @Test
+  void bookingAlreadyExistsWithinTheRange_shouldThrowAnException() {
+    UUID bookingId = UUID.randomUUID();
+    when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null))
+        .thenReturn(Optional.of(new PropertyConflictEntity(CalendarEntryType.BOOKING, bookingId)));
+
+    assertThatThrownBy(() -> validator(BlockOverlapPolicy.REJECT).validateBlock(propertyId, startDate, endDate))
+        .isInstanceOf(ConflictException.class)
+        .hasMessage("Block overlaps with existing booking");
+    verify(validationMetrics).validationFailed(ValidationFailureReason.OVERLAP);
+  }
 
-    underTest.validateBlock(propertyId, startDate, endDate);
+  @Test
+  void indexCoversRange_shouldCheckIndexExcludingUpdatedBlock() {
+    UUID blockId = UUID.randomUUID();
+    UUID otherBlockId = UUID.randomUUID();
+    when(propertyAvailabilityIndex.covers(startDate)).thenReturn(true);
+    when(propertyAvailabilityIndex.findOverlap(propertyId, startDate, endDate, blockId))
+        .thenReturn(Optional.of(new AvailabilityInterval(otherBlockId, IntervalType.BLOCK, 0, 1)));
+
+    assertThatThrownBy(
+        () -> validator(BlockOverlapPolicy.REJECT).validateBlockUpdate(propertyId, blockId, startDate, endDate))
+        .isInstanceOf(ConflictException.class)
+        .hasMessage("Block overlaps with existing block");
+    verifyNoInteractions(propertyBookingsRepository);
+  }
+
+  @Test
+  void reportPolicy_shouldAcceptOverlappingBlock() {
+    when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null))
+        .thenReturn(Optional.of(new PropertyConflictEntity(CalendarEntryType.BOOKING, UUID.randomUUID())));
+
+    assertThatNoException()
+        .isThrownBy(() -> validator(BlockOverlapPolicy.REPORT).validateBlock(propertyId, startDate, endDate));
+    verifyNoInteractions(validationMetrics);
+  }
 
-    verify(dateValidator).validateStartDateBeforeEndDate(startDate, endDate);
-    verify(propertiesService).validatePropertyExists(propertyId);
+  private PropertyBlocksValidator validator(BlockOverlapPolicy overlapPolicy) {
+    PropertyConflictChecker propertyConflictChecker =
+        new PropertyConflictChecker(propertyBookingsRepository, propertyAvailabilityIndex, validationMetrics);
+    return new PropertyBlocksValidator(dateValidator, propertiesService, propertyConflictChecker,
+        new PropertyBlocksProperties(overlapPolicy));
   }
 }
@@ -1,19 +1,33 @@
 package com.danielmichalski.bookingservice.property.validator;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import com.danielmichalski.bookingservice.property.repository.PropertyBlocksRepository;
+import com.danielmichalski.bookingservice.common.exception.BadRequestException;
+import com.danielmichalski.bookingservice.common.exception.ConflictException;
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.availability.AvailabilityInterval;
+import com.danielmichalski.bookingservice.property.availability.IntervalType;
+import com.danielmichalski.bookingservice.property.availability.PropertyAvailabilityIndex;
+import com.danielmichalski.bookingservice.property.dto.BookingExportQuery;
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import com.danielmichalski.bookingservice.property.entity.PropertyConflictEntity;
 import com.danielmichalski.bookingservice.property.repository.PropertyBookingsRepository;
 import com.danielmichalski.bookingservice.property.service.PropertiesService;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -27,10 +41,20 @@ class PropertyBookingsValidatorTest {
   @Mock
   private PropertyBookingsRepository propertyBookingsRepository;
   @Mock
-  private PropertyBlocksRepository propertyBlocksRepository;
-  @InjectMocks
+  private PropertyAvailabilityIndex propertyAvailabilityIndex;
+  @Mock
+  private ValidationMetrics validationMetrics;
+
   private PropertyBookingsValidator underTest;
 
+  @BeforeEach
+  void setUp() {
+    PropertyConflictChecker propertyConflictChecker =
+        new PropertyConflictChecker(propertyBookingsRepository, propertyAvailabilityIndex, validationMetrics);
+    underTest = new PropertyBookingsValidator(dateValidator, propertiesService, propertyConflictChecker,
+        validationMetrics);
+  }
+
   @Nested
   class ValidateBookingTests {
 
@@ -43,42 +67,159 @@ class PropertyBookingsValidatorTest {
       propertyId = UUID.randomUUID();
       startDate = OffsetDateTime.now().plusDays(3);
       endDate = OffsetDateTime.now().plusDays(7);
+      when(dateValidator.checkStartDateBeforeEndDate(startDate, endDate)).thenReturn(ValidationResult.valid());
+      lenient().when(propertiesService.checkPropertyExists(propertyId)).thenReturn(ValidationResult.valid());
     }
 
     @Test
     void happyPath() {
-      when(propertyBookingsRepository.bookingExistsWithinRange(propertyId, startDate, endDate)).thenReturn(false);
-      when(propertyBlocksRepository.blockExistsWithinRange(propertyId, startDate, endDate)).thenReturn(false);
+      when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null))
+          .thenReturn(Optional.empty());
 
       underTest.validateBooking(propertyId, startDate, endDate);
 
-      verify(dateValidator).validateStartDateBeforeEndDate(startDate, endDate);
-      verify(propertiesService).validatePropertyExists(propertyId);
+      verify(dateValidator).checkStartDateBeforeEndDate(startDate, endDate);
+      verify(propertiesService).checkPropertyExists(propertyId);
+    }
+
+    @Test
+    void invalidDates_shouldReturnResultWithoutCheckingPropertyAndAvailability() {
+      ValidationResult badDates = ValidationResult.badRequest("Start date should be before end date");
+      when(dateValidator.checkStartDateBeforeEndDate(startDate, endDate)).thenReturn(badDates);
+
+      ValidationResult result = underTest.checkBooking(propertyId, startDate, endDate);
+
+      assertThat(result).isEqualTo(badDates);
+      verifyNoInteractions(propertiesService, propertyBookingsRepository, propertyAvailabilityIndex);
     }
 
     @Test
     void bookingAlreadyExistsWithinTheRange_shouldThrowAnException() {
-      when(propertyBookingsRepository.bookingExistsWithinRange(propertyId, startDate, endDate)).thenReturn(true);
-      when(propertyBlocksRepository.blockExistsWithinRange(propertyId, startDate, endDate)).thenReturn(false);
-
-      assertThrows(
-          IllegalArgumentException.class,
-          () -> underTest.validateBooking(propertyId, startDate, endDate),
-          "Bookings cannot overlap with other bookings or blocks"
-      );
+      UUID bookingId = UUID.randomUUID();
+      when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null))
+          .thenReturn(Optional.of(new PropertyConflictEntity(CalendarEntryType.BOOKING, bookingId)));
+
+      assertThatThrownBy(() -> underTest.validateBooking(propertyId, startDate, endDate))
+          .isInstanceOf(ConflictException.class)
+          .hasMessage("Booking overlaps with existing booking");
     }
 
     @Test
     void blockAlreadyExistsWithinTheRange_shouldThrowAnException() {
-      when(propertyBookingsRepository.bookingExistsWithinRange(propertyId, startDate, endDate)).thenReturn(false);
-      when(propertyBlocksRepository.blockExistsWithinRange(propertyId, startDate, endDate)).thenReturn(true);
-
-      assertThrows(
-          IllegalArgumentException.class,
-          () -> underTest.validateBooking(propertyId, startDate, endDate),
-          "Bookings cannot overlap with other bookings or blocks"
-      );
+      UUID blockId = UUID.randomUUID();
+      when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, null))
+          .thenReturn(Optional.of(new PropertyConflictEntity(CalendarEntryType.BLOCK, blockId)));
+
+      assertThatThrownBy(() -> underTest.validateBooking(propertyId, startDate, endDate))
+          .isInstanceOf(ConflictException.class)
+          .hasMessage("Booking overlaps with existing block");
+    }
+
+    @Test
+    void indexCoversRange_propertyAvailable_shouldNotQueryRepositories() {
+      when(propertyAvailabilityIndex.covers(startDate)).thenReturn(true);
+      when(propertyAvailabilityIndex.findOverlap(propertyId, startDate, endDate, null)).thenReturn(Optional.empty());
+
+      underTest.validateBooking(propertyId, startDate, endDate);
+
+      verify(propertyAvailabilityIndex).findOverlap(propertyId, startDate, endDate, null);
+      verifyNoInteractions(propertyBookingsRepository);
+    }
+
+    @Test
+    void indexCoversRange_rangeOverlaps_shouldThrowAnException() {
+      UUID blockId = UUID.randomUUID();
+      when(propertyAvailabilityIndex.covers(startDate)).thenReturn(true);
+      when(propertyAvailabilityIndex.findOverlap(propertyId, startDate, endDate, null))
+          .thenReturn(Optional.of(AvailabilityInterval.of(blockId, IntervalType.BLOCK, startDate, endDate)));
+
+      assertThatThrownBy(() -> underTest.validateBooking(propertyId, startDate, endDate))
+          .isInstanceOf(ConflictException.class)
+          .hasMessage("Booking overlaps with existing block");
+      verifyNoInteractions(propertyBookingsRepository);
+    }
+  }
+
+  @Nested
+  class ValidateBookingUpdateTests {
+
+    private UUID propertyId;
+    private UUID bookingId;
+    private OffsetDateTime startDate;
+    private OffsetDateTime endDate;
+
+    @BeforeEach
+    void setUp() {
+      propertyId = UUID.randomUUID();
+      bookingId = UUID.randomUUID();
+      startDate = OffsetDateTime.now().plusDays(3);
+      endDate = OffsetDateTime.now().plusDays(7);
+      when(dateValidator.checkStartDateBeforeEndDate(startDate, endDate)).thenReturn(ValidationResult.valid());
     }
+
+    @Test
+    void happyPath_shouldCheckAvailabilityExcludingUpdatedBooking() {
+      when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, bookingId))
+          .thenReturn(Optional.empty());
+
+      underTest.validateBookingUpdate(propertyId, bookingId, startDate, endDate);
+
+      verifyNoInteractions(propertiesService);
+    }
+
+    @Test
+    void otherBookingWithinTheRange_shouldThrowAnException() {
+      when(propertyBookingsRepository.findConflictExcluding(propertyId, startDate, endDate, bookingId))
+          .thenReturn(Optional.of(new PropertyConflictEntity(CalendarEntryType.BOOKING, UUID.randomUUID())));
+
+      assertThatThrownBy(() -> underTest.validateBookingUpdate(propertyId, bookingId, startDate, endDate))
+          .isInstanceOf(ConflictException.class)
+          .hasMessage("Booking overlaps with existing booking");
+    }
+
+    @Test
+    void indexCoversRange_shouldCheckIndexExcludingUpdatedBooking() {
+      when(propertyAvailabilityIndex.covers(startDate)).thenReturn(true);
+      when(propertyAvailabilityIndex.findOverlap(propertyId, startDate, endDate, bookingId))
+          .thenReturn(Optional.empty());
+
+      underTest.validateBookingUpdate(propertyId, bookingId, startDate, endDate);
+
+      verifyNoInteractions(propertyBookingsRepository);
+    }
+  }
+
+  @Nested
+  class ValidateExportQueryTests {
+
+    @Test
+    void noFilters_shouldPass() {
+      underTest.validateExportQuery(new BookingExportQuery(null, null, null, false));
+
+      verifyNoInteractions(propertiesService);
+    }
+
+    @Test
+    void fromAfterTo_shouldThrowAnException() {
+      LocalDate from = LocalDate.now();
+      BookingExportQuery query = new BookingExportQuery(null, from, from.minusDays(1), false);
+
+      assertThatThrownBy(() -> underTest.validateExportQuery(query))
+          .isInstanceOf(BadRequestException.class)
+          .hasMessage("From date should not be after to date");
+      verify(validationMetrics).validationFailed(ValidationFailureReason.BAD_DATES);
+    }
+
+    @Test
+    void propertySet_shouldValidatePropertyExists() {
+      UUID propertyId = UUID.randomUUID();
+      when(propertiesService.checkPropertyExists(propertyId)).thenReturn(ValidationResult.valid());
+
+      underTest.validateExportQuery(new BookingExportQuery(propertyId, null, null, true));
+
+      verify(propertiesService).checkPropertyExists(propertyId);
+    }
+
   }
 
 }
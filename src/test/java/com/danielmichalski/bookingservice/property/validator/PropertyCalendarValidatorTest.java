@@ -0,0 +1,143 @@
+package com.danielmichalski.bookingservice.property.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.danielmichalski.bookingservice.common.exception.BadRequestException;
+import com.danielmichalski.bookingservice.common.metrics.ValidationFailureReason;
+import com.danielmichalski.bookingservice.common.metrics.ValidationMetrics;
+import com.danielmichalski.bookingservice.common.validation.ValidationProblem;
+import com.danielmichalski.bookingservice.common.validation.ValidationResult;
+import com.danielmichalski.bookingservice.property.dto.PropertyCalendarQuery;
+import com.danielmichalski.bookingservice.property.service.PropertiesService;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyCalendarValidatorTest {
+
+  private static final UUID PROPERTY_ID = UUID.randomUUID();
+  private static final LocalDate FROM = LocalDate.now();
+
+  @Mock
+  private PropertiesService propertiesService;
+  @Mock
+  private ValidationMetrics validationMetrics;
+  @InjectMocks
+  private PropertyCalendarValidator underTest;
+
+  @Test
+  void happyPath() {
+    PropertyCalendarQuery query =
+        new PropertyCalendarQuery(PROPERTY_ID, FROM, FROM.plusDays(30), FROM, UUID.randomUUID(), 100);
+
+    when(propertiesService.checkPropertyExists(PROPERTY_ID)).thenReturn(ValidationResult.valid());
+
+    assertThatNoException()
+        .isThrownBy(
+            () -> underTest.validateCalendarQuery(query)
+        );
+    verify(propertiesService).checkPropertyExists(PROPERTY_ID);
+  }
+
+  @Test
+  void propertyDoesNotExist_shouldReturnResultOfPropertyCheck() {
+    PropertyCalendarQuery query = new PropertyCalendarQuery(PROPERTY_ID, FROM, FROM.plusDays(30), null, null, 100);
+    ValidationResult propertyNotFound = ValidationResult.notFound("Property not found");
+    when(propertiesService.checkPropertyExists(PROPERTY_ID)).thenReturn(propertyNotFound);
+
+    assertThat(underTest.checkCalendarQuery(query)).isEqualTo(propertyNotFound);
+  }
+
+  @ParameterizedTest(name = "[{index}] => {0}")
+  @MethodSource("provideInvalidQueries")
+  void invalidQuery_shouldThrowAnException(String message, PropertyCalendarQuery query) {
+    assertThrows(
+        BadRequestException.class,
+        () -> underTest.validateCalendarQuery(query),
+        message
+    );
+    verifyNoInteractions(propertiesService);
+  }
+
+  @Test
+  void queryWithoutDates_shouldCountBadDates() {
+    PropertyCalendarQuery query = new PropertyCalendarQuery(PROPERTY_ID, FROM, null, null, null, 100);
+
+    assertThrows(BadRequestException.class, () -> underTest.validateCalendarQuery(query));
+    verify(validationMetrics).validationFailed(ValidationFailureReason.BAD_DATES);
+    verifyNoInteractions(propertiesService);
+  }
+
+  @Test
+  void calendarDaysQueryWithoutFrom_shouldCountBadDates() {
+    assertThrows(BadRequestException.class, () -> underTest.validateCalendarDaysQuery(PROPERTY_ID, null, 365));
+    verify(validationMetrics).validationFailed(ValidationFailureReason.BAD_DATES);
+    verifyNoInteractions(propertiesService);
+  }
+
+  @Test
+  void calendarDaysQuery_happyPath() {
+    when(propertiesService.checkPropertyExists(PROPERTY_ID)).thenReturn(ValidationResult.valid());
+
+    assertThatNoException()
+        .isThrownBy(
+            () -> underTest.validateCalendarDaysQuery(PROPERTY_ID, FROM, 365)
+        );
+    verify(propertiesService).checkPropertyExists(PROPERTY_ID);
+  }
+
+  @ParameterizedTest(name = "[{index}] => days={0}")
+  @ValueSource(ints = {0, PropertyCalendarValidator.MAX_DAYS + 1})
+  void calendarDaysQueryWithInvalidDays_shouldThrowAnException(int days) {
+    assertThrows(
+        BadRequestException.class,
+        () -> underTest.validateCalendarDaysQuery(PROPERTY_ID, FROM, days)
+    );
+    verifyNoInteractions(propertiesService);
+  }
+
+  @Test
+  void calendarDaysQueryWithInvalidDays_shouldReturnBadRequestResult() {
+    ValidationResult result = underTest.checkCalendarDaysQuery(PROPERTY_ID, FROM, 0);
+
+    assertThat(result.problem()).isEqualTo(ValidationProblem.BAD_REQUEST);
+    assertThat(result.message()).isEqualTo("Days should be between 1 and " + PropertyCalendarValidator.MAX_DAYS);
+  }
+
+  private static Stream<Arguments> provideInvalidQueries() {
+    return Stream.of(
+        Arguments.of(
+            "From date should not be after to date",
+            new PropertyCalendarQuery(PROPERTY_ID, FROM.plusDays(1), FROM, null, null, 100)
+        ),
+        Arguments.of(
+            "After start date and after id must be set together",
+            new PropertyCalendarQuery(PROPERTY_ID, FROM, FROM.plusDays(1), FROM, null, 100)
+        ),
+        Arguments.of(
+            "Limit should be between 1 and 1000",
+            new PropertyCalendarQuery(PROPERTY_ID, FROM, FROM.plusDays(1), null, null, 0)
+        ),
+        Arguments.of(
+            "Limit should be between 1 and 1000",
+            new PropertyCalendarQuery(PROPERTY_ID, FROM, FROM.plusDays(1), null, null, 1001)
+        )
+    );
+  }
+
+}
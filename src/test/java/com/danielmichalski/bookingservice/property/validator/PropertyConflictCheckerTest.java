@@ -0,0 +1,30 @@
+package com.danielmichalski.bookingservice.property.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.danielmichalski.bookingservice.property.entity.CalendarEntryType;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class PropertyConflictCheckerTest {
+
+  @ParameterizedTest(name = "[{index}] => entryType={0}, conflictType={1}")
+  @MethodSource("provideOverlapMessages")
+  void overlapMessage_shouldNameBothEntryTypes(CalendarEntryType entryType,
+                                               CalendarEntryType conflictType,
+                                               String expected) {
+    assertThat(PropertyConflictChecker.overlapMessage(entryType, conflictType)).isEqualTo(expected);
+  }
+
+  private static Stream<Arguments> provideOverlapMessages() {
+    return Stream.of(
+        Arguments.of(CalendarEntryType.BOOKING, CalendarEntryType.BOOKING, "Booking overlaps with existing booking"),
+        Arguments.of(CalendarEntryType.BOOKING, CalendarEntryType.BLOCK, "Booking overlaps with existing block"),
+        Arguments.of(CalendarEntryType.BLOCK, CalendarEntryType.BOOKING, "Block overlaps with existing booking"),
+        Arguments.of(CalendarEntryType.BLOCK, CalendarEntryType.BLOCK, "Block overlaps with existing block")
+    );
+  }
+
+}